@@ -2,6 +2,7 @@ module org.example.eliteevents {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires java.management;
     requires mysql.connector.j;
 
     // Export all packages that need to be accessible
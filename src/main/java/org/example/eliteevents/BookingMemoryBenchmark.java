@@ -0,0 +1,148 @@
+package org.example.eliteevents;
+
+import org.example.eliteevents.models.*;
+import org.example.eliteevents.services.InMemoryRepository;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.ref.Reference;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures heap retained by and GC work caused by loading the full booking list, with and
+ * without the identity map (db.identityMap). Uses the in-memory repository, whose hydration
+ * builds client, venue and vendor objects per row exactly like the JDBC mapper, so it runs
+ * without MySQL.
+ *
+ * Usage: BookingMemoryBenchmark [bookings] (default 200000). Run with a small fixed heap,
+ * e.g. -Xms512m -Xmx512m, so the GC counts show the difference.
+ */
+public class BookingMemoryBenchmark {
+    private static final int VENUES = 300;
+    private static final int CLIENTS = 3000;
+    private static final int VENDORS = 100;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int bookingCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        System.out.println("=== Booking list memory benchmark: " + bookingCount + " bookings, " +
+                VENUES + " venues, " + CLIENTS + " clients ===");
+        Result without = run(new InMemoryRepository(false), bookingCount);
+        Result with = run(new InMemoryRepository(true), bookingCount);
+
+        System.out.println("Identity map off: " + without);
+        System.out.println("Identity map on:  " + with);
+        System.out.printf("Retained heap saved: %.1f MB (%.0f%%)%n",
+                (without.retainedBytes - with.retainedBytes) / 1_048_576.0,
+                100.0 * (without.retainedBytes - with.retainedBytes) / without.retainedBytes);
+    }
+
+    private static Result run(InMemoryRepository repository, int bookingCount) {
+        populate(repository, bookingCount);
+
+        // Warm up, then measure the list retained after a load and GC activity across loads
+        repository.getAllBookings();
+        long baseline = usedHeapAfterGc();
+        List<Booking> retained = repository.getAllBookings();
+        long retainedBytes = usedHeapAfterGc() - baseline;
+        Reference.reachabilityFence(retained);
+
+        int rows = 0;
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            rows = repository.getAllBookings().size();
+        }
+        long loadMillis = (System.nanoTime() - started) / 1_000_000 / ROUNDS;
+
+        return new Result(rows, retainedBytes, loadMillis,
+                gcCount() - gcCountBefore, gcMillis() - gcMillisBefore);
+    }
+
+    private static void populate(InMemoryRepository repository, int bookingCount) {
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(new Client(0, "Client " + i, "client" + i + "@example.com", "555-" + i, "Company " + (i % 200)));
+        }
+        repository.addClients(clients);
+
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 0; i < VENUES; i++) {
+            venues.add(new Venue(0, "Venue " + i, i + " Main Street", 50 + i, 500.0 + i, List.of("WiFi", "Projector")));
+        }
+        repository.addVenues(venues);
+
+        List<Vendor> vendors = new ArrayList<>();
+        for (int i = 0; i < VENDORS; i++) {
+            vendors.add(new Vendor(0, "Vendor " + i, "Catering", "vendor" + i + "@example.com", "555-" + i));
+        }
+        repository.addVendors(vendors);
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Booking> batch = new ArrayList<>();
+        for (int i = 0; i < bookingCount; i++) {
+            LocalDateTime from = start.plusHours(random.nextInt(24 * 365 * 2));
+            batch.add(new Booking(0, clients.get(random.nextInt(CLIENTS)), venues.get(random.nextInt(VENUES)),
+                    "Conference", from, from.plusHours(1 + random.nextInt(6)), 10 + random.nextInt(200),
+                    random.nextBoolean(), random.nextInt(3) == 0 ? vendors.get(random.nextInt(VENDORS)) : null,
+                    1000 + random.nextInt(20_000), null, "CONFIRMED"));
+            if (batch.size() == 10_000) {
+                repository.addBookings(batch);
+                batch.clear();
+            }
+        }
+        repository.addBookings(batch);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static class Result {
+        private final int rows;
+        private final long retainedBytes;
+        private final long loadMillis;
+        private final long gcCount;
+        private final long gcMillis;
+
+        private Result(int rows, long retainedBytes, long loadMillis, long gcCount, long gcMillis) {
+            this.rows = rows;
+            this.retainedBytes = retainedBytes;
+            this.loadMillis = loadMillis;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows, retained %.1f MB, %d ms per load, %d GCs (%d ms) over %d loads",
+                    rows, retainedBytes / 1_048_576.0, loadMillis, gcCount, gcMillis, ROUNDS);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.WriteBehindBookingRepository;
 
 import java.io.IOException;
 import java.util.Map;
@@ -49,6 +51,19 @@ public class HelloApplication extends Application {
         System.out.println("Application started successfully");
     }
 
+    @Override
+    public void stop() {
+        // Push any queued booking saves before exiting; leftovers stay in the journal
+        try {
+            WriteBehindBookingRepository writeBehind = Repositories.writeBehind();
+            if (writeBehind != null) {
+                writeBehind.close();
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error during shutdown: " + e.getMessage());
+        }
+    }
+
     public static void main(String[] args) {
         launch();
     }
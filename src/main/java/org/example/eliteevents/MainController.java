@@ -1,13 +1,17 @@
 package org.example.eliteevents;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.WriteBehindBookingRepository;
 
 import java.io.IOException;
 
@@ -23,6 +27,8 @@ public class MainController {
     public VBox sidebar;
     @FXML
     private AnchorPane contentRoot;
+    @FXML
+    private Label lblSyncStatus;
 
     // Remove the direct sidebar controller injection
     // @FXML
@@ -35,6 +41,38 @@ public class MainController {
         // We'll use a different approach to get the sidebar controller
         // For now, just load the default page
         loadPage("dashboard.fxml");
+        setupSyncStatus();
+    }
+
+    /**
+     * Shows the background sync state when booking saves use write-behind.
+     */
+    private void setupSyncStatus() {
+        WriteBehindBookingRepository writeBehind;
+        try {
+            writeBehind = Repositories.writeBehind();
+        } catch (Exception e) {
+            return;
+        }
+        if (writeBehind == null) {
+            return;
+        }
+
+        lblSyncStatus.setManaged(true);
+        lblSyncStatus.setVisible(true);
+        lblSyncStatus.setText(writeBehind.getPendingCount() > 0 ? "⏳ " + writeBehind.getPendingCount() + " changes to sync" : "✅ All changes saved");
+        writeBehind.addFlushListener(status -> Platform.runLater(() -> {
+            if (status.getError() != null) {
+                lblSyncStatus.setText("⚠ Offline - " + status.getPending() + " changes queued");
+            } else if (!status.getRejected().isEmpty()) {
+                lblSyncStatus.setText("❌ " + status.getRejected().size() + " changes rejected");
+                lblSyncStatus.setTooltip(new Tooltip(String.join("\n", status.getRejected())));
+            } else if (status.getPending() > 0) {
+                lblSyncStatus.setText("⏳ " + status.getPending() + " changes to sync");
+            } else {
+                lblSyncStatus.setText("✅ All changes saved");
+            }
+        }));
     }
 
     // Add this method to manually find and link the sidebar controller
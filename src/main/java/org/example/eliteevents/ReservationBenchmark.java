@@ -0,0 +1,140 @@
+package org.example.eliteevents;
+
+import org.example.eliteevents.models.*;
+import org.example.eliteevents.services.BookingConflictException;
+import org.example.eliteevents.services.BookingRepository;
+import org.example.eliteevents.services.Repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures reservation throughput with many concurrent reservers. Each reserver books its own
+ * venue first, so only the per-venue lock is exercised, then all of them race for the same
+ * slots at one venue, where exactly one reservation per slot may win.
+ *
+ * Uses the configured repository (db.repository, or -Ddb.repository=memory to run without
+ * MySQL). Everything it creates is deleted afterwards.
+ *
+ * Usage: ReservationBenchmark [threads] [reservationsPerThread] (default 16 and 200).
+ */
+public class ReservationBenchmark {
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2099, 1, 1, 0, 0);
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        BookingRepository bookings = Repositories.bookings();
+        Client client = new Client(0, "Reservation Benchmark", "benchmark@example.com", "555-0000", "Benchmark");
+        Repositories.clients().addClient(client);
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Venue venue = new Venue(0, "Benchmark Venue " + i, i + " Benchmark Street", 100, 100.0, List.of());
+            Repositories.venues().addVenue(venue);
+            venues.add(venue);
+        }
+
+        Queue<Booking> created = new ConcurrentLinkedQueue<>();
+        try {
+            System.out.println("=== Reservation benchmark: " + threads + " threads x " + perThread + " reservations ===");
+
+            // Separate venues: reservers should not wait on each other
+            Result separate = run(threads, perThread, FIRST_SLOT, thread -> venues.get(thread), bookings, client, created);
+            System.out.println("Separate venues: " + separate);
+
+            // One venue, after the slots booked above: every slot is contended by all reservers
+            Result contended = run(threads, perThread, FIRST_SLOT.plusHours(2L * perThread),
+                    thread -> venues.get(0), bookings, client, created);
+            System.out.println("Same venue:      " + contended);
+            System.out.println(contended.succeeded == perThread
+                    ? "✅ Exactly one reservation won each contended slot"
+                    : "❌ Expected " + perThread + " contended reservations to win, got " + contended.succeeded);
+        } finally {
+            for (Booking booking : created) {
+                bookings.deleteBooking(booking.getId());
+            }
+            for (Venue venue : venues) {
+                Repositories.venues().deleteVenue(venue.getId());
+            }
+            Repositories.clients().deleteClient(client.getId());
+        }
+    }
+
+    private static Result run(int threads, int perThread, LocalDateTime firstSlot, VenueChooser chooser,
+                              BookingRepository bookings, Client client, Queue<Booking> created) throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            Venue venue = chooser.venueFor(t);
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    // Slots touch at the hour, and touching counts as overlapping, so leave a gap
+                    LocalDateTime from = firstSlot.plusHours(2L * i);
+                    Booking booking = new Booking(0, client, venue, "Benchmark", from, from.plusHours(1),
+                            10, false, null, 0, null, "CONFIRMED");
+                    try {
+                        bookings.reserve(booking);
+                        created.add(booking);
+                        succeeded.incrementAndGet();
+                    } catch (BookingConflictException e) {
+                        conflicted.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            }, "reserver-" + t);
+            worker.start();
+            workers.add(worker);
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+
+        return new Result(succeeded.get(), conflicted.get(), failed.get(), elapsedNanos);
+    }
+
+    private interface VenueChooser {
+        Venue venueFor(int thread);
+    }
+
+    private static class Result {
+        private final int succeeded;
+        private final int conflicted;
+        private final int failed;
+        private final long elapsedNanos;
+
+        private Result(int succeeded, int conflicted, int failed, long elapsedNanos) {
+            this.succeeded = succeeded;
+            this.conflicted = conflicted;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            int attempts = succeeded + conflicted + failed;
+            return String.format("%d reserved, %d conflicts, %d errors in %d ms (%.0f attempts/s)",
+                    succeeded, conflicted, failed, elapsedNanos / 1_000_000,
+                    attempts / (elapsedNanos / 1_000_000_000.0));
+        }
+    }
+}
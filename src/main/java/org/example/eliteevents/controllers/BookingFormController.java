@@ -4,8 +4,15 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import org.example.eliteevents.models.*;
-import org.example.eliteevents.services.DatabaseService;
+import org.example.eliteevents.services.BookingMerge;
+import org.example.eliteevents.services.BookingRepository;
+import org.example.eliteevents.services.BookingConflictException;
+import org.example.eliteevents.services.ClientRepository;
 import org.example.eliteevents.services.ConflictDetectionService;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.StaleBookingException;
+import org.example.eliteevents.services.VendorRepository;
+import org.example.eliteevents.services.VenueRepository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -32,7 +39,10 @@ public class BookingFormController {
     // Business logic components
     private Booking bookingToEdit;
     private boolean isEditMode = false;
-    private DatabaseService dbService = DatabaseService.getInstance();
+    private BookingRepository bookingRepository = Repositories.bookings();
+    private ClientRepository clientRepository = Repositories.clients();
+    private VenueRepository venueRepository = Repositories.venues();
+    private VendorRepository vendorRepository = Repositories.vendors();
     private ConflictDetectionService conflictService = new ConflictDetectionService();
 
     @FXML
@@ -133,9 +143,9 @@ public class BookingFormController {
      */
     private void loadComboBoxData() {
         try {
-            clientCombo.getItems().setAll(dbService.getAllClients());
-            venueCombo.getItems().setAll(dbService.getAllVenues());
-            vendorCombo.getItems().setAll(dbService.getAllVendors());
+            clientCombo.getItems().setAll(clientRepository.getAllClients());
+            venueCombo.getItems().setAll(venueRepository.getAllVenues());
+            vendorCombo.getItems().setAll(vendorRepository.getAllVendors());
 
             // Custom cell factories for better display
             clientCombo.setCellFactory(param -> new ListCell<Client>() {
@@ -194,20 +204,10 @@ public class BookingFormController {
     private void onSave() {
         try {
             if (validateForm()) {
-                // Create booking object first to check for conflicts
-                Booking booking = createBookingFromForm();
-
+                // Bookings are conflict-checked atomically as they are saved
                 if (isEditMode && bookingToEdit != null) {
-                    // For editing, pass the existing booking ID to exclude it from conflict check
-                    if (!validateBookingTime(booking, bookingToEdit.getId())) {
-                        return; // User chose not to proceed with conflicts
-                    }
                     updateBooking();
                 } else {
-                    // For new booking, no ID to exclude
-                    if (!validateBookingTime(booking, null)) {
-                        return; // User chose not to proceed with conflicts
-                    }
                     createNewBooking();
                 }
             }
@@ -217,29 +217,6 @@ public class BookingFormController {
         }
     }
 
-    /**
-     * Checks for booking conflicts before saving
-     * @param booking The booking to validate
-     * @param existingBookingId The ID of the booking being edited (null for new bookings)
-     * @return true if no conflicts or user chooses to proceed anyway, false if conflicts and user cancels
-     */
-    private boolean validateBookingTime(Booking booking, Integer existingBookingId) {
-        ConflictDetectionService.ConflictCheckResult conflictResult =
-                conflictService.checkBookingConflict(
-                        booking.getVenue().getId(),
-                        booking.getStartDateTime(),
-                        booking.getEndDateTime(),
-                        existingBookingId
-                );
-
-        if (conflictResult.hasConflicts()) {
-            // Show conflict alert and let user decide whether to proceed
-            return ConflictAlertDialog.showConflictAlert(conflictResult);
-        }
-
-        return true; // No conflicts, proceed with save
-    }
-
     /**
      * Updates an existing booking in the database
      */
@@ -247,19 +224,90 @@ public class BookingFormController {
         Booking updatedBooking = createBookingFromForm();
         updatedBooking.setId(bookingToEdit.getId());
         updatedBooking.setStatus(bookingToEdit.getStatus());
+        updatedBooking.setVersion(bookingToEdit.getVersion());
+
+        saveUpdate(updatedBooking);
+    }
 
-        dbService.updateBooking(updatedBooking);
+    /**
+     * Saves the update if its times are still free, or lets the user resolve it if someone else
+     * booked the slot or saved the booking first
+     */
+    private void saveUpdate(Booking updatedBooking) {
+        try {
+            try {
+                bookingRepository.reserveUpdate(updatedBooking);
+            } catch (BookingConflictException e) {
+                // Show conflict alert and let user decide whether to double-book anyway
+                if (!ConflictAlertDialog.showConflictAlert(conflictService.describeConflicts(e.getConflicts()))) {
+                    return;
+                }
+                bookingRepository.updateBooking(updatedBooking);
+            }
+        } catch (StaleBookingException e) {
+            handleStaleBooking(updatedBooking, e);
+            return;
+        }
         // Fixed: Only pass one parameter
-        ConflictAlertDialog.showSuccessAlert("Booking #" + updatedBooking.getId() + " has been successfully updated!");
+        ConflictAlertDialog.showSuccessAlert(Repositories.writeBehind() != null
+                ? "Booking #" + updatedBooking.getId() + " has been saved and will sync in the background."
+                : "Booking #" + updatedBooking.getId() + " has been successfully updated!");
         closeFormIfModal();
     }
 
+    /**
+     * Offers to merge the user's edits onto the latest saved version, or to reload it
+     */
+    private void handleStaleBooking(Booking updatedBooking, StaleBookingException e) {
+        Booking current = e.getCurrent();
+        if (current == null) {
+            showAlert("Booking Deleted", "This booking was deleted by someone else while you were editing it.");
+            closeFormIfModal();
+            return;
+        }
+
+        BookingMerge merge = BookingMerge.of(bookingToEdit, updatedBooking, current);
+        ButtonType mergeButton = new ButtonType("Merge & Save", ButtonBar.ButtonData.YES);
+        ButtonType reloadButton = new ButtonType("Reload", ButtonBar.ButtonData.NO);
+
+        Alert alert = new Alert(Alert.AlertType.WARNING, null, mergeButton, reloadButton, ButtonType.CANCEL);
+        alert.setTitle("Booking Changed");
+        alert.setHeaderText("Someone else saved booking #" + current.getId() + " while you were editing it.");
+        alert.setContentText(merge.hasConflicts()
+                ? "You both changed: " + String.join(", ", merge.getConflicts()) + ".\n" +
+                  "Merge & Save keeps your values for these and their other changes. Reload discards your edits."
+                : "Your changes don't overlap with theirs. Merge & Save keeps both. Reload discards your edits.");
+
+        ButtonType choice = alert.showAndWait().orElse(ButtonType.CANCEL);
+        if (choice == mergeButton) {
+            bookingToEdit = current;
+            // Conflict-checked like any edit, since their changes may have moved the booking
+            saveUpdate(merge.getMerged());
+        } else if (choice == reloadButton) {
+            bookingToEdit = current;
+            populateFormWithBookingData();
+        }
+    }
+
     /**
      * Creates a new booking in the database
      */
     private void createNewBooking() {
         Booking booking = createBookingFromForm();
-        dbService.addBooking(booking);
+        try {
+            bookingRepository.reserve(booking);
+        } catch (BookingConflictException e) {
+            // Show conflict alert and let user decide whether to double-book anyway
+            if (!ConflictAlertDialog.showConflictAlert(conflictService.describeConflicts(e.getConflicts()))) {
+                return;
+            }
+            bookingRepository.addBooking(booking);
+            ConflictAlertDialog.showSuccessAlert(Repositories.writeBehind() != null
+                    ? "Booking has been saved and will sync in the background."
+                    : "Booking has been successfully created in the database!");
+            clearForm();
+            return;
+        }
         // Fixed: Only pass one parameter
         ConflictAlertDialog.showSuccessAlert("Booking has been successfully created in the database!");
         clearForm();
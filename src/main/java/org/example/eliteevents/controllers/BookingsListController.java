@@ -1,5 +1,7 @@
 package org.example.eliteevents.controllers;
 
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -7,24 +9,39 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 import org.example.eliteevents.models.Booking;
-import org.example.eliteevents.services.DatabaseService;
-
+import org.example.eliteevents.models.BookingSummary;
+import org.example.eliteevents.services.AsyncDatabaseService;
+import org.example.eliteevents.services.BookingCsvExporter;
+import org.example.eliteevents.services.BookingCursor;
+import org.example.eliteevents.services.BookingFilter;
+import org.example.eliteevents.services.BookingPage;
+import org.example.eliteevents.services.BookingRepository;
+import org.example.eliteevents.services.BookingSort;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.VenueRepository;
+
+import java.io.File;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BookingsListController {
-    @FXML private TableView<Booking> tblBookings;
-    @FXML private TableColumn<Booking, Integer> colId;
-    @FXML private TableColumn<Booking, String> colClient;
-    @FXML private TableColumn<Booking, String> colEvent;
-    @FXML private TableColumn<Booking, String> colVenue;
-    @FXML private TableColumn<Booking, String> colDateTime;
-    @FXML private TableColumn<Booking, String> colStatus;
-    @FXML private TableColumn<Booking, String> colActions;
+    @FXML private TableView<BookingSummary> tblBookings;
+    @FXML private TableColumn<BookingSummary, Integer> colId;
+    @FXML private TableColumn<BookingSummary, String> colClient;
+    @FXML private TableColumn<BookingSummary, String> colEvent;
+    @FXML private TableColumn<BookingSummary, String> colVenue;
+    @FXML private TableColumn<BookingSummary, String> colDateTime;
+    @FXML private TableColumn<BookingSummary, String> colStatus;
+    @FXML private TableColumn<BookingSummary, String> colActions;
 
     @FXML private DatePicker filterFrom;
     @FXML private DatePicker filterTo;
@@ -33,13 +50,25 @@ public class BookingsListController {
     @FXML private TextField filterClient;
     @FXML private Button btnSearch;
     @FXML private Button btnExport;
+    @FXML private Pagination pagination;
+
+    private static final int PAGE_SIZE = 50;
+
+    private BookingRepository bookingRepository = Repositories.bookings();
+    private VenueRepository venueRepository = Repositories.venues();
+    private AsyncDatabaseService asyncDbService = new AsyncDatabaseService(Platform::runLater);
 
-    private DatabaseService dbService = DatabaseService.getInstance();
+    // Replaced as a whole on search, so a fetch still running under the old filter can only
+    // record cursors in the search it started with
+    private volatile Search activeSearch = new Search(BookingFilter.NONE);
+    // Numbers page loads; only the latest one may fill the table (FX thread only)
+    private int loadSequence;
 
     @FXML
     private void initialize() {
         System.out.println("BookingsListController initialized");
         setupTableColumns();
+        setupPagination();
         loadBookings();
         setupFilters();
     }
@@ -50,15 +79,15 @@ public class BookingsListController {
 
         colClient.setCellValueFactory(cellData ->
                 new javafx.beans.property.SimpleStringProperty(
-                        cellData.getValue().getClient() != null ?
-                                cellData.getValue().getClient().getName() : ""));
+                        cellData.getValue().getClientName() != null ?
+                                cellData.getValue().getClientName() : ""));
 
         colEvent.setCellValueFactory(new PropertyValueFactory<>("eventType"));
 
         colVenue.setCellValueFactory(cellData ->
                 new javafx.beans.property.SimpleStringProperty(
-                        cellData.getValue().getVenue() != null ?
-                                cellData.getValue().getVenue().getName() : ""));
+                        cellData.getValue().getVenueName() != null ?
+                                cellData.getValue().getVenueName() : ""));
 
         colDateTime.setCellValueFactory(cellData ->
                 new javafx.beans.property.SimpleStringProperty(
@@ -69,10 +98,10 @@ public class BookingsListController {
         colStatus.setCellValueFactory(new PropertyValueFactory<>("status"));
 
         // Setup actions column with buttons
-        colActions.setCellFactory(new Callback<TableColumn<Booking, String>, TableCell<Booking, String>>() {
+        colActions.setCellFactory(new Callback<TableColumn<BookingSummary, String>, TableCell<BookingSummary, String>>() {
             @Override
-            public TableCell<Booking, String> call(TableColumn<Booking, String> param) {
-                return new TableCell<Booking, String>() {
+            public TableCell<BookingSummary, String> call(TableColumn<BookingSummary, String> param) {
+                return new TableCell<BookingSummary, String>() {
                     private final Button editButton = new Button("Edit");
                     private final Button deleteButton = new Button("Delete");
                     private final HBox buttons = new HBox(5, editButton, deleteButton);
@@ -82,12 +111,12 @@ public class BookingsListController {
                         deleteButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-size: 10px;");
 
                         editButton.setOnAction(event -> {
-                            Booking booking = getTableView().getItems().get(getIndex());
+                            BookingSummary booking = getTableView().getItems().get(getIndex());
                             editBooking(booking);
                         });
 
                         deleteButton.setOnAction(event -> {
-                            Booking booking = getTableView().getItems().get(getIndex());
+                            BookingSummary booking = getTableView().getItems().get(getIndex());
                             deleteBooking(booking);
                         });
                     }
@@ -109,7 +138,7 @@ public class BookingsListController {
     private void setupFilters() {
         // Populate venue filter
         filterVenue.getItems().add("All Venues");
-        dbService.getAllVenues().forEach(venue ->
+        venueRepository.getAllVenues().forEach(venue ->
                 filterVenue.getItems().add(venue.getName()));
 
         // Populate event type filter
@@ -120,22 +149,84 @@ public class BookingsListController {
         filterEventType.setValue("All Events");
     }
 
+    private void setupPagination() {
+        pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> loadBookings());
+        updatePageCount();
+    }
+
+    private void updatePageCount() {
+        Search search = activeSearch;
+        BookingFilter filter = search.filter;
+        asyncDbService.supply(() -> filter.isEmpty() ? bookingRepository.estimateBookingCount() : bookingRepository.countBookings(filter))
+                .thenAccept(count -> {
+                    if (search == activeSearch) {
+                        pagination.setPageCount(Math.max(1, (int) Math.ceil(count / (double) PAGE_SIZE)));
+                    }
+                })
+                .exceptionally(e -> {
+                    System.err.println("Error estimating booking count: " + e.getMessage());
+                    return null;
+                });
+    }
+
     private void loadBookings() {
-        try {
-            List<Booking> bookings = dbService.getAllBookings();
-            System.out.println("Loading " + bookings.size() + " bookings into table");
-            tblBookings.getItems().setAll(bookings);
+        int pageIndex = pagination.getCurrentPageIndex();
+        int sequence = ++loadSequence;
+        Search search = activeSearch;
+        asyncDbService.supply(() -> fetchPage(search, pageIndex))
+                .thenAccept(page -> {
+                    if (sequence != loadSequence) {
+                        return; // a later page change or search has been requested since
+                    }
+                    System.out.println("Loading " + page.getItems().size() + " bookings into table (page " + (pageIndex + 1) + ")");
+                    tblBookings.getItems().setAll(page.getItems());
+                })
+                .exceptionally(e -> {
+                    System.err.println("Error loading bookings: " + e.getMessage());
+                    e.printStackTrace();
+                    return null;
+                });
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error loading bookings: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Fetches a page by seeking from the nearest page whose cursor is already known,
+     * remembering the cursors of every page walked along the way.
+     */
+    private BookingPage<BookingSummary> fetchPage(Search search, int pageIndex) {
+        Map<Integer, BookingCursor> pageCursors = search.pageCursors;
+        int known = pageIndex;
+        while (known > 0 && !pageCursors.containsKey(known)) {
+            known--;
+        }
+
+        BookingFilter filter = search.filter;
+        BookingPage<BookingSummary> page = bookingRepository.getSummaryPage(filter, pageCursors.get(known), PAGE_SIZE, BookingSort.NEWEST_FIRST);
+        while (known < pageIndex) {
+            if (!page.hasMore()) {
+                return new BookingPage<>(List.of(), null); // past the last page
+            }
+            pageCursors.put(known + 1, page.getNextCursor());
+            known++;
+            page = bookingRepository.getSummaryPage(filter, page.getNextCursor(), PAGE_SIZE, BookingSort.NEWEST_FIRST);
+        }
+        if (page.hasMore()) {
+            pageCursors.put(known + 1, page.getNextCursor());
         }
+        return page;
     }
 
-    private void editBooking(Booking booking) {
-        System.out.println("Edit booking: " + booking.getId());
+    private void editBooking(BookingSummary summary) {
+        System.out.println("Edit booking: " + summary.getId());
 
         try {
+            // The table holds summaries; the form needs notes, vendor and the current version
+            Booking booking = bookingRepository.getBooking(summary.getId());
+            if (booking == null) {
+                showAlert("Error", "Booking #" + summary.getId() + " no longer exists.");
+                loadBookings();
+                return;
+            }
+
             // Load the booking form in edit mode
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/org/example/eliteevents/booking-form.fxml"));
             Parent editForm = loader.load();
@@ -161,17 +252,17 @@ public class BookingsListController {
         }
     }
 
-    private void deleteBooking(Booking booking) {
+    private void deleteBooking(BookingSummary booking) {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirm Delete");
         alert.setHeaderText("Delete Booking");
         alert.setContentText("Are you sure you want to delete booking #" + booking.getId() + " for " +
-                booking.getClient().getName() + "?");
+                booking.getClientName() + "?");
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-                boolean deleted = dbService.deleteBooking(booking.getId());
+                boolean deleted = bookingRepository.deleteBooking(booking.getId());
                 if (deleted) {
                     showAlert("Success", "Booking deleted successfully!");
                     loadBookings(); // Refresh the table
@@ -187,14 +278,94 @@ public class BookingsListController {
     @FXML
     private void onSearch() {
         System.out.println("Search button clicked - filtering bookings");
-        // For now, just reload all bookings
-        loadBookings();
+        activeSearch = new Search(currentFilter());
+        updatePageCount();
+
+        if (pagination.getCurrentPageIndex() == 0) {
+            loadBookings();
+        } else {
+            pagination.setCurrentPageIndex(0); // listener reloads
+        }
+    }
+
+    /**
+     * Builds a filter from the current state of the filter bar.
+     */
+    private BookingFilter currentFilter() {
+        String venue = filterVenue.getValue();
+        String eventType = filterEventType.getValue();
+        return new BookingFilter(
+                filterFrom.getValue(),
+                filterTo.getValue(),
+                "All Venues".equals(venue) ? null : venue,
+                "All Events".equals(eventType) ? null : eventType,
+                filterClient.getText());
     }
 
     @FXML
     private void onExport() {
         System.out.println("Export button clicked");
-        showAlert("Export Feature", "Export functionality will be implemented soon!");
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Bookings");
+        chooser.setInitialFileName("bookings-" + LocalDate.now() + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showSaveDialog(tblBookings.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        BookingFilter filter = currentFilter();
+        BookingCsvExporter exporter = new BookingCsvExporter(bookingRepository);
+
+        Task<Long> exportTask = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                return exporter.export(filter, file.toPath(), (written, total) -> {
+                    updateProgress(written, total);
+                    updateMessage("Exported " + written + " of " + total + " bookings");
+                }, this::isCancelled);
+            }
+        };
+
+        // Progress dialog with a Cancel button
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(320);
+        progressBar.progressProperty().bind(exportTask.progressProperty());
+        Label progressLabel = new Label("Preparing export...");
+        exportTask.messageProperty().addListener((obs, oldMessage, message) -> progressLabel.setText(message));
+
+        Alert progressDialog = new Alert(Alert.AlertType.NONE);
+        progressDialog.setTitle("Exporting Bookings");
+        progressDialog.getDialogPane().setContent(new VBox(10, progressLabel, progressBar));
+        progressDialog.getButtonTypes().setAll(ButtonType.CANCEL);
+        progressDialog.resultProperty().addListener((obs, oldResult, result) -> {
+            if (result == ButtonType.CANCEL) {
+                exportTask.cancel();
+            }
+        });
+
+        exportTask.setOnSucceeded(event -> {
+            progressDialog.close();
+            long rows = exportTask.getValue();
+            if (rows >= 0) {
+                showAlert("Export Complete", "Exported " + rows + " bookings to " + file.getAbsolutePath());
+            }
+        });
+        exportTask.setOnCancelled(event -> {
+            progressDialog.close();
+            showAlert("Export Cancelled", "The export was cancelled. No file was written.");
+        });
+        exportTask.setOnFailed(event -> {
+            progressDialog.close();
+            Throwable error = exportTask.getException();
+            System.err.println("Error exporting bookings: " + error.getMessage());
+            error.printStackTrace();
+            showAlert("Export Failed", "Could not export bookings: " + error.getMessage());
+        });
+
+        progressDialog.show();
+        Thread.ofVirtual().name("booking-export").start(exportTask);
     }
 
     private void showAlert(String title, String message) {
@@ -204,4 +375,14 @@ public class BookingsListController {
         alert.setContentText(message);
         alert.showAndWait();
     }
+
+    // A filter and the page cursors found under it (page 0 starts without a cursor)
+    private static final class Search {
+        private final BookingFilter filter;
+        private final Map<Integer, BookingCursor> pageCursors = new ConcurrentHashMap<>();
+
+        private Search(BookingFilter filter) {
+            this.filter = filter;
+        }
+    }
 }
\ No newline at end of file
@@ -21,9 +21,13 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.TextAlignment;
 import java.time.Duration;     // ✔ correct duration class
 import org.example.eliteevents.models.Booking;
+import org.example.eliteevents.models.BookingSummary;
 import org.example.eliteevents.models.Client;
 import org.example.eliteevents.models.Venue;
-import org.example.eliteevents.services.DatabaseService;
+import org.example.eliteevents.services.BookingChangeSet;
+import org.example.eliteevents.services.BookingRepository;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.VenueRepository;
 
 import java.net.URL;
 import java.time.*;
@@ -38,13 +42,15 @@ import static java.time.Duration.*;
 /**
  * CalendarController
  *
- * Loads bookings from DatabaseService and renders them into a grid.
+ * Loads booking summaries from the booking repository and renders them into a grid. After the
+ * first load only changed bookings are fetched (BookingRepository.getSummaryChangesSince).
  * - Week view (default) with hourly rows
  * - Month view (simplified) for overview
  * - Venue filter
  * - Today / Prev / Next navigation
  * - Multi-hour booking spans and tooltip details
- * - Color coding by booking status (CONFIRMED, PENDING, CONFLICT)
+ * - Color coding by booking status (CONFIRMED, PENDING), with bookings flagged by the
+ *   schedule audit shown in red
  */
 public class CalendarController implements Initializable {
 
@@ -57,14 +63,20 @@ public class CalendarController implements Initializable {
     @FXML private Label lblCalendarRange;
     @FXML private GridPane calendarGrid;
 
-    private final DatabaseService db = DatabaseService.getInstance();
+    private final BookingRepository bookingRepository = Repositories.bookings();
+    private final VenueRepository venueRepository = Repositories.venues();
 
     // state
     private final ObjectProperty<LocalDate> currentDate = new SimpleObjectProperty<>(LocalDate.now());
     private final BooleanProperty isWeekView = new SimpleBooleanProperty(true);
 
-    // live lists
-    private final ObservableList<Booking> bookings = FXCollections.observableArrayList();
+    // live lists, kept current by applying change sets from the watermark on; summaries only,
+    // the full booking is loaded when its details are opened
+    private final ObservableList<BookingSummary> bookings = FXCollections.observableArrayList();
+    private final Map<Integer, BookingSummary> bookingsById = new HashMap<>();
+    private long bookingsWatermark = BookingChangeSet.BEGINNING;
+    // bookings the last schedule audit found overlapping another booking
+    private Set<Integer> conflictFlags = Set.of();
     private final ObservableList<Venue> venues = FXCollections.observableArrayList();
 
     // Hours to display in week view
@@ -110,7 +122,7 @@ public class CalendarController implements Initializable {
 
     private void loadVenues() {
         try {
-            List<Venue> fromDb = db.getAllVenues();
+            List<Venue> fromDb = venueRepository.getAllVenues();
             venues.setAll(fromDb);
             List<String> names = new ArrayList<>();
             names.add("All Venues");
@@ -126,10 +138,16 @@ public class CalendarController implements Initializable {
 
     private void loadBookings() {
         try {
-            bookings.setAll(db.getAllBookings());
+            BookingChangeSet<BookingSummary> changes = bookingRepository.getSummaryChangesSince(bookingsWatermark);
+            bookingsWatermark = changes.getWatermark();
+            if (!changes.isEmpty()) {
+                changes.applyTo(bookingsById, BookingSummary::getId);
+                bookings.setAll(bookingsById.values());
+            }
+            conflictFlags = bookingRepository.getConflictFlags();
         } catch (Exception e) {
+            // Keep showing what we have; the next refresh retries from the same watermark
             System.err.println("Failed to load bookings: " + e.getMessage());
-            bookings.clear();
         }
     }
 
@@ -142,7 +160,7 @@ public class CalendarController implements Initializable {
 
     // ----------------------------- RENDER ----------------------------- //
     private void updateCalendar() {
-        // refresh data from DB each time (keeps view live)
+        // pick up bookings changed since the last refresh (keeps view live)
         loadBookings();
 
         calendarGrid.getChildren().clear();
@@ -235,7 +253,7 @@ public class CalendarController implements Initializable {
         cell.setMinHeight(48);
 
         // find bookings that overlap this slot (start <= slot < end)
-        List<Booking> matches = bookings.stream()
+        List<BookingSummary> matches = bookings.stream()
                 .filter(b -> b.getStartDateTime() != null && b.getEndDateTime() != null)
                 .filter(b -> isBookingInDate(b, date))
                 .filter(b -> isSlotWithinBooking(slotTime, b))
@@ -245,7 +263,7 @@ public class CalendarController implements Initializable {
         if (!matches.isEmpty()) {
             // Render first booking; also render stacked ones if multiple (show small chips)
             int placed = 0;
-            for (Booking b : matches) {
+            for (BookingSummary b : matches) {
                 // Only add a main block for the first occurrence (we want spanning); avoid duplicate spanning
                 if (placed == 0) {
                     Region bookingNode = createBookingNode(b);
@@ -322,7 +340,7 @@ public class CalendarController implements Initializable {
 
             // bookings for that day
             LocalDate finalDate = date;
-            List<Booking> dayBookings = bookings.stream()
+            List<BookingSummary> dayBookings = bookings.stream()
                     .filter(b -> isBookingInDate(b, finalDate))
                     .filter(this::venueMatchesFilter)
                     .collect(Collectors.toList());
@@ -347,13 +365,8 @@ public class CalendarController implements Initializable {
     }
 
     // ----------------------------- BOOKING NODE ----------------------------- //
-    private Region createBookingNode(Booking b) {
-        String status = (b.getStatus() == null) ? "PENDING" : b.getStatus().toUpperCase();
-        String color = switch (status) {
-            case "CONFIRMED" -> "#3b82f6";
-            case "CONFLICT"  -> "#ef4444";
-            default -> "#f59e0b"; // PENDING or unknown
-        };
+    private Region createBookingNode(BookingSummary b) {
+        String color = bookingColor(b);
 
         VBox box = new VBox(2);
         box.setPadding(new Insets(6));
@@ -380,13 +393,8 @@ public class CalendarController implements Initializable {
         return box;
     }
 
-    private HBox smallChip(Booking b) {
-        String status = (b.getStatus() == null) ? "PENDING" : b.getStatus().toUpperCase();
-        String color = switch (status) {
-            case "CONFIRMED" -> "#3b82f6";
-            case "CONFLICT"  -> "#ef4444";
-            default -> "#f59e0b";
-        };
+    private HBox smallChip(BookingSummary b) {
+        String color = bookingColor(b);
         Rectangle rect = new Rectangle(8, 8, Color.web(color));
         rect.setArcHeight(2); rect.setArcWidth(2);
         Label lbl = new Label(" " + (b.getEventType() != null ? b.getEventType() : "Booking"));
@@ -397,7 +405,16 @@ public class CalendarController implements Initializable {
     }
 
     // ----------------------------- HELPERS ----------------------------- //
-    private boolean isBookingInDate(Booking b, LocalDate date) {
+    private String bookingColor(BookingSummary b) {
+        if (conflictFlags.contains(b.getId())) return "#ef4444";
+        String status = (b.getStatus() == null) ? "PENDING" : b.getStatus().toUpperCase();
+        return switch (status) {
+            case "CONFIRMED" -> "#3b82f6";
+            default -> "#f59e0b"; // PENDING or unknown
+        };
+    }
+
+    private boolean isBookingInDate(BookingSummary b, LocalDate date) {
         if (b.getStartDateTime() == null || b.getEndDateTime() == null) return false;
         LocalDate start = b.getStartDateTime().toLocalDate();
         LocalDate end = b.getEndDateTime().toLocalDate();
@@ -405,14 +422,14 @@ public class CalendarController implements Initializable {
         return !(date.isBefore(start) || date.isAfter(end));
     }
 
-    private boolean isSlotWithinBooking(LocalTime slotTime, Booking b) {
+    private boolean isSlotWithinBooking(LocalTime slotTime, BookingSummary b) {
         LocalTime start = b.getStartDateTime().toLocalTime();
         LocalTime end = b.getEndDateTime().toLocalTime();
         // consider slot included if slotTime >= floor(start hour) and slotTime < end
         return !slotTime.isBefore(start.truncatedTo(ChronoUnit.HOURS)) && slotTime.isBefore(end);
     }
 
-    private int computeRowSpan(Booking b) {
+    private int computeRowSpan(BookingSummary b) {
         // compute number of hour-rows spanned by booking relative to HOURS list
         LocalTime start = b.getStartDateTime().toLocalTime().truncatedTo(ChronoUnit.HOURS);
         LocalTime end = b.getEndDateTime().toLocalTime();
@@ -421,15 +438,13 @@ public class CalendarController implements Initializable {
         return Math.max(1, (int) hours);
     }
 
-    private boolean venueMatchesFilter(Booking b) {
+    private boolean venueMatchesFilter(BookingSummary b) {
         String sel = calendarVenueFilter.getValue();
         if (sel == null || sel.equals("All Venues")) return true;
-        Venue v = b.getVenue();
-        if (v == null) return false;
-        return sel.equals(v.getName());
+        return sel.equals(b.getVenueName());
     }
 
-    private String bookingSummary(Booking b) {
+    private String bookingSummary(BookingSummary b) {
         String client = safeClientName(b);
         return String.format("%s (%s)\n%s - %s\nStatus: %s",
                 (b.getEventType() != null ? b.getEventType() : "Booking"),
@@ -439,25 +454,43 @@ public class CalendarController implements Initializable {
                 b.getStatus());
     }
 
-    private String safeClientName(Booking b) {
-        Client c = b.getClient();
-        if (c == null) return "Unknown";
-        if (c.getName() != null && !c.getName().isBlank()) return c.getName();
-        return "Client #" + c.getId();
+    private String safeClientName(BookingSummary b) {
+        if (b.getClientName() != null && !b.getClientName().isBlank()) return b.getClientName();
+        if (b.getClientId() == 0) return "Unknown";
+        return "Client #" + b.getClientId();
     }
 
-    private String formatTimeRange(Booking b) {
+    private String formatTimeRange(BookingSummary b) {
         return b.getStartDateTime().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")) +
                 " - " + b.getEndDateTime().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm"));
     }
 
-    private void showBookingDetails(Booking b) {
+    private void showBookingDetails(BookingSummary b) {
+        // notes and client contact details are not in the summary, so load the booking now
+        Booking full;
+        try {
+            full = bookingRepository.getBooking(b.getId());
+        } catch (Exception e) {
+            System.err.println("Failed to load booking details: " + e.getMessage());
+            full = null;
+        }
+
         // simple details dialog — replace with your modal/dialog if desired
         Alert a = new Alert(Alert.AlertType.INFORMATION);
         a.setTitle("Booking Details");
         a.setHeaderText(b.getEventType());
-        String body = bookingSummary(b) + "\nVenue: " + (b.getVenue()!=null?b.getVenue().getName():"Unknown");
-        a.setContentText(body);
+        StringBuilder body = new StringBuilder(bookingSummary(b))
+                .append("\nVenue: ").append(b.getVenueName() != null ? b.getVenueName() : "Unknown");
+        if (full != null) {
+            Client c = full.getClient();
+            if (c != null) {
+                if (c.getEmail() != null && !c.getEmail().isBlank()) body.append("\nEmail: ").append(c.getEmail());
+                if (c.getPhone() != null && !c.getPhone().isBlank()) body.append("\nPhone: ").append(c.getPhone());
+            }
+            body.append("\nGuests: ").append(full.getGuestCount());
+            if (full.getNotes() != null && !full.getNotes().isBlank()) body.append("\nNotes: ").append(full.getNotes());
+        }
+        a.setContentText(body.toString());
         a.showAndWait();
     }
 
@@ -6,7 +6,8 @@ import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import org.example.eliteevents.models.Client;
-import org.example.eliteevents.services.DatabaseService;
+import org.example.eliteevents.services.ClientRepository;
+import org.example.eliteevents.services.Repositories;
 
 public class ClientFormController {
     @FXML private TextField txtName;
@@ -15,7 +16,7 @@ public class ClientFormController {
     @FXML private TextField txtCompany;
     @FXML private Button btnSave;
 
-    private DatabaseService dbService = DatabaseService.getInstance();
+    private ClientRepository clientRepository = Repositories.clients();
     private Client clientToEdit;
     private boolean isEditMode = false;
 
@@ -56,12 +57,12 @@ public class ClientFormController {
                 if (isEditMode && clientToEdit != null) {
                     // UPDATE existing client
                     client.setId(clientToEdit.getId());
-                    dbService.updateClient(client);
+                    clientRepository.updateClient(client);
                     showSuccessAlert("Client Updated", "Client '" + client.getName() + "' has been updated successfully!");
                     closeFormIfModal();
                 } else {
                     // CREATE new client
-                    dbService.addClient(client);
+                    clientRepository.addClient(client);
                     showSuccessAlert("Client Created", "Client '" + client.getName() + "' has been added successfully!");
                     clearForm();
                 }
@@ -11,7 +11,8 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 import org.example.eliteevents.models.Client;
-import org.example.eliteevents.services.DatabaseService;
+import org.example.eliteevents.services.ClientRepository;
+import org.example.eliteevents.services.Repositories;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,7 +26,7 @@ public class ClientsListController {
     @FXML private TextField clientSearch;
     @FXML private Button btnAddClient;
 
-    private DatabaseService dbService = DatabaseService.getInstance();
+    private ClientRepository clientRepository = Repositories.clients();
 
     @FXML
     private void initialize() {
@@ -80,7 +81,7 @@ public class ClientsListController {
 
     private void loadClients() {
         try {
-            List<Client> clients = dbService.getAllClients();
+            List<Client> clients = clientRepository.getAllClients();
             System.out.println("Loading " + clients.size() + " clients into table");
             tblClients.getItems().setAll(clients);
         } catch (Exception e) {
@@ -123,7 +124,7 @@ public class ClientsListController {
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-                boolean deleted = dbService.deleteClient(client.getId());
+                boolean deleted = clientRepository.deleteClient(client.getId());
                 if (deleted) {
                     showAlert("Success", "Client deleted successfully!");
                     loadClients();
@@ -1,7 +1,10 @@
 package org.example.eliteevents.controllers;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.collections.FXCollections;
@@ -9,17 +12,28 @@ import javafx.collections.ObservableList;
 import javafx.beans.property.*;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.stage.FileChooser;
 import javafx.util.Duration;
 
-import org.example.eliteevents.services.DatabaseService;
-import org.example.eliteevents.models.Booking;
+import org.example.eliteevents.services.AsyncDatabaseService;
+import org.example.eliteevents.services.AvailabilityGrid;
+import org.example.eliteevents.services.BookingColumns;
+import org.example.eliteevents.services.BookingRepository;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.ScheduleAudit;
+import org.example.eliteevents.services.VenueRepository;
 import org.example.eliteevents.models.Venue;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 public class DashboardController implements Initializable {
@@ -31,6 +45,7 @@ public class DashboardController implements Initializable {
     @FXML private Label lblCurrentDate;
     @FXML private ListView<String> lvUpcomingEvents;
     @FXML private ListView<String> lvVenueAvailability;
+    @FXML private Button btnAuditSchedule;
 
     // Properties for data binding
     private IntegerProperty totalBookings = new SimpleIntegerProperty(0);
@@ -41,12 +56,16 @@ public class DashboardController implements Initializable {
     private ObservableList<String> upcomingEventsList = FXCollections.observableArrayList();
     private ObservableList<String> venueAvailabilityList = FXCollections.observableArrayList();
 
-    private DatabaseService databaseService;
+    private AsyncDatabaseService databaseService;
+    private final BookingRepository bookingRepository = Repositories.bookings();
+    private final VenueRepository venueRepository = Repositories.venues();
+    private final BookingColumns bookingColumns = Repositories.bookingColumns();
+    private final AvailabilityGrid availabilityGrid = Repositories.availabilityGrid();
     private Timeline autoRefreshTimeline;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        databaseService = DatabaseService.getInstance();
+        databaseService = new AsyncDatabaseService(Platform::runLater);
         setupDataBindings();
         updateCurrentDate();
         refreshDashboard();
@@ -73,6 +92,13 @@ public class DashboardController implements Initializable {
         );
         autoRefreshTimeline.setCycleCount(Timeline.INDEFINITE);
         autoRefreshTimeline.play();
+
+        // Each visit builds a new dashboard; stop this one's refreshes once another page replaces it
+        lblCurrentDate.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                autoRefreshTimeline.stop();
+            }
+        });
     }
 
     private void updateCurrentDate() {
@@ -85,111 +111,167 @@ public class DashboardController implements Initializable {
         refreshDashboard();
     }
 
-    private void refreshDashboard() {
-        updateMetrics();
-        updateUpcomingEvents();
-        updateVenueAvailability();
+    /**
+     * Writes every overlapping pair of bookings to a CSV report, then flags the bookings involved
+     * so the calendar shows them.
+     */
+    @FXML
+    private void onAuditSchedule() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Save Schedule Audit");
+        chooser.setInitialFileName("schedule-audit-" + LocalDate.now() + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showSaveDialog(btnAuditSchedule.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        btnAuditSchedule.setDisable(true);
+        ScheduleAudit audit = new ScheduleAudit(bookingRepository, bookingColumns);
+        databaseService.supply(() -> {
+                    try {
+                        ScheduleAudit.Result result = audit.writeReport(file.toPath());
+                        audit.flagConflicts(result);
+                        return result;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .thenAccept(result -> {
+                    btnAuditSchedule.setDisable(false);
+                    showAlert(Alert.AlertType.INFORMATION, "Schedule Audit Complete",
+                            "Found " + result.getOverlaps() + " overlaps involving " + result.getBookingIds().size()
+                                    + " bookings across " + result.getVenuesChecked() + " venues.\n"
+                                    + "Report saved to " + file.getAbsolutePath());
+                })
+                .exceptionally(e -> {
+                    btnAuditSchedule.setDisable(false);
+                    System.err.println("Error auditing schedule: " + e.getMessage());
+                    showAlert(Alert.AlertType.ERROR, "Schedule Audit Failed", "Could not audit the schedule: " + e.getMessage());
+                    return null;
+                });
     }
 
-    private void updateMetrics() {
-        try {
-            List<Booking> allBookings = databaseService.getAllBookings();
-            LocalDate today = LocalDate.now();
-            LocalDate nextWeek = today.plusDays(7);
-
-            int total = allBookings.size();
-            double revenue = 0;
-            int upcoming = 0;
-            int leads = 0;
-
-            for (Booking booking : allBookings) {
-                // Calculate revenue (using budget for confirmed bookings)
-                if ("CONFIRMED".equals(booking.getStatus())) {
-                    revenue += booking.getBudget();
-                }
-
-                // Count upcoming confirmed events (next 7 days)
-                if ("CONFIRMED".equals(booking.getStatus()) &&
-                        !booking.getStartDateTime().toLocalDate().isBefore(today) &&
-                        booking.getStartDateTime().toLocalDate().isBefore(nextWeek)) {
-                    upcoming++;
-                }
-
-                // Count pending bookings as leads
-                if ("PENDING".equals(booking.getStatus())) {
-                    leads++;
-                }
-            }
+    private void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
 
-            totalBookings.set(total);
-            totalRevenue.set(revenue);
-            upcomingEvents.set(upcoming);
-            newLeads.set(leads);
+    private void refreshDashboard() {
+        // Aggregate on a background thread; callbacks run on the FX thread
+        databaseService.supply(this::computeFigures)
+                .thenApply(figures -> {
+                    updateMetrics(figures);
+                    updateUpcomingEvents(figures, figures.venues);
+                    updateVenueAvailability(figures.venues, figures);
+                    return null;
+                })
+                .exceptionally(e -> {
+                    System.err.println("Error refreshing dashboard: " + e.getMessage());
+                    e.printStackTrace();
+                    return null;
+                });
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error updating dashboard metrics: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Brings the columnar booking snapshot up to date (only changed bookings after the first
+     * load) and runs every dashboard aggregate over it. Today's occupancy per venue comes from
+     * the availability grid's bitmaps.
+     */
+    private DashboardFigures computeFigures() {
+        bookingColumns.refresh(bookingRepository);
+        List<Venue> venues = venueRepository.getAllVenues();
+
+        LocalDate today = LocalDate.now();
+        Map<Integer, Integer> occupiedToday = new HashMap<>();
+        for (Venue venue : venues) {
+            occupiedToday.put(venue.getId(), availabilityGrid.getOccupiedMinutes(venue.getId(), today));
         }
+
+        int todayStart = BookingColumns.toMinute(today.atStartOfDay());
+        int nextWeekStart = BookingColumns.toMinute(today.plusDays(7).atStartOfDay());
+
+        return new DashboardFigures(
+                bookingColumns.size(),
+                // Revenue is the budget of confirmed bookings
+                bookingColumns.sumBudgetCents(BookingColumns.CONFIRMED),
+                // Confirmed events starting in the next 7 days
+                bookingColumns.countStarting(BookingColumns.CONFIRMED, todayStart, nextWeekStart),
+                // Pending bookings are leads
+                bookingColumns.count(BookingColumns.PENDING),
+                bookingColumns.nextStarting(BookingColumns.CONFIRMED,
+                        BookingColumns.toMinute(LocalDateTime.now()), 10), // Show only next 10 events
+                venues,
+                occupiedToday);
+    }
+
+    private void updateMetrics(DashboardFigures figures) {
+        totalBookings.set(figures.total);
+        totalRevenue.set(figures.revenueCents / 100.0);
+        upcomingEvents.set(figures.upcoming);
+        newLeads.set(figures.leads);
     }
 
-    private void updateUpcomingEvents() {
+    private void updateUpcomingEvents(DashboardFigures figures, List<Venue> allVenues) {
         upcomingEventsList.clear();
 
-        try {
-            List<Booking> allBookings = databaseService.getAllBookings();
-            LocalDateTime now = LocalDateTime.now();
-
-            allBookings.stream()
-                    .filter(booking -> "CONFIRMED".equals(booking.getStatus()))
-                    .filter(booking -> booking.getStartDateTime().isAfter(now))
-                    .sorted((b1, b2) -> b1.getStartDateTime().compareTo(b2.getStartDateTime()))
-                    .limit(10) // Show only next 10 events
-                    .forEach(booking -> {
-                        String eventText = String.format("%s - %s - %s",
-                                booking.getEventType(),
-                                booking.getVenue().getName(),
-                                booking.getStartDateTime().format(DateTimeFormatter.ofPattern("MMM d, h:mm a"))
-                        );
-                        upcomingEventsList.add(eventText);
-                    });
-
-            if (upcomingEventsList.isEmpty()) {
-                upcomingEventsList.add("No upcoming events");
-            }
+        Map<Integer, String> venueNames = new HashMap<>();
+        for (Venue venue : allVenues) {
+            venueNames.put(venue.getId(), venue.getName());
+        }
 
-        } catch (Exception e) {
-            System.err.println("Error fetching upcoming events: " + e.getMessage());
-            e.printStackTrace();
-            upcomingEventsList.add("Error loading events");
+        for (BookingColumns.Upcoming booking : figures.nextEvents) {
+            String eventText = String.format("%s - %s - %s",
+                    booking.getEventType(),
+                    venueNames.getOrDefault(booking.getVenueId(), "Venue #" + booking.getVenueId()),
+                    booking.getStartDateTime().format(DateTimeFormatter.ofPattern("MMM d, h:mm a"))
+            );
+            upcomingEventsList.add(eventText);
+        }
+
+        if (upcomingEventsList.isEmpty()) {
+            upcomingEventsList.add("No upcoming events");
         }
     }
 
-    private void updateVenueAvailability() {
+    private void updateVenueAvailability(List<Venue> allVenues, DashboardFigures figures) {
         venueAvailabilityList.clear();
 
-        try {
-            List<Venue> allVenues = databaseService.getAllVenues();
-            List<Booking> allBookings = databaseService.getAllBookings();
-            LocalDate today = LocalDate.now();
-
-            for (Venue venue : allVenues) {
-                boolean isBookedToday = allBookings.stream()
-                        .filter(booking -> "CONFIRMED".equals(booking.getStatus()))
-                        .filter(booking -> booking.getVenue().getId() == venue.getId())
-                        .anyMatch(booking -> booking.getStartDateTime().toLocalDate().equals(today));
-
-                String status = isBookedToday ? "Booked today" : "Available today";
-                venueAvailabilityList.add(venue.getName() + ": " + status);
-            }
+        for (Venue venue : allVenues) {
+            int minutes = figures.occupiedToday.getOrDefault(venue.getId(), 0);
+            String status = minutes > 0
+                    ? String.format("Booked today (%.1f h)", minutes / 60.0)
+                    : "Available today";
+            venueAvailabilityList.add(venue.getName() + ": " + status);
+        }
 
-            if (venueAvailabilityList.isEmpty()) {
-                venueAvailabilityList.add("No venues configured");
-            }
+        if (venueAvailabilityList.isEmpty()) {
+            venueAvailabilityList.add("No venues configured");
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error fetching venue availability: " + e.getMessage());
-            e.printStackTrace();
-            venueAvailabilityList.add("Error loading availability");
+    private static class DashboardFigures {
+        private final int total;
+        private final long revenueCents;
+        private final int upcoming;
+        private final int leads;
+        private final List<BookingColumns.Upcoming> nextEvents;
+        private final List<Venue> venues;
+        private final Map<Integer, Integer> occupiedToday;
+
+        private DashboardFigures(int total, long revenueCents, int upcoming, int leads,
+                                 List<BookingColumns.Upcoming> nextEvents, List<Venue> venues,
+                                 Map<Integer, Integer> occupiedToday) {
+            this.total = total;
+            this.revenueCents = revenueCents;
+            this.upcoming = upcoming;
+            this.leads = leads;
+            this.nextEvents = nextEvents;
+            this.venues = venues;
+            this.occupiedToday = occupiedToday;
         }
     }
-}
\ No newline at end of file
+}
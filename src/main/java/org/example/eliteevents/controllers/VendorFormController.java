@@ -7,7 +7,8 @@ import javafx.scene.control.ComboBox;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import org.example.eliteevents.models.Vendor;
-import org.example.eliteevents.services.DatabaseService;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.VendorRepository;
 
 public class VendorFormController {
     @FXML private TextField txtName;
@@ -16,7 +17,7 @@ public class VendorFormController {
     @FXML private TextField txtPhone;
     @FXML private Button btnSave;
 
-    private DatabaseService dbService = DatabaseService.getInstance();
+    private VendorRepository vendorRepository = Repositories.vendors();
     private Vendor vendorToEdit;
     private boolean isEditMode = false;
 
@@ -69,12 +70,12 @@ public class VendorFormController {
                 if (isEditMode && vendorToEdit != null) {
                     // UPDATE existing vendor
                     vendor.setId(vendorToEdit.getId());
-                    dbService.updateVendor(vendor);
+                    vendorRepository.updateVendor(vendor);
                     showSuccessAlert("Vendor Updated", "Vendor '" + vendor.getName() + "' has been updated successfully!");
                     closeFormIfModal();
                 } else {
                     // CREATE new vendor
-                    dbService.addVendor(vendor);
+                    vendorRepository.addVendor(vendor);
                     showSuccessAlert("Vendor Created", "Vendor '" + vendor.getName() + "' has been added successfully!");
                     clearForm();
                 }
@@ -11,7 +11,8 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 import org.example.eliteevents.models.Vendor;
-import org.example.eliteevents.services.DatabaseService;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.VendorRepository;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,7 +25,7 @@ public class VendorsListController {
     @FXML private TextField vendorSearch;
     @FXML private Button btnAddVendor;
 
-    private DatabaseService dbService = DatabaseService.getInstance();
+    private VendorRepository vendorRepository = Repositories.vendors();
 
     @FXML
     private void initialize() {
@@ -107,7 +108,7 @@ public class VendorsListController {
 
     private void loadVendors() {
         try {
-            List<Vendor> vendors = dbService.getAllVendors();
+            List<Vendor> vendors = vendorRepository.getAllVendors();
             System.out.println("Loading " + vendors.size() + " vendors into table");
             tblVendors.getItems().setAll(vendors);
         } catch (Exception e) {
@@ -124,7 +125,7 @@ public class VendorsListController {
         }
 
         try {
-            List<Vendor> allVendors = dbService.getAllVendors();
+            List<Vendor> allVendors = vendorRepository.getAllVendors();
             List<Vendor> filteredVendors = allVendors.stream()
                     .filter(vendor -> vendor.getName().toLowerCase().contains(searchText.toLowerCase()) ||
                             vendor.getCategory().toLowerCase().contains(searchText.toLowerCase()) ||
@@ -194,7 +195,7 @@ public class VendorsListController {
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-                boolean deleted = dbService.deleteVendor(vendor.getId());
+                boolean deleted = vendorRepository.deleteVendor(vendor.getId());
                 if (deleted) {
                     showAlert("Success", "Vendor deleted successfully!");
                     loadVendors();
@@ -8,7 +8,8 @@ import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import org.example.eliteevents.models.Venue;
-import org.example.eliteevents.services.DatabaseService;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.VenueRepository;
 import java.util.Arrays;
 
 public class VenueFormController {
@@ -19,7 +20,7 @@ public class VenueFormController {
     @FXML private TextField txtAmenities;
     @FXML private Button btnSave;
 
-    private DatabaseService dbService = DatabaseService.getInstance();
+    private VenueRepository venueRepository = Repositories.venues();
     private Venue venueToEdit;
     private boolean isEditMode = false;
 
@@ -68,12 +69,12 @@ public class VenueFormController {
                 if (isEditMode && venueToEdit != null) {
                     // UPDATE existing venue
                     venue.setId(venueToEdit.getId());
-                    dbService.updateVenue(venue);
+                    venueRepository.updateVenue(venue);
                     showSuccessAlert("Venue Updated", "Venue '" + venue.getName() + "' has been updated successfully!");
                     closeFormIfModal();
                 } else {
                     // CREATE new venue
-                    dbService.addVenue(venue);
+                    venueRepository.addVenue(venue);
                     showSuccessAlert("Venue Created", "Venue '" + venue.getName() + "' has been added successfully!");
                     clearForm();
                 }
@@ -11,7 +11,8 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 import org.example.eliteevents.models.Venue;
-import org.example.eliteevents.services.DatabaseService;
+import org.example.eliteevents.services.Repositories;
+import org.example.eliteevents.services.VenueRepository;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +24,7 @@ public class VenuesListController {
     @FXML private TableColumn<Venue, Double> colVenuePrice;
     @FXML private TableColumn<Venue, String> colVenueActions;
 
-    private DatabaseService dbService = DatabaseService.getInstance();
+    private VenueRepository venueRepository = Repositories.venues();
 
     @FXML
     private void initialize() {
@@ -77,7 +78,7 @@ public class VenuesListController {
 
     private void loadVenues() {
         try {
-            List<Venue> venues = dbService.getAllVenues();
+            List<Venue> venues = venueRepository.getAllVenues();
             System.out.println("Loading " + venues.size() + " venues into table");
             tblVenues.getItems().setAll(venues);
         } catch (Exception e) {
@@ -120,7 +121,7 @@ public class VenuesListController {
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-                boolean deleted = dbService.deleteVenue(venue.getId());
+                boolean deleted = venueRepository.deleteVenue(venue.getId());
                 if (deleted) {
                     showAlert("Success", "Venue deleted successfully!");
                     loadVenues();
@@ -16,6 +16,7 @@ public class Booking {
     private double budget;
     private String notes;
     private String status;
+    private int version;
 
     public Booking() {
         this.status = "PENDING";
@@ -76,6 +77,10 @@ public class Booking {
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
+    // Optimistic locking version; updates must carry the version they were loaded with
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
     @Override
     public String toString() {
         return "Booking #" + id + " - " + eventType + " at " + (venue != null ? venue.getName() : "Unknown Venue");
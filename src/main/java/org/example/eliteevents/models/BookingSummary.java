@@ -0,0 +1,60 @@
+package org.example.eliteevents.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking for list, calendar and dashboard views. Carries no notes,
+ * vendor or client contact details; load the full {@link Booking} by id when those are needed.
+ */
+public class BookingSummary {
+    private final int id;
+    private final int clientId;
+    private final String clientName;
+    private final int venueId;
+    private final String venueName;
+    private final String eventType;
+    private final LocalDateTime startDateTime;
+    private final LocalDateTime endDateTime;
+    private final double budget;
+    private final String status;
+
+    public BookingSummary(int id, int clientId, String clientName, int venueId, String venueName, String eventType,
+                          LocalDateTime startDateTime, LocalDateTime endDateTime, double budget, String status) {
+        this.id = id;
+        this.clientId = clientId;
+        this.clientName = clientName;
+        this.venueId = venueId;
+        this.venueName = venueName;
+        this.eventType = eventType;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.budget = budget;
+        this.status = status;
+    }
+
+    public static BookingSummary of(Booking booking) {
+        Client client = booking.getClient();
+        Venue venue = booking.getVenue();
+        return new BookingSummary(booking.getId(),
+                client != null ? client.getId() : 0, client != null ? client.getName() : null,
+                venue != null ? venue.getId() : 0, venue != null ? venue.getName() : null,
+                booking.getEventType(), booking.getStartDateTime(), booking.getEndDateTime(),
+                booking.getBudget(), booking.getStatus());
+    }
+
+    public int getId() { return id; }
+    public int getClientId() { return clientId; }
+    public String getClientName() { return clientName; }
+    public int getVenueId() { return venueId; }
+    public String getVenueName() { return venueName; }
+    public String getEventType() { return eventType; }
+    public LocalDateTime getStartDateTime() { return startDateTime; }
+    public LocalDateTime getEndDateTime() { return endDateTime; }
+    public double getBudget() { return budget; }
+    public String getStatus() { return status; }
+
+    @Override
+    public String toString() {
+        return "Booking #" + id + " - " + eventType + " at " + (venueName != null ? venueName : "Unknown Venue");
+    }
+}
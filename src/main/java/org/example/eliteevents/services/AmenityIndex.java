@@ -0,0 +1,153 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Venue;
+
+import java.util.*;
+
+/**
+ * Immutable bitset index answering "venues with all of these amenities and at least this
+ * capacity" without touching the database.
+ *
+ * Amenity names are interned to small ids, ignoring case. Venues are held largest first, so a
+ * minimum capacity selects a prefix of venue positions. Each amenity keeps a bitset of the
+ * positions of the venues offering it, and each venue a bitset of its amenity ids; a query ANDs
+ * the amenity bitsets a word at a time.
+ */
+public final class AmenityIndex {
+    private static final Comparator<Venue> LARGEST_FIRST = Comparator
+            .comparingInt(Venue::getCapacity).reversed()
+            .thenComparingInt(Venue::getId);
+
+    private final Map<String, Integer> amenityIds = new HashMap<>();
+    private final List<String> amenityNames = new ArrayList<>();
+    private final List<BitSet> venuesByAmenity = new ArrayList<>();
+    private final Venue[] venues;
+    private final int[] capacities;
+    private final BitSet[] amenitiesByVenue;
+    private final Map<Integer, Integer> positionsById = new HashMap<>();
+
+    private AmenityIndex(List<Venue> source) {
+        venues = new Venue[source.size()];
+        for (int i = 0; i < venues.length; i++) {
+            venues[i] = Entities.copy(source.get(i));
+        }
+        Arrays.sort(venues, LARGEST_FIRST);
+
+        capacities = new int[venues.length];
+        amenitiesByVenue = new BitSet[venues.length];
+        for (int position = 0; position < venues.length; position++) {
+            Venue venue = venues[position];
+            capacities[position] = venue.getCapacity();
+            positionsById.put(venue.getId(), position);
+
+            BitSet amenities = new BitSet();
+            for (String name : normalize(venue.getAmenities())) {
+                int id = intern(name);
+                amenities.set(id);
+                venuesByAmenity.get(id).set(position);
+            }
+            amenitiesByVenue[position] = amenities;
+        }
+    }
+
+    public static AmenityIndex of(List<Venue> venues) {
+        return new AmenityIndex(venues);
+    }
+
+    /**
+     * Venues offering every one of the amenities (matched ignoring case) with at least the given
+     * capacity, largest first. An amenity no venue has matches nothing.
+     */
+    public List<Venue> findVenues(Collection<String> requiredAmenities, int minCapacity) {
+        BitSet matches = new BitSet(venues.length);
+        matches.set(0, countWithCapacity(minCapacity));
+
+        for (String name : requiredAmenities) {
+            int id = amenityId(name);
+            if (id < 0) {
+                return new ArrayList<>();
+            }
+            matches.and(venuesByAmenity.get(id));
+        }
+
+        List<Venue> result = new ArrayList<>(matches.cardinality());
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            result.add(Entities.copy(venues[position]));
+        }
+        return result;
+    }
+
+    /**
+     * The interned id of the amenity, or -1 if no venue has it.
+     */
+    public int amenityId(String name) {
+        Integer id = amenityIds.get(key(name));
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Amenity names by id, as first spelled.
+     */
+    public List<String> getAmenityNames() {
+        return Collections.unmodifiableList(amenityNames);
+    }
+
+    /**
+     * The venue's amenity ids, or an empty set for an unknown venue.
+     */
+    public BitSet amenitiesOf(int venueId) {
+        Integer position = positionsById.get(venueId);
+        return position != null ? (BitSet) amenitiesByVenue[position].clone() : new BitSet();
+    }
+
+    public int size() {
+        return venues.length;
+    }
+
+    /**
+     * Trimmed, non-blank names with case-insensitive duplicates dropped, first spelling kept.
+     */
+    static List<String> normalize(Collection<String> names) {
+        List<String> result = new ArrayList<>();
+        if (names == null) {
+            return result;
+        }
+        Set<String> seen = new HashSet<>();
+        for (String name : names) {
+            if (name != null && !name.isBlank() && seen.add(key(name))) {
+                result.add(name.trim());
+            }
+        }
+        return result;
+    }
+
+    static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Positions [0, n) have capacity >= minCapacity, since capacities are in descending order
+    private int countWithCapacity(int minCapacity) {
+        int low = 0;
+        int high = capacities.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (capacities[mid] >= minCapacity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int intern(String name) {
+        Integer id = amenityIds.get(key(name));
+        if (id == null) {
+            id = amenityNames.size();
+            amenityIds.put(key(name), id);
+            amenityNames.add(name);
+            venuesByAmenity.add(new BitSet(venues.length));
+        }
+        return id;
+    }
+}
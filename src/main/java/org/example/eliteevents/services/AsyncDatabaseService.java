@@ -0,0 +1,150 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of the repositories returned by {@link Repositories}.
+ *
+ * Each call runs the blocking data-access work on its own virtual thread and completes the returned
+ * future on the completion executor chosen by the caller (for example {@code Platform::runLater}
+ * so controllers can touch the scene graph directly in their callbacks).
+ */
+public class AsyncDatabaseService {
+    private static final ExecutorService QUERY_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("db-query-", 0).factory());
+
+    private final BookingRepository bookings;
+    private final ClientRepository clients;
+    private final VenueRepository venues;
+    private final VendorRepository vendors;
+    private final Executor completionExecutor;
+
+    public AsyncDatabaseService(Executor completionExecutor) {
+        this(Repositories.bookings(), Repositories.clients(), Repositories.venues(), Repositories.vendors(), completionExecutor);
+    }
+
+    public AsyncDatabaseService(BookingRepository bookings, ClientRepository clients, VenueRepository venues,
+                                VendorRepository vendors, Executor completionExecutor) {
+        this.bookings = bookings;
+        this.clients = clients;
+        this.venues = venues;
+        this.vendors = vendors;
+        this.completionExecutor = completionExecutor;
+    }
+
+    // Client operations
+    public CompletableFuture<List<Client>> getAllClients() {
+        return supply(clients::getAllClients);
+    }
+
+    public CompletableFuture<Void> addClient(Client client) {
+        return run(() -> clients.addClient(client));
+    }
+
+    public CompletableFuture<Void> updateClient(Client client) {
+        return run(() -> clients.updateClient(client));
+    }
+
+    public CompletableFuture<Boolean> deleteClient(int clientId) {
+        return supply(() -> clients.deleteClient(clientId));
+    }
+
+    // Venue operations
+    public CompletableFuture<List<Venue>> getAllVenues() {
+        return supply(venues::getAllVenues);
+    }
+
+    public CompletableFuture<Void> addVenue(Venue venue) {
+        return run(() -> venues.addVenue(venue));
+    }
+
+    public CompletableFuture<Void> updateVenue(Venue venue) {
+        return run(() -> venues.updateVenue(venue));
+    }
+
+    public CompletableFuture<Boolean> deleteVenue(int venueId) {
+        return supply(() -> venues.deleteVenue(venueId));
+    }
+
+    // Vendor operations
+    public CompletableFuture<List<Vendor>> getAllVendors() {
+        return supply(vendors::getAllVendors);
+    }
+
+    public CompletableFuture<Void> addVendor(Vendor vendor) {
+        return run(() -> vendors.addVendor(vendor));
+    }
+
+    public CompletableFuture<Void> updateVendor(Vendor vendor) {
+        return run(() -> vendors.updateVendor(vendor));
+    }
+
+    public CompletableFuture<Boolean> deleteVendor(int vendorId) {
+        return supply(() -> vendors.deleteVendor(vendorId));
+    }
+
+    // Booking operations
+    public CompletableFuture<List<Booking>> getAllBookings() {
+        return supply(bookings::getAllBookings);
+    }
+
+    public CompletableFuture<Void> addBooking(Booking booking) {
+        return run(() -> bookings.addBooking(booking));
+    }
+
+    public CompletableFuture<Void> updateBooking(Booking booking) {
+        return run(() -> bookings.updateBooking(booking));
+    }
+
+    public CompletableFuture<Boolean> deleteBooking(int bookingId) {
+        return supply(() -> bookings.deleteBooking(bookingId));
+    }
+
+    public CompletableFuture<BookingChangeSet<Booking>> getBookingChangesSince(long watermark) {
+        return supply(() -> bookings.getChangesSince(watermark));
+    }
+
+    public CompletableFuture<BookingChangeSet<BookingSummary>> getBookingSummaryChangesSince(long watermark) {
+        return supply(() -> bookings.getSummaryChangesSince(watermark));
+    }
+
+    /**
+     * Runs any blocking data-access call on a virtual thread, for operations without a
+     * dedicated async method.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture.supplyAsync(query, QUERY_EXECUTOR).whenComplete((value, error) ->
+                completionExecutor.execute(() -> {
+                    if (error != null) {
+                        result.completeExceptionally(unwrap(error));
+                    } else {
+                        result.complete(value);
+                    }
+                }));
+        return result;
+    }
+
+    public CompletableFuture<Void> run(Runnable command) {
+        return supply(() -> {
+            command.run();
+            return null;
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.eliteevents.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Occupancy bitmaps per venue and day at 15-minute granularity: bit {@code i} of a day is set
+ * when a booking with one of the blocking statuses covers any part of the quarter hour starting
+ * {@code 15 * i} minutes after midnight. A day is 96 bits in two longs, so availability, free
+ * slots and occupancy come down to masks, {@link Long#bitCount} and
+ * {@link Long#numberOfTrailingZeros} over two words.
+ *
+ * Days are built from the {@link ConflictIndex} on first use and kept for a rolling horizon
+ * starting today; days outside it are built for each query and not kept. The index tells the
+ * grid which ranges changed, and only the days those ranges touch are rebuilt, on their next
+ * use. Because bits cover whole quarter hours, a booking ending at 10:05 makes 10:00-10:15
+ * busy: the grid can report a venue busy when it is free for part of a slot, never the reverse.
+ */
+public class AvailabilityGrid {
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final long NO_DAY = Long.MIN_VALUE;
+    // Past this many unapplied changes, drop every cached day instead of queueing more
+    private static final int MAX_PENDING_CHANGES = 10_000;
+
+    private final ConflictIndex index;
+    private final List<String> blockingStatuses;
+    private final int horizonDays;
+
+    private final Map<Integer, VenueDays> daysByVenue = new HashMap<>();
+
+    // Filled by the index listener, which must not take this object's lock
+    private final ConcurrentLinkedQueue<int[]> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean pendingClear = new AtomicBoolean();
+
+    public AvailabilityGrid(ConflictIndex index, Collection<String> blockingStatuses, int horizonDays) {
+        this.index = index;
+        this.blockingStatuses = List.copyOf(blockingStatuses);
+        this.horizonDays = Math.max(1, horizonDays);
+        index.addListener(new ConflictIndex.ChangeListener() {
+            public void changed(int venueId, int startMinute, int endMinute) {
+                if (pendingCount.incrementAndGet() > MAX_PENDING_CHANGES) {
+                    pendingClear.set(true);
+                } else {
+                    pendingChanges.add(new int[]{venueId, startMinute, endMinute});
+                }
+            }
+
+            public void cleared() {
+                pendingClear.set(true);
+            }
+        });
+    }
+
+    /**
+     * Copy of the venue's bitmap for the date, {@link #WORDS_PER_DAY} words.
+     */
+    public synchronized long[] getDay(int venueId, LocalDate date) {
+        return day(venueId, date.toEpochDay());
+    }
+
+    /**
+     * True if no quarter hour touched by [start, end) is busy.
+     */
+    public synchronized boolean isFree(int venueId, LocalDateTime start, LocalDateTime end) {
+        int startMinute = BookingColumns.toMinute(start);
+        int endMinute = BookingColumns.toMinute(end);
+        for (long day = Math.floorDiv(startMinute, MINUTES_PER_DAY); day * MINUTES_PER_DAY < endMinute; day++) {
+            int dayStart = (int) (day * MINUTES_PER_DAY);
+            int fromSlot = Math.max(0, startMinute - dayStart) / SLOT_MINUTES;
+            int toSlot = ceilSlot(Math.min(MINUTES_PER_DAY, endMinute - dayStart));
+            if (anySet(day(venueId, day), fromSlot, toSlot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Free runs of quarter hours between the opening and closing times, in order.
+     */
+    public synchronized List<ConflictDetectionService.TimeSlot> getFreeSlots(int venueId, LocalDate date,
+                                                                              LocalTime opens, LocalTime closes) {
+        long[] words = day(venueId, date.toEpochDay());
+        int limit = closes.toSecondOfDay() / 60 / SLOT_MINUTES;
+        List<ConflictDetectionService.TimeSlot> slots = new ArrayList<>();
+        int free = nextClearBit(words, ceilSlot(opens.toSecondOfDay() / 60), limit);
+        while (free < limit) {
+            int busy = nextSetBit(words, free, limit);
+            slots.add(new ConflictDetectionService.TimeSlot(slotTime(date, free), slotTime(date, busy)));
+            free = nextClearBit(words, busy, limit);
+        }
+        return slots;
+    }
+
+    /**
+     * Minutes of the day in busy quarter hours.
+     */
+    public synchronized int getOccupiedMinutes(int venueId, LocalDate date) {
+        long[] words = day(venueId, date.toEpochDay());
+        int slots = 0;
+        for (long word : words) {
+            slots += Long.bitCount(word);
+        }
+        return slots * SLOT_MINUTES;
+    }
+
+    /**
+     * Share of the quarter hours between the opening and closing times that are busy, 0 to 1.
+     */
+    public synchronized double getOccupancy(int venueId, LocalDate date, LocalTime opens, LocalTime closes) {
+        int fromSlot = ceilSlot(opens.toSecondOfDay() / 60);
+        int toSlot = closes.toSecondOfDay() / 60 / SLOT_MINUTES;
+        if (fromSlot >= toSlot) {
+            return 0.0;
+        }
+        return (double) countSet(day(venueId, date.toEpochDay()), fromSlot, toSlot) / (toSlot - fromSlot);
+    }
+
+    // A copy of the day's bitmap, from the cache when it is valid
+    private long[] day(int venueId, long epochDay) {
+        index.refreshIfDue();
+        applyPendingChanges();
+
+        long today = LocalDate.now().toEpochDay();
+        if (epochDay < today || epochDay >= today + horizonDays) {
+            return build(venueId, epochDay);
+        }
+        VenueDays venue = daysByVenue.computeIfAbsent(venueId, id -> new VenueDays(horizonDays));
+        int slot = (int) Math.floorMod(epochDay, (long) horizonDays);
+        if (venue.days[slot] != epochDay) {
+            System.arraycopy(build(venueId, epochDay), 0, venue.words, slot * WORDS_PER_DAY, WORDS_PER_DAY);
+            venue.days[slot] = epochDay;
+        }
+        return Arrays.copyOfRange(venue.words, slot * WORDS_PER_DAY, (slot + 1) * WORDS_PER_DAY);
+    }
+
+    private long[] build(int venueId, long epochDay) {
+        long[] words = new long[WORDS_PER_DAY];
+        int dayStart = (int) (epochDay * MINUTES_PER_DAY);
+        LocalDateTime from = BookingColumns.fromMinute(dayStart);
+        LocalDateTime to = BookingColumns.fromMinute(dayStart + MINUTES_PER_DAY);
+        for (ConflictIndex.Interval booked : index.findBetween(venueId, from, to, blockingStatuses)) {
+            int fromSlot = Math.max(0, booked.getStartMinute() - dayStart) / SLOT_MINUTES;
+            int toSlot = ceilSlot(Math.min(MINUTES_PER_DAY, booked.getEndMinute() - dayStart));
+            setRange(words, fromSlot, toSlot);
+        }
+        return words;
+    }
+
+    private void applyPendingChanges() {
+        if (pendingClear.getAndSet(false)) {
+            pendingChanges.clear();
+            pendingCount.set(0);
+            daysByVenue.clear();
+            return;
+        }
+        int[] change;
+        while ((change = pendingChanges.poll()) != null) {
+            pendingCount.decrementAndGet();
+            VenueDays venue = daysByVenue.get(change[0]);
+            if (venue == null) {
+                continue;
+            }
+            long lastDay = Math.floorDiv(change[2], MINUTES_PER_DAY);
+            for (long day = Math.floorDiv(change[1], MINUTES_PER_DAY); day <= lastDay; day++) {
+                int slot = (int) Math.floorMod(day, (long) horizonDays);
+                if (venue.days[slot] == day) {
+                    venue.days[slot] = NO_DAY;
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime slotTime(LocalDate date, int slot) {
+        return date.atStartOfDay().plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    private static int ceilSlot(int minuteOfDay) {
+        return (minuteOfDay + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    // Word-level helpers over bits [from, to) of a day
+
+    static void setRange(long[] words, int from, int to) {
+        for (int word = from >>> 6; from < to; word++) {
+            int end = Math.min(to, (word + 1) << 6);
+            words[word] |= mask(from, end);
+            from = end;
+        }
+    }
+
+    static boolean anySet(long[] words, int from, int to) {
+        for (int word = from >>> 6; from < to; word++) {
+            int end = Math.min(to, (word + 1) << 6);
+            if ((words[word] & mask(from, end)) != 0) {
+                return true;
+            }
+            from = end;
+        }
+        return false;
+    }
+
+    static int countSet(long[] words, int from, int to) {
+        int count = 0;
+        for (int word = from >>> 6; from < to; word++) {
+            int end = Math.min(to, (word + 1) << 6);
+            count += Long.bitCount(words[word] & mask(from, end));
+            from = end;
+        }
+        return count;
+    }
+
+    /**
+     * First set bit at or after {@code from}, or {@code limit} if there is none before it.
+     */
+    static int nextSetBit(long[] words, int from, int limit) {
+        return nextBit(words, from, limit, 0L);
+    }
+
+    static int nextClearBit(long[] words, int from, int limit) {
+        return nextBit(words, from, limit, -1L);
+    }
+
+    // Flipping the words with -1 turns a search for a clear bit into one for a set bit
+    private static int nextBit(long[] words, int from, int limit, long flip) {
+        for (int word = from >>> 6; from < limit; word++) {
+            int end = Math.min(limit, (word + 1) << 6);
+            long bits = (words[word] ^ flip) & mask(from, end);
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            from = end;
+        }
+        return limit;
+    }
+
+    // Bits [from, to) of the word containing them; to - from is 1 to 64
+    private static long mask(int from, int to) {
+        return (-1L >>> (64 - (to - from))) << (from & 63);
+    }
+
+    // Ring of days indexed by epoch day modulo the horizon; days[] records which day a slot holds
+    private static final class VenueDays {
+        private final long[] words;
+        private final long[] days;
+
+        private VenueDays(int horizonDays) {
+            words = new long[horizonDays * WORDS_PER_DAY];
+            days = new long[horizonDays];
+            Arrays.fill(days, NO_DAY);
+        }
+    }
+}
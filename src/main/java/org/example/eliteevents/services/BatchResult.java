@@ -0,0 +1,67 @@
+package org.example.eliteevents.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batched write: the rows that succeeded (with their generated keys for inserts)
+ * and the rows that failed, each with its position in the input list and the error.
+ */
+public class BatchResult<T> {
+    private final List<T> succeeded = new ArrayList<>();
+    private final List<Integer> generatedKeys = new ArrayList<>();
+    private final List<RowFailure<T>> failures = new ArrayList<>();
+
+    void addSuccess(T item, Integer generatedKey) {
+        succeeded.add(item);
+        if (generatedKey != null) {
+            generatedKeys.add(generatedKey);
+        }
+    }
+
+    void addFailure(int index, T item, String message) {
+        failures.add(new RowFailure<>(index, item, message));
+    }
+
+    public List<T> getSucceeded() { return Collections.unmodifiableList(succeeded); }
+
+    /**
+     * Generated ids of inserted rows, in the same order as {@link #getSucceeded()}.
+     * Empty for updates.
+     */
+    public List<Integer> getGeneratedKeys() { return Collections.unmodifiableList(generatedKeys); }
+
+    public List<RowFailure<T>> getFailures() { return Collections.unmodifiableList(failures); }
+
+    public boolean hasFailures() { return !failures.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return succeeded.size() + " succeeded, " + failures.size() + " failed";
+    }
+
+    public static class RowFailure<T> {
+        private final int index;
+        private final T item;
+        private final String message;
+
+        public RowFailure(int index, T item, String message) {
+            this.index = index;
+            this.item = item;
+            this.message = message;
+        }
+
+        /**
+         * Position of the row in the list passed to the batch method.
+         */
+        public int getIndex() { return index; }
+        public T getItem() { return item; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Row " + index + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.eliteevents.services;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bookings inserted, updated or deleted since a watermark, from
+ * {@link BookingRepository#getChangesSince(long)}, or as summaries from
+ * {@link BookingRepository#getSummaryChangesSince(long)}. Pass {@link #getWatermark()} to the next call.
+ *
+ * Rows near the previous watermark may be repeated; applying a change set is idempotent.
+ */
+public class BookingChangeSet<T> {
+    /**
+     * Watermark that asks for everything, as a snapshot.
+     */
+    public static final long BEGINNING = 0;
+
+    private final List<T> upserted;
+    private final List<Integer> deletedIds;
+    private final long watermark;
+    private final boolean snapshot;
+
+    public BookingChangeSet(List<T> upserted, List<Integer> deletedIds, long watermark, boolean snapshot) {
+        this.upserted = Collections.unmodifiableList(upserted);
+        this.deletedIds = Collections.unmodifiableList(deletedIds);
+        this.watermark = watermark;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Inserted and updated bookings, in their current state.
+     */
+    public List<T> getUpserted() { return upserted; }
+
+    public List<Integer> getDeletedIds() { return deletedIds; }
+
+    public long getWatermark() { return watermark; }
+
+    /**
+     * True if this holds every booking rather than a delta, because the watermark was
+     * {@link #BEGINNING} or older than the retained delete history. Replace, don't merge.
+     */
+    public boolean isSnapshot() { return snapshot; }
+
+    public boolean isEmpty() { return !snapshot && upserted.isEmpty() && deletedIds.isEmpty(); }
+
+    /**
+     * Applies the changes to bookings kept by id.
+     */
+    public void applyTo(Map<Integer, T> bookingsById, ToIntFunction<? super T> idOf) {
+        if (snapshot) {
+            bookingsById.clear();
+        }
+        for (T booking : upserted) {
+            bookingsById.put(idOf.applyAsInt(booking), booking);
+        }
+        for (Integer id : deletedIds) {
+            bookingsById.remove(id);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (snapshot ? "snapshot of " : "") + upserted.size() + " upserted, " + deletedIds.size() + " deleted";
+    }
+}
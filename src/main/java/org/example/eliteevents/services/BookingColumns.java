@@ -0,0 +1,360 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.BookingSummary;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Column-oriented snapshot of every booking for dashboard and report aggregates.
+ *
+ * Each field is a primitive array indexed by row: venue and client ids, start and end as epoch
+ * minutes, status as a byte code, budget in cents and the event type as a dictionary code, so
+ * scans are tight loops over arrays with no per-row objects. The first {@link #refresh} streams
+ * all bookings, so the full history is never held as a list; later ones apply
+ * {@link BookingRepository#getSummaryChangesSince} deltas in place.
+ *
+ * Times are the bookings' local date-times counted in minutes as if they were UTC; use
+ * {@link #toMinute} to build bounds. Thread-safe.
+ */
+public class BookingColumns {
+    public static final byte PENDING = 0;
+    public static final byte CONFIRMED = 1;
+    public static final byte CANCELLED = 2;
+    public static final byte COMPLETED = 3;
+    public static final byte OTHER = 4;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] venueIds = new int[INITIAL_CAPACITY];
+    private int[] clientIds = new int[INITIAL_CAPACITY];
+    private int[] startMinutes = new int[INITIAL_CAPACITY];
+    private int[] endMinutes = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private long[] budgetCents = new long[INITIAL_CAPACITY];
+    private int[] eventTypes = new int[INITIAL_CAPACITY];
+
+    private final Map<Integer, Integer> rowsById = new HashMap<>();
+    private final Map<String, Integer> eventTypeCodes = new HashMap<>();
+    private final List<String> eventTypeNames = new ArrayList<>();
+    private int maxVenueId;
+
+    private boolean loaded;
+    private long watermark;
+
+    /**
+     * Loads every booking on the first call and applies the changes since the previous call
+     * after that. Returns the number of rows loaded or changed.
+     */
+    public synchronized int refresh(BookingRepository repository) {
+        if (!loaded) {
+            long startedAt = repository.getChangeWatermark();
+            clear();
+            repository.streamBookings(BookingFilter.NONE, booking -> {
+                upsert(BookingSummary.of(booking));
+                return true;
+            });
+            watermark = startedAt;
+            loaded = true;
+            return size;
+        }
+
+        // A watermark older than the tombstone retention comes back as a snapshot list
+        BookingChangeSet<BookingSummary> changes = repository.getSummaryChangesSince(watermark);
+        if (changes.isSnapshot()) {
+            clear();
+        }
+        for (BookingSummary booking : changes.getUpserted()) {
+            upsert(booking);
+        }
+        for (Integer id : changes.getDeletedIds()) {
+            remove(id);
+        }
+        watermark = changes.getWatermark();
+        return changes.getUpserted().size() + changes.getDeletedIds().size();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int count(byte status) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized long sumBudgetCents(byte status) {
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] == status) {
+                total += budgetCents[row];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Bookings with the status starting in [fromMinute, toMinute).
+     */
+    public synchronized int countStarting(byte status, int fromMinute, int toMinute) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int start = startMinutes[row];
+            if (statuses[row] == status && start >= fromMinute && start < toMinute) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Minutes of [fromMinute, toMinute) covered by bookings with the status, indexed by venue id.
+     * Overlapping bookings at one venue are both counted.
+     */
+    public synchronized long[] occupiedMinutesByVenue(byte status, int fromMinute, int toMinute) {
+        long[] minutes = new long[maxVenueId + 1];
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] == status) {
+                int overlap = Math.min(endMinutes[row], toMinute) - Math.max(startMinutes[row], fromMinute);
+                if (overlap > 0) {
+                    minutes[venueIds[row]] += overlap;
+                }
+            }
+        }
+        return minutes;
+    }
+
+    /**
+     * The first bookings with the status starting after the minute, soonest first.
+     */
+    public synchronized List<Upcoming> nextStarting(byte status, int afterMinute, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Bounded insertion sort of row numbers, so only the results are allocated
+        int[] best = new int[limit];
+        int found = 0;
+        for (int row = 0; row < size; row++) {
+            int start = startMinutes[row];
+            if (statuses[row] != status || start <= afterMinute) {
+                continue;
+            }
+            if (found == best.length && start >= startMinutes[best[found - 1]]) {
+                continue;
+            }
+            int at = found < best.length ? found++ : found - 1;
+            while (at > 0 && startMinutes[best[at - 1]] > start) {
+                best[at] = best[at - 1];
+                at--;
+            }
+            best[at] = row;
+        }
+
+        List<Upcoming> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            int row = best[i];
+            result.add(new Upcoming(ids[row], venueIds[row], eventTypeNames.get(eventTypes[row]), startMinutes[row]));
+        }
+        return result;
+    }
+
+    /**
+     * Copies the id, start and end of every booking not in the excluded status, grouped by venue,
+     * so long scans can run without holding the lock. Grouping is a counting sort on venue id.
+     */
+    public synchronized VenueRanges rangesByVenue(byte excludedStatus) {
+        int[] counts = new int[maxVenueId + 2];
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] != excludedStatus) {
+                counts[venueIds[row] + 1]++;
+            }
+        }
+        int venues = 0;
+        for (int venue = 0; venue <= maxVenueId; venue++) {
+            if (counts[venue + 1] > 0) {
+                venues++;
+            }
+            counts[venue + 1] += counts[venue];
+        }
+
+        int[] venueIdList = new int[venues];
+        int[] offsets = new int[venues + 1];
+        int next = 0;
+        for (int venue = 0; venue <= maxVenueId; venue++) {
+            if (counts[venue + 1] > counts[venue]) {
+                venueIdList[next] = venue;
+                offsets[next++] = counts[venue];
+            }
+        }
+        offsets[venues] = counts[maxVenueId + 1];
+
+        int[] bookingIds = new int[offsets[venues]];
+        int[] starts = new int[bookingIds.length];
+        int[] ends = new int[bookingIds.length];
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] != excludedStatus) {
+                int at = counts[venueIds[row]]++;
+                bookingIds[at] = ids[row];
+                starts[at] = startMinutes[row];
+                ends[at] = endMinutes[row];
+            }
+        }
+        return new VenueRanges(venueIdList, offsets, bookingIds, starts, ends);
+    }
+
+    public static int toMinute(LocalDateTime dateTime) {
+        return (int) Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    public static LocalDateTime fromMinute(int minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    public static byte statusCode(String status) {
+        if (status == null) {
+            return OTHER;
+        }
+        switch (status) {
+            case "PENDING": return PENDING;
+            case "CONFIRMED": return CONFIRMED;
+            case "CANCELLED": return CANCELLED;
+            case "COMPLETED": return COMPLETED;
+            default: return OTHER;
+        }
+    }
+
+    private void upsert(BookingSummary booking) {
+        Integer existing = rowsById.get(booking.getId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            if (size == ids.length) {
+                grow();
+            }
+            row = size++;
+            rowsById.put(booking.getId(), row);
+        }
+
+        int venueId = booking.getVenueId();
+        ids[row] = booking.getId();
+        venueIds[row] = venueId;
+        clientIds[row] = booking.getClientId();
+        startMinutes[row] = toMinute(booking.getStartDateTime());
+        endMinutes[row] = toMinute(booking.getEndDateTime());
+        statuses[row] = statusCode(booking.getStatus());
+        budgetCents[row] = Math.round(booking.getBudget() * 100);
+        eventTypes[row] = eventTypeCode(booking.getEventType());
+        maxVenueId = Math.max(maxVenueId, venueId);
+    }
+
+    // Moves the last row into the hole so the columns stay dense
+    private void remove(int bookingId) {
+        Integer removed = rowsById.remove(bookingId);
+        if (removed == null) {
+            return;
+        }
+        int row = removed;
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            venueIds[row] = venueIds[last];
+            clientIds[row] = clientIds[last];
+            startMinutes[row] = startMinutes[last];
+            endMinutes[row] = endMinutes[last];
+            statuses[row] = statuses[last];
+            budgetCents[row] = budgetCents[last];
+            eventTypes[row] = eventTypes[last];
+            rowsById.put(ids[row], row);
+        }
+    }
+
+    private int eventTypeCode(String eventType) {
+        String key = eventType != null ? eventType : "";
+        Integer code = eventTypeCodes.get(key);
+        if (code == null) {
+            code = eventTypeNames.size();
+            eventTypeCodes.put(key, code);
+            eventTypeNames.add(key);
+        }
+        return code;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        venueIds = Arrays.copyOf(venueIds, capacity);
+        clientIds = Arrays.copyOf(clientIds, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        budgetCents = Arrays.copyOf(budgetCents, capacity);
+        eventTypes = Arrays.copyOf(eventTypes, capacity);
+    }
+
+    private void clear() {
+        size = 0;
+        rowsById.clear();
+        maxVenueId = 0;
+    }
+
+    /**
+     * One result of {@link #nextStarting}.
+     */
+    public static class Upcoming {
+        private final int bookingId;
+        private final int venueId;
+        private final String eventType;
+        private final int startMinute;
+
+        public Upcoming(int bookingId, int venueId, String eventType, int startMinute) {
+            this.bookingId = bookingId;
+            this.venueId = venueId;
+            this.eventType = eventType;
+            this.startMinute = startMinute;
+        }
+
+        public int getBookingId() { return bookingId; }
+        public int getVenueId() { return venueId; }
+        public String getEventType() { return eventType; }
+        public LocalDateTime getStartDateTime() { return fromMinute(startMinute); }
+    }
+
+    /**
+     * Booking ranges grouped by venue, from {@link #rangesByVenue}. Venue number {@code v} (in
+     * ascending id order) owns positions [getFrom(v), getTo(v)) of the id, start and end arrays.
+     */
+    public static class VenueRanges {
+        private final int[] venueIds;
+        private final int[] offsets;
+        private final int[] bookingIds;
+        private final int[] startMinutes;
+        private final int[] endMinutes;
+
+        VenueRanges(int[] venueIds, int[] offsets, int[] bookingIds, int[] startMinutes, int[] endMinutes) {
+            this.venueIds = venueIds;
+            this.offsets = offsets;
+            this.bookingIds = bookingIds;
+            this.startMinutes = startMinutes;
+            this.endMinutes = endMinutes;
+        }
+
+        public int getVenueCount() { return venueIds.length; }
+        public int getVenueId(int venue) { return venueIds[venue]; }
+        public int getFrom(int venue) { return offsets[venue]; }
+        public int getTo(int venue) { return offsets[venue + 1]; }
+        public int size() { return bookingIds.length; }
+
+        int[] bookingIds() { return bookingIds; }
+        int[] startMinutes() { return startMinutes; }
+        int[] endMinutes() { return endMinutes; }
+    }
+}
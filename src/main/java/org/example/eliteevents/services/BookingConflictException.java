@@ -0,0 +1,23 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+
+import java.util.List;
+
+/**
+ * Thrown by {@link BookingRepository#reserve} when the venue is already booked for an
+ * overlapping time. Nothing was written.
+ */
+public class BookingConflictException extends RuntimeException {
+    private final List<Booking> conflicts;
+
+    public BookingConflictException(List<Booking> conflicts) {
+        super("Venue already booked: " + conflicts.size() + " overlapping booking(s)");
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    /**
+     * The existing bookings that overlap the requested time.
+     */
+    public List<Booking> getConflicts() { return conflicts; }
+}
@@ -0,0 +1,136 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Writes bookings to CSV straight from a streaming query, one row at a time, so exports of any
+ * size run in constant memory. Output goes to a temporary file next to the target and is only
+ * moved into place once the export completes.
+ */
+public class BookingCsvExporter {
+    private static final Logger logger = Logger.getLogger(BookingCsvExporter.class.getName());
+
+    private static final String[] HEADER = {
+            "Booking ID", "Client", "Company", "Event Type", "Venue", "Start", "End",
+            "Guests", "Catering", "Vendor", "Budget", "Status", "Notes"
+    };
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int PROGRESS_INTERVAL = 500;
+
+    private final BookingRepository bookingRepository;
+
+    public BookingCsvExporter(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Exports every booking matching the filter to the target file.
+     *
+     * @param progress  called every few hundred rows and once at the end
+     * @param cancelled polled between rows; when it returns true the export stops and the
+     *                  partial file is removed
+     * @return the number of rows written, or -1 if the export was cancelled
+     */
+    public long export(BookingFilter filter, Path target, ProgressListener progress, BooleanSupplier cancelled) throws IOException {
+        long total = bookingRepository.countBookings(filter);
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "bookings-export", ".csv.tmp");
+
+        long[] written = {0};
+        boolean completed = false;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writeRow(writer, HEADER);
+            progress.onProgress(0, total);
+
+            bookingRepository.streamBookings(filter, booking -> {
+                if (cancelled.getAsBoolean()) {
+                    return false;
+                }
+                try {
+                    writeRow(writer, toRow(booking));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                written[0]++;
+                if (written[0] % PROGRESS_INTERVAL == 0) {
+                    progress.onProgress(written[0], Math.max(total, written[0]));
+                }
+                return true;
+            });
+
+            completed = !cancelled.getAsBoolean();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        if (!completed) {
+            logger.info("Booking export cancelled after " + written[0] + " rows");
+            return -1;
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        progress.onProgress(written[0], written[0]);
+        logger.info("✅ Exported " + written[0] + " bookings to " + target);
+        return written[0];
+    }
+
+    private static String[] toRow(Booking booking) {
+        return new String[]{
+                String.valueOf(booking.getId()),
+                booking.getClient() != null ? booking.getClient().getName() : "",
+                booking.getClient() != null ? booking.getClient().getCompany() : "",
+                booking.getEventType(),
+                booking.getVenue() != null ? booking.getVenue().getName() : "",
+                booking.getStartDateTime().format(DATE_TIME),
+                booking.getEndDateTime().format(DATE_TIME),
+                String.valueOf(booking.getGuestCount()),
+                booking.isCateringRequired() ? "Yes" : "No",
+                booking.getVendor() != null ? booking.getVendor().getName() : "",
+                String.format(Locale.ROOT, "%.2f", booking.getBudget()),
+                booking.getStatus(),
+                booking.getNotes()
+        };
+    }
+
+    private static void writeRow(BufferedWriter writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long rowsWritten, long totalRows);
+    }
+}
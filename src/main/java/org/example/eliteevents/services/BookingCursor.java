@@ -0,0 +1,61 @@
+package org.example.eliteevents.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in a keyset-paginated booking listing: the (start_datetime, id) of the last row
+ * on the previous page. Because it points at a key rather than an offset, rows inserted or
+ * deleted between page loads do not shift or duplicate the following pages.
+ */
+public final class BookingCursor {
+    private final LocalDateTime startDateTime;
+    private final int id;
+
+    public BookingCursor(LocalDateTime startDateTime, int id) {
+        this.startDateTime = Objects.requireNonNull(startDateTime, "startDateTime");
+        this.id = id;
+    }
+
+    public LocalDateTime getStartDateTime() { return startDateTime; }
+    public int getId() { return id; }
+
+    /**
+     * Opaque token form, safe to keep in UI state or pass around as a string.
+     */
+    public String encode() {
+        String raw = startDateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Integer.parseInt(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid booking cursor: " + token, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BookingCursor)) return false;
+        BookingCursor other = (BookingCursor) o;
+        return id == other.id && startDateTime.equals(other.startDateTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startDateTime, id);
+    }
+
+    @Override
+    public String toString() {
+        return "BookingCursor[" + startDateTime + ", #" + id + "]";
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+import org.example.eliteevents.models.BookingSummary;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Search criteria from the bookings list filter bar. Null fields are not filtered on.
+ * Dates are inclusive and apply to the booking start date.
+ */
+public final class BookingFilter {
+    public static final BookingFilter NONE = new BookingFilter(null, null, null, null, null);
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String venueName;
+    private final String eventType;
+    private final String clientName;
+
+    public BookingFilter(LocalDate from, LocalDate to, String venueName, String eventType, String clientName) {
+        this.from = from;
+        this.to = to;
+        this.venueName = blankToNull(venueName);
+        this.eventType = blankToNull(eventType);
+        this.clientName = blankToNull(clientName);
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public String getVenueName() { return venueName; }
+    public String getEventType() { return eventType; }
+
+    /**
+     * Case-insensitive substring of the client name.
+     */
+    public String getClientName() { return clientName; }
+
+    public boolean isEmpty() {
+        return from == null && to == null && venueName == null && eventType == null && clientName == null;
+    }
+
+    /**
+     * In-memory equivalent of {@link #appendConditions}, for repositories that filter in Java.
+     */
+    public boolean matches(Booking booking) {
+        return matches(booking.getStartDateTime(), booking.getVenue() != null ? booking.getVenue().getName() : null,
+                booking.getEventType(), booking.getClient() != null ? booking.getClient().getName() : null);
+    }
+
+    public boolean matches(BookingSummary summary) {
+        return matches(summary.getStartDateTime(), summary.getVenueName(), summary.getEventType(), summary.getClientName());
+    }
+
+    private boolean matches(LocalDateTime start, String bookingVenueName, String bookingEventType, String bookingClientName) {
+        if (from != null && start.isBefore(from.atStartOfDay())) {
+            return false;
+        }
+        if (to != null && !start.isBefore(to.plusDays(1).atStartOfDay())) {
+            return false;
+        }
+        if (venueName != null && !venueName.equals(bookingVenueName)) {
+            return false;
+        }
+        if (eventType != null && !eventType.equals(bookingEventType)) {
+            return false;
+        }
+        if (clientName != null) {
+            return bookingClientName != null && bookingClientName.toLowerCase().contains(clientName.toLowerCase());
+        }
+        return true;
+    }
+
+    /**
+     * Adds the SQL predicates for this filter (against the b/c/v aliases used by
+     * DatabaseService's booking queries) and their parameters.
+     */
+    void appendConditions(List<String> conditions, List<Object> params) {
+        if (from != null) {
+            conditions.add("b.start_datetime >= ?");
+            params.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            conditions.add("b.start_datetime < ?");
+            params.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        if (venueName != null) {
+            conditions.add("v.name = ?");
+            params.add(venueName);
+        }
+        if (eventType != null) {
+            conditions.add("b.event_type = ?");
+            params.add(eventType);
+        }
+        if (clientName != null) {
+            conditions.add("LOWER(c.name) LIKE ?");
+            params.add("%" + clientName.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
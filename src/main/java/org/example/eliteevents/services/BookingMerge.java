@@ -0,0 +1,86 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Three-way merge for a booking update that lost an optimistic-locking race.
+ *
+ * Starting from the version the user loaded (base), fields only the user changed take the
+ * user's value and all other fields take the stored value, so the other person's edits survive.
+ * Fields both sides changed to different values are conflicts and keep the user's value.
+ * The merged booking carries the stored version, ready to save.
+ */
+public final class BookingMerge {
+    private static final List<Field> FIELDS = List.of(
+            new Field("Client", b -> b.getClient() != null ? b.getClient().getId() : null, (from, to) -> to.setClient(from.getClient())),
+            new Field("Venue", b -> b.getVenue() != null ? b.getVenue().getId() : null, (from, to) -> to.setVenue(from.getVenue())),
+            new Field("Vendor", b -> b.getVendor() != null ? b.getVendor().getId() : null, (from, to) -> to.setVendor(from.getVendor())),
+            new Field("Event type", Booking::getEventType, (from, to) -> to.setEventType(from.getEventType())),
+            new Field("Start", Booking::getStartDateTime, (from, to) -> to.setStartDateTime(from.getStartDateTime())),
+            new Field("End", Booking::getEndDateTime, (from, to) -> to.setEndDateTime(from.getEndDateTime())),
+            new Field("Guests", Booking::getGuestCount, (from, to) -> to.setGuestCount(from.getGuestCount())),
+            new Field("Catering", Booking::isCateringRequired, (from, to) -> to.setCateringRequired(from.isCateringRequired())),
+            new Field("Budget", Booking::getBudget, (from, to) -> to.setBudget(from.getBudget())),
+            new Field("Notes", Booking::getNotes, (from, to) -> to.setNotes(from.getNotes())),
+            new Field("Status", Booking::getStatus, (from, to) -> to.setStatus(from.getStatus())));
+
+    private final Booking merged;
+    private final List<String> conflicts;
+
+    private BookingMerge(Booking merged, List<String> conflicts) {
+        this.merged = merged;
+        this.conflicts = Collections.unmodifiableList(conflicts);
+    }
+
+    /**
+     * @param base   the booking as the user originally loaded it
+     * @param mine   the user's edited booking
+     * @param theirs the booking as it is stored now
+     */
+    public static BookingMerge of(Booking base, Booking mine, Booking theirs) {
+        Booking merged = Entities.copy(theirs);
+        List<String> conflicts = new ArrayList<>();
+
+        for (Field field : FIELDS) {
+            Object baseValue = field.getter.apply(base);
+            Object mineValue = field.getter.apply(mine);
+            Object theirValue = field.getter.apply(theirs);
+
+            if (!Objects.equals(mineValue, baseValue)) {
+                field.copier.accept(mine, merged);
+                if (!Objects.equals(theirValue, baseValue) && !Objects.equals(theirValue, mineValue)) {
+                    conflicts.add(field.label);
+                }
+            }
+        }
+        return new BookingMerge(merged, conflicts);
+    }
+
+    public Booking getMerged() { return merged; }
+
+    /**
+     * Labels of the fields both sides changed differently; the merge kept the user's values.
+     */
+    public List<String> getConflicts() { return conflicts; }
+
+    public boolean hasConflicts() { return !conflicts.isEmpty(); }
+
+    private static final class Field {
+        private final String label;
+        private final Function<Booking, Object> getter;
+        private final BiConsumer<Booking, Booking> copier;
+
+        private Field(String label, Function<Booking, Object> getter, BiConsumer<Booking, Booking> copier) {
+            this.label = label;
+            this.getter = getter;
+            this.copier = copier;
+        }
+    }
+}
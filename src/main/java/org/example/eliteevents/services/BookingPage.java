@@ -0,0 +1,27 @@
+package org.example.eliteevents.services;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of bookings, or of {@link org.example.eliteevents.models.BookingSummary} rows,
+ * returned by keyset pagination.
+ */
+public final class BookingPage<T> {
+    private final List<T> items;
+    private final BookingCursor nextCursor;
+
+    public BookingPage(List<T> items, BookingCursor nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+
+    /**
+     * Cursor for the following page, or null when this is the last page.
+     */
+    public BookingCursor getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,125 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+import org.example.eliteevents.models.BookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Storage for bookings. Implemented by {@link DatabaseService} (MySQL) and
+ * {@link InMemoryRepository}; obtain the configured one from {@link Repositories#bookings()}.
+ */
+public interface BookingRepository {
+    List<Booking> getAllBookings();
+
+    /**
+     * The booking with the given id, or null if there is none.
+     */
+    Booking getBooking(int bookingId);
+
+    void addBooking(Booking booking);
+
+    /**
+     * Inserts the booking only if nothing else at its venue overlaps it, as one atomic step, so
+     * two people booking the same slot at once cannot both succeed.
+     *
+     * @throws BookingConflictException if an overlapping booking exists
+     */
+    void reserve(Booking booking);
+
+    /**
+     * Saves the booking if its version is still current and increments the version.
+     *
+     * @throws StaleBookingException if the booking was changed or deleted since it was loaded
+     */
+    void updateBooking(Booking booking);
+
+    /**
+     * Saves the booking like {@link #updateBooking} only if nothing else at its venue overlaps
+     * its new times, as one atomic step with the same venue lock {@link #reserve} takes.
+     *
+     * @throws BookingConflictException if another overlapping booking exists
+     * @throws StaleBookingException if the booking was changed or deleted since it was loaded
+     */
+    void reserveUpdate(Booking booking);
+
+    boolean deleteBooking(int bookingId);
+
+    BatchResult<Booking> addBookings(List<Booking> bookings);
+
+    /**
+     * Batch form of {@link #updateBooking}; stale rows are reported as failures.
+     */
+    BatchResult<Booking> updateBookings(List<Booking> bookings);
+
+    /**
+     * Keyset pagination on (start_datetime, id); pass a null cursor for the first page.
+     */
+    default BookingPage<Booking> getBookingsPage(BookingCursor cursor, int limit, BookingSort sort) {
+        return getBookingsPage(BookingFilter.NONE, cursor, limit, sort);
+    }
+
+    BookingPage<Booking> getBookingsPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort);
+
+    /**
+     * {@link #getBookingsPage} as summaries, which skip notes, vendor and client contact details.
+     */
+    BookingPage<BookingSummary> getSummaryPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort);
+
+    long countBookings(BookingFilter filter);
+
+    /**
+     * Approximate total, cheap enough to call on every list refresh.
+     */
+    long estimateBookingCount();
+
+    /**
+     * Streams matching bookings oldest first; the handler returns false to stop.
+     * Returns the number of bookings handled.
+     */
+    long streamBookings(BookingFilter filter, Predicate<Booking> handler);
+
+    /**
+     * Bookings at the venue overlapping [start, end], touching ranges included.
+     */
+    List<Booking> findOverlapping(int venueId, LocalDateTime start, LocalDateTime end, Integer excludeBookingId);
+
+    /**
+     * Bookings at the venue intersecting [from, to), optionally limited to the given statuses.
+     */
+    List<Booking> findByVenueBetween(int venueId, LocalDateTime from, LocalDateTime to, Collection<String> statuses);
+
+    /**
+     * Bookings inserted, updated or deleted since the watermark returned by the previous call;
+     * pass {@link BookingChangeSet#BEGINNING} to start with a snapshot.
+     */
+    BookingChangeSet<Booking> getChangesSince(long watermark);
+
+    /**
+     * {@link #getChangesSince} as summaries, for views that refresh often and show no details.
+     * Shares its watermarks with the full change feed.
+     */
+    BookingChangeSet<BookingSummary> getSummaryChangesSince(long watermark);
+
+    /**
+     * The watermark as of now, for a full read (such as {@link #streamBookings}) that is kept
+     * current with {@link #getChangesSince} afterwards. Take it before the read starts.
+     */
+    long getChangeWatermark();
+
+    /**
+     * Replaces the bookings flagged as overlapping another booking at their venue, such as those
+     * found by {@link ScheduleAudit}. Flags are separate from the status, which is not changed;
+     * ids of bookings that no longer exist are ignored.
+     */
+    void replaceConflictFlags(Collection<Integer> bookingIds);
+
+    /**
+     * Ids of the bookings currently flagged by {@link #replaceConflictFlags}.
+     */
+    Set<Integer> getConflictFlags();
+}
@@ -0,0 +1,10 @@
+package org.example.eliteevents.services;
+
+/**
+ * Sort orders supported by keyset booking pagination. Both order by (start_datetime, id)
+ * so the cursor always identifies a unique position.
+ */
+public enum BookingSort {
+    NEWEST_FIRST,
+    OLDEST_FIRST
+}
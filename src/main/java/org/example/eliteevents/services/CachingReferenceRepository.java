@@ -0,0 +1,202 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Client;
+import org.example.eliteevents.models.Vendor;
+import org.example.eliteevents.models.Venue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Caches the client, venue and vendor lists in front of another repository. Lists, forms and
+ * combo boxes read reference data constantly while it rarely changes, so reads are served from
+ * a {@link ReferenceCache} and every write through this class invalidates the affected list.
+ *
+ * Configured with {@code db.cache.ttlSeconds} (0 disables caching) and {@code db.cache.maxEntries}.
+ * Writes made by another process are picked up once the TTL expires.
+ */
+public class CachingReferenceRepository implements ClientRepository, VenueRepository, VendorRepository {
+    // One constant, so every query finds the index already built for the current list
+    private static final Function<List<Venue>, AmenityIndex> AMENITY_INDEX = AmenityIndex::of;
+
+    private final ClientRepository clients;
+    private final VenueRepository venues;
+    private final VendorRepository vendors;
+    private final ReferenceCache<Client> clientCache;
+    private final ReferenceCache<Venue> venueCache;
+    private final ReferenceCache<Vendor> vendorCache;
+
+    public CachingReferenceRepository(ClientRepository clients, VenueRepository venues, VendorRepository vendors,
+                                      long ttlMillis, int maxEntries) {
+        this.clients = clients;
+        this.venues = venues;
+        this.vendors = vendors;
+        this.clientCache = new ReferenceCache<>(ttlMillis, maxEntries, Entities::copy);
+        this.venueCache = new ReferenceCache<>(ttlMillis, maxEntries, Entities::copy);
+        this.vendorCache = new ReferenceCache<>(ttlMillis, maxEntries, Entities::copy);
+    }
+
+    public CachingReferenceRepository(ClientRepository clients, VenueRepository venues, VendorRepository vendors,
+                                      Properties props) {
+        this(clients, venues, vendors,
+                ConnectionPool.Config.longProperty(props, "db.cache.ttlSeconds", 300) * 1000,
+                ConnectionPool.Config.intProperty(props, "db.cache.maxEntries", 10_000));
+    }
+
+    // Client operations
+    public List<Client> getAllClients() {
+        return clientCache.get(clients::getAllClients);
+    }
+
+    public void addClient(Client client) {
+        try {
+            clients.addClient(client);
+        } finally {
+            clientCache.invalidate();
+        }
+    }
+
+    public void updateClient(Client client) {
+        try {
+            clients.updateClient(client);
+        } finally {
+            clientCache.invalidate();
+        }
+    }
+
+    public boolean deleteClient(int clientId) {
+        try {
+            return clients.deleteClient(clientId);
+        } finally {
+            clientCache.invalidate();
+        }
+    }
+
+    public BatchResult<Client> addClients(List<Client> items) {
+        try {
+            return clients.addClients(items);
+        } finally {
+            clientCache.invalidate();
+        }
+    }
+
+    public BatchResult<Client> updateClients(List<Client> items) {
+        try {
+            return clients.updateClients(items);
+        } finally {
+            clientCache.invalidate();
+        }
+    }
+
+    // Venue operations
+    public List<Venue> getAllVenues() {
+        return venueCache.get(venues::getAllVenues);
+    }
+
+    public void addVenue(Venue venue) {
+        try {
+            venues.addVenue(venue);
+        } finally {
+            venueCache.invalidate();
+        }
+    }
+
+    public void updateVenue(Venue venue) {
+        try {
+            venues.updateVenue(venue);
+        } finally {
+            venueCache.invalidate();
+        }
+    }
+
+    public boolean deleteVenue(int venueId) {
+        try {
+            return venues.deleteVenue(venueId);
+        } finally {
+            venueCache.invalidate();
+        }
+    }
+
+    public BatchResult<Venue> addVenues(List<Venue> items) {
+        try {
+            return venues.addVenues(items);
+        } finally {
+            venueCache.invalidate();
+        }
+    }
+
+    public BatchResult<Venue> updateVenues(List<Venue> items) {
+        try {
+            return venues.updateVenues(items);
+        } finally {
+            venueCache.invalidate();
+        }
+    }
+
+    /**
+     * Answered from an amenity index built once per cached venue list.
+     */
+    public List<Venue> findVenues(Collection<String> requiredAmenities, int minCapacity) {
+        return venueCache.derive(venues::getAllVenues, AMENITY_INDEX).findVenues(requiredAmenities, minCapacity);
+    }
+
+    // Vendor operations
+    public List<Vendor> getAllVendors() {
+        return vendorCache.get(vendors::getAllVendors);
+    }
+
+    public void addVendor(Vendor vendor) {
+        try {
+            vendors.addVendor(vendor);
+        } finally {
+            vendorCache.invalidate();
+        }
+    }
+
+    public void updateVendor(Vendor vendor) {
+        try {
+            vendors.updateVendor(vendor);
+        } finally {
+            vendorCache.invalidate();
+        }
+    }
+
+    public boolean deleteVendor(int vendorId) {
+        try {
+            return vendors.deleteVendor(vendorId);
+        } finally {
+            vendorCache.invalidate();
+        }
+    }
+
+    public BatchResult<Vendor> addVendors(List<Vendor> items) {
+        try {
+            return vendors.addVendors(items);
+        } finally {
+            vendorCache.invalidate();
+        }
+    }
+
+    public BatchResult<Vendor> updateVendors(List<Vendor> items) {
+        try {
+            return vendors.updateVendors(items);
+        } finally {
+            vendorCache.invalidate();
+        }
+    }
+
+    /**
+     * Drops every cached list, e.g. after an import done outside this repository.
+     */
+    public void invalidateAll() {
+        clientCache.invalidate();
+        venueCache.invalidate();
+        vendorCache.invalidate();
+    }
+
+    public ReferenceCache.Stats getClientCacheStats() { return clientCache.getStats(); }
+    public ReferenceCache.Stats getVenueCacheStats() { return venueCache.getStats(); }
+    public ReferenceCache.Stats getVendorCacheStats() { return vendorCache.getStats(); }
+}
@@ -0,0 +1,23 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Client;
+
+import java.util.List;
+
+/**
+ * Storage for clients. Implemented by {@link DatabaseService} (MySQL) and
+ * {@link InMemoryRepository}; obtain the configured one from {@link Repositories#clients()}.
+ */
+public interface ClientRepository {
+    List<Client> getAllClients();
+
+    void addClient(Client client);
+
+    void updateClient(Client client);
+
+    boolean deleteClient(int clientId);
+
+    BatchResult<Client> addClients(List<Client> clients);
+
+    BatchResult<Client> updateClients(List<Client> clients);
+}
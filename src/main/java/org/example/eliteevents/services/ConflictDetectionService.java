@@ -4,129 +4,215 @@ import org.example.eliteevents.models.Booking;
 import org.example.eliteevents.models.Venue;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Overlap checks and free time for venues. Conflict checks ask the repository, which sees
+ * every write; free time is answered from a {@link ConflictIndex}, and daily free slots from
+ * the {@link AvailabilityGrid} built on it.
+ */
 public class ConflictDetectionService {
-    private DatabaseService databaseService;
+    private static final long PRIVATE_INDEX_REFRESH_MS = 1000;
+    private static final int PRIVATE_GRID_HORIZON_DAYS = 90;
+
+    /**
+     * Statuses that take time out of {@link #getAvailableTimeSlots}.
+     */
+    public static final List<String> AVAILABLE_SLOT_STATUSES = List.of("CONFIRMED");
+
+    private final BookingRepository bookingRepository;
+    private final ConflictIndex conflictIndex;
+    private final AvailabilityGrid availabilityGrid;
 
     public ConflictDetectionService() {
-        this.databaseService = DatabaseService.getInstance();
+        this(Repositories.bookings(), Repositories.conflictIndex(), Repositories.availabilityGrid());
+    }
+
+    public ConflictDetectionService(BookingRepository bookingRepository) {
+        this(bookingRepository, new ConflictIndex(bookingRepository, PRIVATE_INDEX_REFRESH_MS));
+    }
+
+    public ConflictDetectionService(BookingRepository bookingRepository, ConflictIndex conflictIndex) {
+        this(bookingRepository, conflictIndex, new AvailabilityGrid(conflictIndex, AVAILABLE_SLOT_STATUSES,
+                PRIVATE_GRID_HORIZON_DAYS));
+    }
+
+    /**
+     * @param availabilityGrid grid over {@code conflictIndex} blocking on confirmed bookings
+     */
+    public ConflictDetectionService(BookingRepository bookingRepository, ConflictIndex conflictIndex,
+                                    AvailabilityGrid availabilityGrid) {
+        this.bookingRepository = bookingRepository;
+        this.conflictIndex = conflictIndex;
+        this.availabilityGrid = availabilityGrid;
     }
 
     /**
      * Check for booking conflicts for a specific venue and time period
      */
     public ConflictCheckResult checkBookingConflict(int venueId, LocalDateTime startTime, LocalDateTime endTime, Integer excludeBookingId) {
-        List<Booking> conflictingBookings = new ArrayList<>();
-        List<String> conflictReasons = new ArrayList<>();
-
         try {
-            List<Booking> allBookings = databaseService.getAllBookings();
-
-            for (Booking existingBooking : allBookings) {
-                // Skip the booking we're updating (if provided)
-                if (excludeBookingId != null && existingBooking.getId() == excludeBookingId) {
-                    continue;
-                }
-
-                // Check if it's the same venue
-                if (existingBooking.getVenue().getId() == venueId) {
-                    // Check for time overlap
-                    if (hasTimeOverlap(existingBooking.getStartDateTime(), existingBooking.getEndDateTime(), startTime, endTime)) {
-                        conflictingBookings.add(existingBooking);
-
-                        String conflictReason = String.format(
-                                "Venue already booked for %s from %s to %s",
-                                existingBooking.getEventType(),
-                                existingBooking.getStartDateTime().format(java.time.format.DateTimeFormatter.ofPattern("MMM d, h:mm a")),
-                                existingBooking.getEndDateTime().format(java.time.format.DateTimeFormatter.ofPattern("h:mm a"))
-                        );
-                        conflictReasons.add(conflictReason);
-                    }
-                }
-            }
+            // Not the index: it trails the database by up to its refresh interval and never
+            // holds inserts still queued by write-behind, so it cannot clear a save
+            return describeConflicts(bookingRepository.findOverlapping(venueId, startTime, endTime, excludeBookingId));
 
         } catch (Exception e) {
             System.err.println("Error checking booking conflicts: " + e.getMessage());
             e.printStackTrace();
         }
 
-        return new ConflictCheckResult(conflictingBookings, conflictReasons);
+        return new ConflictCheckResult(new ArrayList<>(), new ArrayList<>());
     }
 
     /**
-     * Check if two time periods overlap
+     * Build the user-facing result for bookings already known to overlap, e.g. from a
+     * {@link BookingConflictException} thrown by a reservation
      */
-    private boolean hasTimeOverlap(LocalDateTime start1, LocalDateTime end1, LocalDateTime start2, LocalDateTime end2) {
-        return !(end1.isBefore(start2) || end2.isBefore(start1));
+    public ConflictCheckResult describeConflicts(List<Booking> overlapping) {
+        List<Booking> conflictingBookings = new ArrayList<>();
+        List<String> conflictReasons = new ArrayList<>();
+
+        for (Booking existingBooking : overlapping) {
+            conflictingBookings.add(existingBooking);
+            conflictReasons.add(describeConflict(existingBooking));
+        }
+
+        return new ConflictCheckResult(conflictingBookings, conflictReasons);
+    }
+
+    private static String describeConflict(Booking existingBooking) {
+        return String.format(
+                "Venue already booked for %s from %s to %s",
+                existingBooking.getEventType(),
+                existingBooking.getStartDateTime().format(java.time.format.DateTimeFormatter.ofPattern("MMM d, h:mm a")),
+                existingBooking.getEndDateTime().format(java.time.format.DateTimeFormatter.ofPattern("h:mm a"))
+        );
     }
 
     /**
-     * Get available time slots for a venue on a specific date
+     * Checks many proposed bookings at once, e.g. before an import. Candidates are compared with
+     * the stored bookings at their venue and with each other, one sweep per venue, and the
+     * stored bookings are loaded with one query per venue. A candidate with the id of a stored
+     * booking replaces it, as with {@code excludeBookingId}. Returns one result per candidate,
+     * in iteration order; candidates without a venue or times get an empty result.
      */
-    public List<TimeSlot> getAvailableTimeSlots(int venueId, java.time.LocalDate date) {
-        List<TimeSlot> availableSlots = new ArrayList<>();
+    public List<ConflictCheckResult> checkConflicts(Collection<Booking> candidates) {
+        List<Booking> ordered = new ArrayList<>(candidates);
+        Map<Booking, List<Booking>> conflicts = new IdentityHashMap<>();
+        Map<Integer, List<Booking>> byVenue = new HashMap<>();
+        for (Booking candidate : ordered) {
+            conflicts.put(candidate, new ArrayList<>());
+            if (candidate.getVenue() != null && candidate.getStartDateTime() != null && candidate.getEndDateTime() != null) {
+                byVenue.computeIfAbsent(candidate.getVenue().getId(), id -> new ArrayList<>()).add(candidate);
+            }
+        }
 
-        try {
-            List<Booking> venueBookings = getBookingsForVenueOnDate(venueId, date);
+        for (Map.Entry<Integer, List<Booking>> venue : byVenue.entrySet()) {
+            List<Booking> venueCandidates = venue.getValue();
+            LocalDateTime from = venueCandidates.get(0).getStartDateTime();
+            LocalDateTime to = venueCandidates.get(0).getEndDateTime();
+            Set<Integer> replacedIds = new HashSet<>();
+            for (Booking candidate : venueCandidates) {
+                from = candidate.getStartDateTime().isBefore(from) ? candidate.getStartDateTime() : from;
+                to = candidate.getEndDateTime().isAfter(to) ? candidate.getEndDateTime() : to;
+                if (candidate.getId() > 0) {
+                    replacedIds.add(candidate.getId());
+                }
+            }
 
-            // Define business hours (9 AM to 9 PM)
-            LocalDateTime dayStart = date.atTime(9, 0);
-            LocalDateTime dayEnd = date.atTime(21, 0);
+            List<Booking> ranges = new ArrayList<>(venueCandidates);
+            for (Booking existing : bookingRepository.findOverlapping(venue.getKey(), from, to, null)) {
+                if (!replacedIds.contains(existing.getId())) {
+                    ranges.add(existing);
+                }
+            }
 
-            // Start with the entire day as available
-            availableSlots.add(new TimeSlot(dayStart, dayEnd));
+            OverlapSweep.run(ranges, booking -> epochSecond(booking.getStartDateTime()),
+                    booking -> epochSecond(booking.getEndDateTime()), (earlier, later) -> {
+                        List<Booking> earlierConflicts = conflicts.get(earlier);
+                        List<Booking> laterConflicts = conflicts.get(later);
+                        if (earlierConflicts != null) {
+                            earlierConflicts.add(later);
+                        }
+                        if (laterConflicts != null) {
+                            laterConflicts.add(earlier);
+                        }
+                    });
+        }
 
-            // Remove booked slots
-            for (Booking booking : venueBookings) {
-                availableSlots = removeBookedTimeFromSlots(availableSlots, booking.getStartDateTime(), booking.getEndDateTime());
+        List<ConflictCheckResult> results = new ArrayList<>(ordered.size());
+        for (Booking candidate : ordered) {
+            List<Booking> overlapping = conflicts.get(candidate);
+            overlapping.sort(Comparator.comparing(Booking::getStartDateTime));
+            List<String> reasons = new ArrayList<>();
+            for (Booking other : overlapping) {
+                reasons.add(conflicts.containsKey(other) ? describeBatchConflict(other) : describeConflict(other));
             }
-
-        } catch (Exception e) {
-            System.err.println("Error getting available time slots: " + e.getMessage());
-            e.printStackTrace();
+            results.add(new ConflictCheckResult(overlapping, reasons));
         }
+        return results;
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
 
-        return availableSlots;
+    private static String describeBatchConflict(Booking other) {
+        return String.format(
+                "Overlaps %s from %s to %s in the same batch",
+                other.getEventType(),
+                other.getStartDateTime().format(java.time.format.DateTimeFormatter.ofPattern("MMM d, h:mm a")),
+                other.getEndDateTime().format(java.time.format.DateTimeFormatter.ofPattern("h:mm a"))
+        );
     }
 
-    private List<Booking> getBookingsForVenueOnDate(int venueId, java.time.LocalDate date) {
-        List<Booking> result = new ArrayList<>();
+    /**
+     * Get available time slots for a venue on a specific date, in whole quarter hours
+     */
+    public List<TimeSlot> getAvailableTimeSlots(int venueId, java.time.LocalDate date) {
         try {
-            List<Booking> allBookings = databaseService.getAllBookings();
-            for (Booking booking : allBookings) {
-                if (booking.getVenue().getId() == venueId &&
-                        booking.getStartDateTime().toLocalDate().equals(date) &&
-                        "CONFIRMED".equals(booking.getStatus())) {
-                    result.add(booking);
-                }
-            }
+            // Define business hours (9 AM to 9 PM)
+            return availabilityGrid.getFreeSlots(venueId, date, LocalTime.of(9, 0), LocalTime.of(21, 0));
+
         } catch (Exception e) {
+            System.err.println("Error getting available time slots: " + e.getMessage());
             e.printStackTrace();
         }
-        return result;
-    }
 
-    private List<TimeSlot> removeBookedTimeFromSlots(List<TimeSlot> availableSlots, LocalDateTime bookedStart, LocalDateTime bookedEnd) {
-        List<TimeSlot> updatedSlots = new ArrayList<>();
+        return new ArrayList<>();
+    }
 
-        for (TimeSlot slot : availableSlots) {
-            if (slot.getEnd().isBefore(bookedStart) || slot.getStart().isAfter(bookedEnd)) {
-                // No overlap, keep the slot
-                updatedSlots.add(slot);
-            } else {
-                // There's overlap, split the slot
-                if (slot.getStart().isBefore(bookedStart)) {
-                    updatedSlots.add(new TimeSlot(slot.getStart(), bookedStart));
-                }
-                if (slot.getEnd().isAfter(bookedEnd)) {
-                    updatedSlots.add(new TimeSlot(bookedEnd, slot.getEnd()));
-                }
+    /**
+     * Ranges within [from, to] clear of the venue's bookings with the given statuses (any status
+     * when null), in order. Like {@code reserve}, a booking that only touches counts as a
+     * conflict, so a range starts a minute after one booking ends and stops a minute before the
+     * next starts. Answered from the index alone.
+     */
+    public List<TimeSlot> getFreeIntervals(int venueId, LocalDateTime from, LocalDateTime to, Collection<String> blockingStatuses) {
+        boolean filterStatus = blockingStatuses != null && !blockingStatuses.isEmpty();
+        List<TimeSlot> freeIntervals = new ArrayList<>();
+
+        // Bookings come back in start order, so the gaps are found in one pass
+        LocalDateTime free = from;
+        for (ConflictIndex.Interval booked : conflictIndex.findOverlapping(venueId, from, to, null)) {
+            if (filterStatus && !blockingStatuses.contains(booked.getStatus())) {
+                continue;
+            }
+            LocalDateTime lastFree = booked.getStart().minusMinutes(1);
+            if (lastFree.isAfter(free)) {
+                freeIntervals.add(new TimeSlot(free, lastFree));
+            }
+            LocalDateTime nextFree = booked.getEnd().plusMinutes(1);
+            if (nextFree.isAfter(free)) {
+                free = nextFree;
             }
         }
-
-        return updatedSlots;
+        if (free.isBefore(to)) {
+            freeIntervals.add(new TimeSlot(free, to));
+        }
+        return freeIntervals;
     }
 
     /**
@@ -137,6 +223,14 @@ public class ConflictDetectionService {
         return result.getConflictingBookings().isEmpty();
     }
 
+    public ConflictIndex getConflictIndex() {
+        return conflictIndex;
+    }
+
+    public AvailabilityGrid getAvailabilityGrid() {
+        return availabilityGrid;
+    }
+
     // Data classes for conflict detection results
     public static class ConflictCheckResult {
         private final List<Booking> conflictingBookings;
@@ -0,0 +1,388 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.BookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of booking time ranges, one augmented interval tree per venue, for overlap
+ * queries in O(log n + k) without a database round trip.
+ *
+ * Ranges are stored as epoch minutes (see {@link BookingColumns#toMinute}), rounded down, so
+ * a query can report a booking that misses by seconds but never misses a real overlap. The
+ * index follows {@link BookingRepository#getSummaryChangesSince}: the first query loads a
+ * snapshot and later ones apply the changes made since, at most once per refresh interval.
+ * Bookings written in between may not be seen yet; {@link BookingRepository#reserve} remains
+ * the authoritative check.
+ */
+public class ConflictIndex {
+    private final BookingRepository repository;
+    private final long refreshIntervalMs;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, IntervalTree> treesByVenue = new HashMap<>();
+    private final Map<Integer, Interval> intervalsById = new HashMap<>();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Serializes refreshes, so change sets are applied in order
+    private final Object refreshLock = new Object();
+    private long watermark = BookingChangeSet.BEGINNING;
+    private volatile long refreshedAt;
+    private volatile boolean loaded;
+
+    public ConflictIndex(BookingRepository repository, long refreshIntervalMs) {
+        this.repository = repository;
+        this.refreshIntervalMs = Math.max(0, refreshIntervalMs);
+    }
+
+    /**
+     * Applies the bookings changed since the last refresh. Returns the number of changes.
+     */
+    public int refresh() {
+        synchronized (refreshLock) {
+            BookingChangeSet<BookingSummary> changes = repository.getSummaryChangesSince(watermark);
+
+            lock.writeLock().lock();
+            try {
+                if (changes.isSnapshot()) {
+                    treesByVenue.clear();
+                    intervalsById.clear();
+                    listeners.forEach(ChangeListener::cleared);
+                }
+                for (BookingSummary booking : changes.getUpserted()) {
+                    remove(booking.getId());
+                    add(new Interval(booking.getId(), booking.getVenueId(),
+                            BookingColumns.toMinute(booking.getStartDateTime()),
+                            BookingColumns.toMinute(booking.getEndDateTime()), booking.getStatus()));
+                }
+                for (Integer id : changes.getDeletedIds()) {
+                    remove(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            watermark = changes.getWatermark();
+            refreshedAt = System.currentTimeMillis();
+            loaded = true;
+            return changes.getUpserted().size() + changes.getDeletedIds().size();
+        }
+    }
+
+    /**
+     * True if a booking at the venue overlaps [start, end], touching ranges included.
+     */
+    public boolean hasOverlap(int venueId, LocalDateTime start, LocalDateTime end, Integer excludeBookingId) {
+        boolean[] found = new boolean[1];
+        visit(venueId, BookingColumns.toMinute(start), BookingColumns.toMinute(end), interval -> {
+            if (excludeBookingId != null && interval.bookingId == excludeBookingId) {
+                return true;
+            }
+            found[0] = true;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Bookings at the venue overlapping [start, end], touching ranges included, by start time.
+     */
+    public List<Interval> findOverlapping(int venueId, LocalDateTime start, LocalDateTime end, Integer excludeBookingId) {
+        List<Interval> result = new ArrayList<>();
+        visit(venueId, BookingColumns.toMinute(start), BookingColumns.toMinute(end), interval -> {
+            if (excludeBookingId == null || interval.bookingId != excludeBookingId) {
+                result.add(interval);
+            }
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * Bookings at the venue intersecting [from, to), optionally limited to the given statuses,
+     * by start time.
+     */
+    public List<Interval> findBetween(int venueId, LocalDateTime from, LocalDateTime to, Collection<String> statuses) {
+        boolean filterStatus = statuses != null && !statuses.isEmpty();
+        List<Interval> result = new ArrayList<>();
+        int fromMinute = BookingColumns.toMinute(from);
+        int toMinute = BookingColumns.toMinute(to);
+        visit(venueId, fromMinute, toMinute, interval -> {
+            if (interval.startMinute < toMinute && interval.endMinute > fromMinute
+                    && (!filterStatus || statuses.contains(interval.status))) {
+                result.add(interval);
+            }
+            return true;
+        });
+        return result;
+    }
+
+    public int size() {
+        refreshIfDue();
+        lock.readLock().lock();
+        try {
+            return intervalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registers a listener told about every range added or removed from now on. Listeners are
+     * called while the index is locked for writing, so they must not query it.
+     */
+    void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    // Calls the visitor for each interval intersecting [fromMinute, toMinute] until it returns false
+    private void visit(int venueId, int fromMinute, int toMinute, Predicate<Interval> visitor) {
+        refreshIfDue();
+        lock.readLock().lock();
+        try {
+            IntervalTree tree = treesByVenue.get(venueId);
+            if (tree != null && fromMinute <= toMinute) {
+                tree.visit(fromMinute, toMinute, visitor);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void refreshIfDue() {
+        if (!loaded || System.currentTimeMillis() - refreshedAt >= refreshIntervalMs) {
+            refresh();
+        }
+    }
+
+    private void add(Interval interval) {
+        intervalsById.put(interval.bookingId, interval);
+        treesByVenue.computeIfAbsent(interval.venueId, id -> new IntervalTree()).insert(interval);
+        notifyChanged(interval);
+    }
+
+    private void notifyChanged(Interval interval) {
+        for (ChangeListener listener : listeners) {
+            listener.changed(interval.venueId, interval.startMinute, interval.endMinute);
+        }
+    }
+
+    private void remove(int bookingId) {
+        Interval existing = intervalsById.remove(bookingId);
+        if (existing != null) {
+            IntervalTree tree = treesByVenue.get(existing.venueId);
+            tree.delete(existing);
+            if (tree.isEmpty()) {
+                treesByVenue.remove(existing.venueId);
+            }
+            notifyChanged(existing);
+        }
+    }
+
+    /**
+     * Told which time ranges the index changed, e.g. to invalidate data derived from it.
+     */
+    interface ChangeListener {
+        /**
+         * A booking over [startMinute, endMinute] was added to or removed from the venue.
+         */
+        void changed(int venueId, int startMinute, int endMinute);
+
+        /**
+         * The index was reloaded from a snapshot; anything may have changed.
+         */
+        void cleared();
+    }
+
+    /**
+     * A booking's time range in epoch minutes.
+     */
+    public static final class Interval {
+        private final int bookingId;
+        private final int venueId;
+        private final int startMinute;
+        private final int endMinute;
+        private final String status;
+
+        Interval(int bookingId, int venueId, int startMinute, int endMinute, String status) {
+            this.bookingId = bookingId;
+            this.venueId = venueId;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+            this.status = status;
+        }
+
+        public int getBookingId() { return bookingId; }
+        public int getVenueId() { return venueId; }
+        public int getStartMinute() { return startMinute; }
+        public int getEndMinute() { return endMinute; }
+        public String getStatus() { return status; }
+        public LocalDateTime getStart() { return BookingColumns.fromMinute(startMinute); }
+        public LocalDateTime getEnd() { return BookingColumns.fromMinute(endMinute); }
+    }
+
+    /**
+     * Treap ordered by (start, booking id), each node also holding the largest end in its
+     * subtree so whole subtrees that end before a query can be skipped. Priorities are a hash
+     * of the booking id, which keeps the tree balanced in expectation.
+     */
+    static final class IntervalTree {
+        private Node root;
+
+        boolean isEmpty() {
+            return root == null;
+        }
+
+        void insert(Interval interval) {
+            root = insert(root, new Node(interval));
+        }
+
+        void delete(Interval interval) {
+            root = delete(root, interval);
+        }
+
+        /**
+         * Visits intervals intersecting [from, to] in start order until the visitor returns false.
+         */
+        boolean visit(int from, int to, Predicate<Interval> visitor) {
+            return visit(root, from, to, visitor);
+        }
+
+        private static boolean visit(Node node, int from, int to, Predicate<Interval> visitor) {
+            if (node == null || node.maxEnd < from) {
+                return true;
+            }
+            if (!visit(node.left, from, to, visitor)) {
+                return false;
+            }
+            if (node.interval.startMinute > to) {
+                return true; // everything to the right starts later still
+            }
+            if (node.interval.endMinute >= from && !visitor.test(node.interval)) {
+                return false;
+            }
+            return visit(node.right, from, to, visitor);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (compare(added.interval, node.interval) < 0) {
+                node.left = insert(node.left, added);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = insert(node.right, added);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            update(node);
+            return node;
+        }
+
+        private static Node delete(Node node, Interval interval) {
+            if (node == null) {
+                return null;
+            }
+            int order = compare(interval, node.interval);
+            if (order < 0) {
+                node.left = delete(node.left, interval);
+            } else if (order > 0) {
+                node.right = delete(node.right, interval);
+            } else {
+                return merge(node.left, node.right);
+            }
+            update(node);
+            return node;
+        }
+
+        // Joins two treaps where every key in left is below every key in right
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                update(left);
+                return left;
+            }
+            right.left = merge(left, right.left);
+            update(right);
+            return right;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static void update(Node node) {
+            int maxEnd = node.interval.endMinute;
+            if (node.left != null) {
+                maxEnd = Math.max(maxEnd, node.left.maxEnd);
+            }
+            if (node.right != null) {
+                maxEnd = Math.max(maxEnd, node.right.maxEnd);
+            }
+            node.maxEnd = maxEnd;
+        }
+
+        private static int compare(Interval a, Interval b) {
+            int order = Integer.compare(a.startMinute, b.startMinute);
+            return order != 0 ? order : Integer.compare(a.bookingId, b.bookingId);
+        }
+
+        private static final class Node {
+            private final Interval interval;
+            private final int priority;
+            private int maxEnd;
+            private Node left;
+            private Node right;
+
+            private Node(Interval interval) {
+                this.interval = interval;
+                this.priority = mix(interval.bookingId);
+                this.maxEnd = interval.endMinute;
+            }
+
+            // Murmur3 finalizer: spreads sequential ids into well-mixed priorities
+            private static int mix(int id) {
+                int h = id;
+                h ^= h >>> 16;
+                h *= 0x85ebca6b;
+                h ^= h >>> 13;
+                h *= 0xc2b2ae35;
+                h ^= h >>> 16;
+                return h;
+            }
+        }
+    }
+}
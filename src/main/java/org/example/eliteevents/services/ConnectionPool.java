@@ -0,0 +1,395 @@
+package org.example.eliteevents.services;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool used by {@link DatabaseService}.
+ *
+ * Callers borrow a connection with {@link #getConnection()} and return it by closing it
+ * (try-with-resources). Idle connections are validated before reuse, retired after their
+ * max lifetime, and connections held longer than the leak threshold are reported together
+ * with the stack trace of the code that borrowed them. Prepared statements are timed by a
+ * {@link SlowQueryLog} unless {@code db.slowQuery.thresholdMs} is negative.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final Config config;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> all = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final StatementCache.Stats statementCacheStats = new StatementCache.Stats();
+    private final ScheduledExecutorService housekeeper;
+    private final SlowQueryLog slowQueryLog;
+    private volatile boolean closed;
+
+    public ConnectionPool(Config config) {
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+
+        SlowQueryLog slowQueries = null;
+        if (config.slowQuery.isEnabled()) {
+            try {
+                slowQueries = new SlowQueryLog(config.slowQuery, this::getConnection);
+            } catch (IOException e) {
+                logger.warning("⚠️ Slow query log disabled: " + e.getMessage());
+            }
+        }
+        this.slowQueryLog = slowQueries;
+
+        fillToMinimum();
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                config.housekeepingIntervalMs, config.housekeepingIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("✅ Connection pool started (min=" + config.minSize + ", max=" + config.maxSize + ")");
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured acquisition timeout.
+     * Closing the returned connection hands it back to the pool.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(config.connectionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + config.connectionTimeoutMs +
+                        "ms waiting for a connection (active=" + getActiveCount() + ", max=" + config.maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            while (true) {
+                PooledConnection pooled = idle.pollFirst();
+                if (pooled == null) {
+                    pooled = createConnection();
+                } else if (!isUsable(pooled)) {
+                    discard(pooled);
+                    continue;
+                }
+                return pooled.borrow(config.leakDetectionThresholdMs > 0
+                        ? new Throwable("Connection borrowed by " + Thread.currentThread().getName())
+                        : null);
+            }
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getActiveCount() {
+        return all.size() - idle.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return all.size();
+    }
+
+    public StatementCache.Stats getStatementCacheStats() {
+        return statementCacheStats;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+        if (getActiveCount() > 0) {
+            logger.warning("⚠️ Connection pool closed with " + getActiveCount() + " connection(s) still in use");
+        }
+        if (slowQueryLog != null) {
+            slowQueryLog.close();
+        }
+        logger.info("✅ Connection pool closed");
+    }
+
+    private PooledConnection createConnection() throws SQLException {
+        Properties info = new Properties();
+        info.putAll(config.driverProperties);
+        info.setProperty("user", config.username);
+        info.setProperty("password", config.password);
+
+        PooledConnection pooled = new PooledConnection(DriverManager.getConnection(config.url, info));
+        all.add(pooled);
+        return pooled;
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (now - pooled.createdAt > config.maxLifetimeMs) {
+            return false;
+        }
+        try {
+            if (pooled.raw.isClosed()) {
+                return false;
+            }
+            if (now - pooled.lastReturnedAt > config.idleValidationMs) {
+                return pooled.raw.isValid(config.validationTimeoutSeconds);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        try {
+            if (closed || System.currentTimeMillis() - pooled.createdAt > config.maxLifetimeMs || pooled.raw.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!pooled.raw.getAutoCommit()) {
+                pooled.raw.rollback();
+                pooled.raw.setAutoCommit(true);
+            }
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            logger.warning("Discarding connection that failed to reset: " + e.getMessage());
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        all.remove(pooled);
+        if (pooled.statementCache != null) {
+            pooled.statementCache.closeAll();
+        }
+        try {
+            pooled.raw.close();
+        } catch (SQLException e) {
+            logger.fine("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && all.size() < config.minSize) {
+            try {
+                PooledConnection pooled = createConnection();
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idle.offerLast(pooled);
+            } catch (SQLException e) {
+                logger.warning("Could not open pooled connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Retire expired idle connections, keeping the pool at its minimum size
+            for (PooledConnection pooled : idle) {
+                if (now - pooled.createdAt > config.maxLifetimeMs && idle.remove(pooled)) {
+                    discard(pooled);
+                }
+            }
+            fillToMinimum();
+
+            // Leak detection
+            if (config.leakDetectionThresholdMs > 0) {
+                for (PooledConnection pooled : all) {
+                    Throwable borrowTrace = pooled.borrowTrace;
+                    if (borrowTrace != null && !pooled.leakReported
+                            && now - pooled.borrowedAt > config.leakDetectionThresholdMs) {
+                        pooled.leakReported = true;
+                        logger.log(Level.WARNING, "⚠️ Possible connection leak: connection held for " +
+                                (now - pooled.borrowedAt) + "ms", borrowTrace);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warning("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A physical connection and its statement cache. Each borrow hands out a new {@link Lease},
+     * so a caller holding on to a connection after closing it cannot reach the next borrower's.
+     */
+    private final class PooledConnection {
+        private final Connection raw;
+        private final StatementCache statementCache;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastReturnedAt;
+        private volatile long borrowedAt;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection raw) {
+            this.raw = raw;
+            this.statementCache = config.statementCacheSize > 0
+                    ? new StatementCache(config.statementCacheSize, statementCacheStats)
+                    : null;
+        }
+
+        private Connection borrow(Throwable trace) {
+            borrowedAt = System.currentTimeMillis();
+            borrowTrace = trace;
+            leakReported = false;
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, new Lease(this));
+        }
+    }
+
+    /**
+     * The connection handed to one borrower. Closing it returns the physical connection to the
+     * pool; after that every call except {@code close} and {@code isClosed} fails. Plain
+     * {@code prepareStatement(sql)} and {@code prepareStatement(sql, autoGeneratedKeys)} calls
+     * are served from the connection's statement cache, except those from the slow query log's
+     * EXPLAIN thread.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final AtomicBoolean open = new AtomicBoolean(true);
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (open.compareAndSet(true, false)) {
+                        pooled.borrowTrace = null;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return !open.get() || pooled.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pooled.raw + (open.get() ? "]" : ", closed]");
+                default:
+                    break;
+            }
+            if (!open.get()) {
+                throw new SQLException("connection closed");
+            }
+            try {
+                if (!method.getName().equals("prepareStatement")) {
+                    return method.invoke(pooled.raw, args);
+                }
+                if (slowQueryLog != null && slowQueryLog.isLogThread()) {
+                    return method.invoke(pooled.raw, args);
+                }
+                PreparedStatement statement;
+                if (pooled.statementCache != null && isCacheable(method)) {
+                    int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                    statement = pooled.statementCache.prepare(pooled.raw, (String) args[0], autoGeneratedKeys);
+                } else {
+                    statement = (PreparedStatement) method.invoke(pooled.raw, args);
+                }
+                return slowQueryLog != null ? slowQueryLog.watch(statement, (String) args[0]) : statement;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static boolean isCacheable(Method prepareStatement) {
+        Class<?>[] types = prepareStatement.getParameterTypes();
+        return types.length == 1 || (types.length == 2 && types[1] == int.class);
+    }
+
+    /**
+     * Pool settings, read from the {@code db.*} keys in {@code config/database.properties}.
+     */
+    public static class Config {
+        private final String url;
+        private final String username;
+        private final String password;
+        private final int minSize;
+        private final int maxSize;
+        private final long connectionTimeoutMs;
+        private final long idleValidationMs;
+        private final int validationTimeoutSeconds;
+        private final long maxLifetimeMs;
+        private final long leakDetectionThresholdMs;
+        private final long housekeepingIntervalMs;
+        private final int statementCacheSize;
+        private final SlowQueryLog.Settings slowQuery;
+        private final Properties driverProperties = new Properties();
+
+        public Config(Properties props) {
+            this.url = props.getProperty("db.url");
+            this.username = props.getProperty("db.username");
+            this.password = props.getProperty("db.password");
+            this.maxSize = Math.max(1, intProperty(props, "db.pool.maxSize", 10));
+            this.minSize = Math.min(maxSize, Math.max(0, intProperty(props, "db.pool.minSize", 2)));
+            this.connectionTimeoutMs = longProperty(props, "db.pool.connectionTimeoutMs", 30_000);
+            this.idleValidationMs = longProperty(props, "db.pool.idleValidationMs", 30_000);
+            this.validationTimeoutSeconds = intProperty(props, "db.pool.validationTimeoutSeconds", 2);
+            this.maxLifetimeMs = longProperty(props, "db.pool.maxLifetimeMs", 1_800_000);
+            this.leakDetectionThresholdMs = longProperty(props, "db.pool.leakDetectionThresholdMs", 60_000);
+            this.housekeepingIntervalMs = Math.max(1_000, longProperty(props, "db.pool.housekeepingIntervalMs", 30_000));
+            this.statementCacheSize = intProperty(props, "db.pool.statementCacheSize", 64);
+            this.slowQuery = new SlowQueryLog.Settings(props);
+
+            // db.driver.<name>=<value> is passed straight to the JDBC driver
+            for (String key : props.stringPropertyNames()) {
+                if (key.startsWith("db.driver.")) {
+                    driverProperties.setProperty(key.substring("db.driver.".length()), props.getProperty(key));
+                }
+            }
+        }
+
+        public int getMinSize() { return minSize; }
+        public int getMaxSize() { return maxSize; }
+
+        static int intProperty(Properties props, String key, int defaultValue) {
+            String value = props.getProperty(key);
+            return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+        }
+
+        static long longProperty(Properties props, String key, long defaultValue) {
+            String value = props.getProperty(key);
+            return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package org.example.eliteevents.services;
 
 import org.example.eliteevents.models.*;
+import java.io.InputStream;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 
-public class DatabaseService {
-    private static DatabaseService instance;
-    private Connection connection;
+public class DatabaseService implements BookingRepository, ClientRepository, VenueRepository, VendorRepository {
+    private static volatile DatabaseService instance;
+    private ConnectionPool pool;
+    private int batchChunkSize;
+    private int streamFetchSize;
+    private boolean identityMapEnabled;
+    private long changeFeedLookbackMicros;
+    private int tombstoneRetentionDays;
+    private volatile long lastTombstonePurgeMillis;
     private static final Logger logger = Logger.getLogger(DatabaseService.class.getName());
 
     private DatabaseService() {
@@ -16,36 +26,134 @@ public class DatabaseService {
     }
 
     public static DatabaseService getInstance() {
-        if (instance == null) {
-            instance = new DatabaseService();
+        DatabaseService result = instance;
+        if (result == null) {
+            synchronized (DatabaseService.class) {
+                result = instance;
+                if (result == null) {
+                    instance = result = new DatabaseService();
+                }
+            }
+        }
+        return result;
+    }
+
+    static Properties loadProperties() {
+        Properties props = new Properties();
+        try (InputStream in = DatabaseService.class.getResourceAsStream("/config/database.properties")) {
+            props.load(in);
+        } catch (Exception e) {
+            throw new RuntimeException("Cannot read database configuration", e);
         }
-        return instance;
+        return props;
     }
 
     private void connect() {
         try {
-            Properties props = new Properties();
-            props.load(getClass().getResourceAsStream("/config/database.properties"));
-
-            String url = props.getProperty("db.url");
-            String username = props.getProperty("db.username");
-            String password = props.getProperty("db.password");
+            Properties props = loadProperties();
+
+            pool = new ConnectionPool(new ConnectionPool.Config(props));
+            batchChunkSize = Math.max(1, Integer.parseInt(props.getProperty("db.batch.chunkSize", "500").trim()));
+            streamFetchSize = Integer.parseInt(props.getProperty("db.stream.fetchSize", "1000").trim());
+            identityMapEnabled = Boolean.parseBoolean(props.getProperty("db.identityMap", "true").trim());
+            changeFeedLookbackMicros = Long.parseLong(props.getProperty("db.changeFeed.lookbackMs", "5000").trim()) * 1000;
+            tombstoneRetentionDays = Math.max(1, Integer.parseInt(props.getProperty("db.changeFeed.tombstoneRetentionDays", "30").trim()));
+
+            // Fail fast if the database is unreachable
+            try (Connection connection = pool.getConnection()) {
+                logger.info("✅ Connected to MySQL database");
+            }
 
-            connection = DriverManager.getConnection(url, username, password);
-            logger.info("✅ Connected to MySQL database");
+            if (Boolean.parseBoolean(props.getProperty("db.migrate.onStartup", "true"))) {
+                new MigrationRunner(pool).migrate();
+            }
 
         } catch (Exception e) {
             logger.severe("❌ Database connection failed: " + e.getMessage());
+            if (pool != null) {
+                pool.close();
+            }
             throw new RuntimeException("Cannot connect to database", e);
         }
     }
 
+    // SQL and parameter binding shared by the single-row and batch write methods
+    private static final String INSERT_BOOKING_SQL = "INSERT INTO bookings (client_id, venue_id, event_type, start_datetime, end_datetime, " +
+            "guest_count, catering_required, vendor_id, budget, notes, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_BOOKING_SQL = "UPDATE bookings SET client_id = ?, venue_id = ?, event_type = ?, " +
+            "start_datetime = ?, end_datetime = ?, guest_count = ?, catering_required = ?, " +
+            "vendor_id = ?, budget = ?, notes = ?, status = ?, version = version + 1 WHERE id = ? AND version = ?";
+    private static final String INSERT_CLIENT_SQL = "INSERT INTO clients (name, email, phone, company) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_CLIENT_SQL = "UPDATE clients SET name = ?, email = ?, phone = ?, company = ? WHERE id = ?";
+    private static final String INSERT_VENUE_SQL = "INSERT INTO venues (name, address, capacity, price_per_hour) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_VENUE_SQL = "UPDATE venues SET name = ?, address = ?, capacity = ?, price_per_hour = ? WHERE id = ?";
+    private static final String INSERT_VENDOR_SQL = "INSERT INTO vendors (name, category, email, phone) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_VENDOR_SQL = "UPDATE vendors SET name = ?, category = ?, email = ?, phone = ? WHERE id = ?";
+
+    private static final ParameterBinder<Booking> BOOKING_INSERT_BINDER = (stmt, booking) -> {
+        stmt.setInt(1, booking.getClient().getId());
+        stmt.setInt(2, booking.getVenue().getId());
+        stmt.setString(3, booking.getEventType());
+        stmt.setTimestamp(4, Timestamp.valueOf(booking.getStartDateTime()));
+        stmt.setTimestamp(5, Timestamp.valueOf(booking.getEndDateTime()));
+        stmt.setInt(6, booking.getGuestCount());
+        stmt.setBoolean(7, booking.isCateringRequired());
+        stmt.setObject(8, booking.getVendor() != null ? booking.getVendor().getId() : null);
+        stmt.setDouble(9, booking.getBudget());
+        stmt.setString(10, booking.getNotes());
+        stmt.setString(11, booking.getStatus());
+    };
+
+    private static final ParameterBinder<Booking> BOOKING_UPDATE_BINDER = (stmt, booking) -> {
+        BOOKING_INSERT_BINDER.bind(stmt, booking);
+        stmt.setInt(12, booking.getId());
+        stmt.setInt(13, booking.getVersion());
+    };
+
+    private static final ParameterBinder<Client> CLIENT_INSERT_BINDER = (stmt, client) -> {
+        stmt.setString(1, client.getName());
+        stmt.setString(2, client.getEmail());
+        stmt.setString(3, client.getPhone());
+        stmt.setString(4, client.getCompany());
+    };
+
+    private static final ParameterBinder<Client> CLIENT_UPDATE_BINDER = (stmt, client) -> {
+        CLIENT_INSERT_BINDER.bind(stmt, client);
+        stmt.setInt(5, client.getId());
+    };
+
+    private static final ParameterBinder<Venue> VENUE_INSERT_BINDER = (stmt, venue) -> {
+        stmt.setString(1, venue.getName());
+        stmt.setString(2, venue.getAddress());
+        stmt.setInt(3, venue.getCapacity());
+        stmt.setDouble(4, venue.getPricePerHour());
+    };
+
+    private static final ParameterBinder<Venue> VENUE_UPDATE_BINDER = (stmt, venue) -> {
+        VENUE_INSERT_BINDER.bind(stmt, venue);
+        stmt.setInt(5, venue.getId());
+    };
+
+    private static final ParameterBinder<Vendor> VENDOR_INSERT_BINDER = (stmt, vendor) -> {
+        stmt.setString(1, vendor.getName());
+        stmt.setString(2, vendor.getCategory());
+        stmt.setString(3, vendor.getEmail());
+        stmt.setString(4, vendor.getPhone());
+    };
+
+    private static final ParameterBinder<Vendor> VENDOR_UPDATE_BINDER = (stmt, vendor) -> {
+        VENDOR_INSERT_BINDER.bind(stmt, vendor);
+        stmt.setInt(5, vendor.getId());
+    };
+
     // Client operations
     public List<Client> getAllClients() {
         List<Client> clients = new ArrayList<>();
         String sql = "SELECT * FROM clients ORDER BY name";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
@@ -68,43 +176,137 @@ public class DatabaseService {
 
     // Venue operations
     public List<Venue> getAllVenues() {
-        List<Venue> venues = new ArrayList<>();
-        String sql = "SELECT * FROM venues ORDER BY name";
+        try (Connection connection = pool.getConnection()) {
+            return queryVenues(connection, "", List.of());
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+        } catch (SQLException e) {
+            logger.severe("Error fetching venues: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch venues", e);
+        }
+    }
 
-            while (rs.next()) {
-                Venue venue = new Venue();
-                venue.setId(rs.getInt("id"));
-                venue.setName(rs.getString("name"));
-                venue.setAddress(rs.getString("address"));
-                venue.setCapacity(rs.getInt("capacity"));
-                venue.setPricePerHour(rs.getDouble("price_per_hour"));
-
-                // Parse amenities
-                String amenitiesStr = rs.getString("amenities");
-                if (amenitiesStr != null && !amenitiesStr.isEmpty()) {
-                    venue.setAmenities(Arrays.asList(amenitiesStr.split(",")));
-                }
+    /**
+     * Answered with a join on venue_amenities; the cached repository uses an in-memory
+     * {@link AmenityIndex} instead.
+     */
+    public List<Venue> findVenues(Collection<String> requiredAmenities, int minCapacity) {
+        List<String> names = AmenityIndex.normalize(requiredAmenities);
+        List<Object> params = new ArrayList<>();
+        StringBuilder where = new StringBuilder("WHERE v.capacity >= ? ");
+        params.add(minCapacity);
+        if (!names.isEmpty()) {
+            where.append("AND v.id IN (SELECT va.venue_id FROM venue_amenities va ")
+                    .append("JOIN amenities a ON a.id = va.amenity_id WHERE a.name IN (")
+                    .append(String.join(", ", Collections.nCopies(names.size(), "?")))
+                    .append(") GROUP BY va.venue_id HAVING COUNT(*) = ?) ");
+            params.addAll(names);
+            params.add(names.size());
+        }
 
-                venues.add(venue);
-            }
+        try (Connection connection = pool.getConnection()) {
+            List<Venue> venues = queryVenues(connection, where.toString(), params);
+            venues.sort(Comparator.comparingInt(Venue::getCapacity).reversed().thenComparingInt(Venue::getId));
+            return venues;
 
         } catch (SQLException e) {
-            logger.severe("Error fetching venues: " + e.getMessage());
-            throw new RuntimeException("Failed to fetch venues", e);
+            logger.severe("Error searching venues: " + e.getMessage());
+            throw new RuntimeException("Failed to search venues", e);
+        }
+    }
+
+    // Venues matching the WHERE clause (on alias v), with their amenities from a second query
+    private List<Venue> queryVenues(Connection connection, String where, List<Object> params) throws SQLException {
+        List<Venue> venues = new ArrayList<>();
+        Map<Integer, Venue> byId = new HashMap<>();
+
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT v.* FROM venues v " + where + "ORDER BY v.name")) {
+            bindAll(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Venue venue = new Venue();
+                    venue.setId(rs.getInt("id"));
+                    venue.setName(rs.getString("name"));
+                    venue.setAddress(rs.getString("address"));
+                    venue.setCapacity(rs.getInt("capacity"));
+                    venue.setPricePerHour(rs.getDouble("price_per_hour"));
+                    venues.add(venue);
+                    byId.put(venue.getId(), venue);
+                }
+            }
+        }
+
+        if (venues.isEmpty()) {
+            return venues;
         }
 
+        // Amenity names are shared, one String per amenity
+        String sql = "SELECT va.venue_id, a.id, a.name FROM venue_amenities va " +
+                "JOIN amenities a ON a.id = va.amenity_id " +
+                "JOIN venues v ON v.id = va.venue_id " + where + "ORDER BY va.venue_id, a.id";
+        Map<Integer, String> names = new HashMap<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            bindAll(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Venue venue = byId.get(rs.getInt("venue_id"));
+                    if (venue != null) {
+                        int amenityId = rs.getInt("id");
+                        String name = names.get(amenityId);
+                        if (name == null) {
+                            name = rs.getString("name");
+                            names.put(amenityId, name);
+                        }
+                        venue.getAmenities().add(name);
+                    }
+                }
+            }
+        }
         return venues;
     }
 
+    private static void bindAll(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    /**
+     * Replaces the venues' amenity links, adding any new names to the amenities dictionary.
+     * Runs in the caller's transaction.
+     */
+    private static void saveAmenities(Connection connection, List<Venue> venues) throws SQLException {
+        try (PreparedStatement intern = connection.prepareStatement("INSERT IGNORE INTO amenities (name) VALUES (?)");
+             PreparedStatement clear = connection.prepareStatement("DELETE FROM venue_amenities WHERE venue_id = ?");
+             PreparedStatement link = connection.prepareStatement("INSERT IGNORE INTO venue_amenities (venue_id, amenity_id) " +
+                     "SELECT ?, id FROM amenities WHERE name = ?")) {
+            boolean anyNames = false;
+            for (Venue venue : venues) {
+                clear.setInt(1, venue.getId());
+                clear.addBatch();
+                for (String name : AmenityIndex.normalize(venue.getAmenities())) {
+                    intern.setString(1, name);
+                    intern.addBatch();
+                    link.setInt(1, venue.getId());
+                    link.setString(2, name);
+                    link.addBatch();
+                    anyNames = true;
+                }
+            }
+            clear.executeBatch();
+            if (anyNames) {
+                intern.executeBatch();
+                link.executeBatch();
+            }
+        }
+    }
+
     // Vendor operations
     public List<Vendor> getAllVendors() {
         List<Vendor> vendors = new ArrayList<>();
         String sql = "SELECT * FROM vendors ORDER BY name";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
@@ -127,22 +329,101 @@ public class DatabaseService {
 
     // Booking operations
     public void addBooking(Booking booking) {
-        String sql = "INSERT INTO bookings (client_id, venue_id, event_type, start_datetime, end_datetime, " +
-                "guest_count, catering_required, vendor_id, budget, notes, status) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, booking.getClient().getId());
-            stmt.setInt(2, booking.getVenue().getId());
-            stmt.setString(3, booking.getEventType());
-            stmt.setTimestamp(4, Timestamp.valueOf(booking.getStartDateTime()));
-            stmt.setTimestamp(5, Timestamp.valueOf(booking.getEndDateTime()));
-            stmt.setInt(6, booking.getGuestCount());
-            stmt.setBoolean(7, booking.isCateringRequired());
-            stmt.setObject(8, booking.getVendor() != null ? booking.getVendor().getId() : null);
-            stmt.setDouble(9, booking.getBudget());
-            stmt.setString(10, booking.getNotes());
-            stmt.setString(11, booking.getStatus());
+        try (Connection connection = pool.getConnection()) {
+            insertBooking(connection, booking);
+            logger.info("✅ Booking added: " + booking.getId());
+
+        } catch (SQLException e) {
+            logger.severe("Error adding booking: " + e.getMessage());
+            throw new RuntimeException("Failed to add booking", e);
+        }
+    }
+
+    /**
+     * Locks the venue row, checks for overlaps and inserts in one short transaction. The lock
+     * serializes reservations for the same venue only; other venues proceed in parallel.
+     */
+    public void reserve(Booking booking) {
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                lockVenue(connection, booking.getVenue().getId());
+
+                // The first plain read after taking the lock, so its snapshot includes every
+                // reservation committed by earlier lock holders
+                List<Booking> conflicts = queryOverlapping(connection, booking.getVenue().getId(),
+                        booking.getStartDateTime(), booking.getEndDateTime(), null);
+                if (!conflicts.isEmpty()) {
+                    throw new BookingConflictException(conflicts);
+                }
+
+                insertBooking(connection, booking);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+
+            logger.info("✅ Booking reserved: " + booking.getId());
+
+        } catch (SQLException e) {
+            logger.severe("Error reserving booking: " + e.getMessage());
+            throw new RuntimeException("Failed to reserve booking", e);
+        }
+    }
+
+    public void reserveUpdate(Booking booking) {
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                lockVenue(connection, booking.getVenue().getId());
+
+                List<Booking> conflicts = queryOverlapping(connection, booking.getVenue().getId(),
+                        booking.getStartDateTime(), booking.getEndDateTime(), booking.getId());
+                if (!conflicts.isEmpty()) {
+                    throw new BookingConflictException(conflicts);
+                }
+
+                try (PreparedStatement stmt = connection.prepareStatement(UPDATE_BOOKING_SQL)) {
+                    BOOKING_UPDATE_BINDER.bind(stmt, booking);
+                    if (stmt.executeUpdate() == 0) {
+                        throw new StaleBookingException(booking.getId(), booking.getVersion(), queryBooking(connection, booking.getId()));
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+
+            booking.setVersion(booking.getVersion() + 1);
+            logger.info("✅ Booking updated: " + booking.getId());
+
+        } catch (SQLException e) {
+            logger.severe("Error updating booking: " + e.getMessage());
+            throw new RuntimeException("Failed to update booking", e);
+        }
+    }
+
+    private static final String LOCK_VENUE_SQL = "SELECT id FROM venues WHERE id = ? FOR UPDATE";
+
+    /**
+     * Serializes reservations at one venue until the transaction ends.
+     */
+    private static void lockVenue(Connection connection, int venueId) throws SQLException {
+        try (PreparedStatement lock = connection.prepareStatement(LOCK_VENUE_SQL)) {
+            lock.setInt(1, venueId);
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalArgumentException("Unknown venue " + venueId);
+                }
+            }
+        }
+    }
+
+    private static void insertBooking(Connection connection, Booking booking) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(INSERT_BOOKING_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            BOOKING_INSERT_BINDER.bind(stmt, booking);
 
             stmt.executeUpdate();
 
@@ -150,90 +431,518 @@ public class DatabaseService {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     booking.setId(generatedKeys.getInt(1));
+                    booking.setVersion(0);
                 }
             }
+        }
+    }
 
-            logger.info("✅ Booking added: " + booking.getId());
-
+    // Shared SELECT for full booking rows (client, venue and optional vendor joined in)
+    private static final String BOOKING_SELECT = "SELECT b.*, c.name as client_name, c.email as client_email, " +
+            "c.phone as client_phone, c.company as client_company, " +
+            "v.name as venue_name, v.address as venue_address, v.capacity as venue_capacity, " +
+            "vd.name as vendor_name, vd.category as vendor_category " +
+            "FROM bookings b " +
+            "JOIN clients c ON b.client_id = c.id " +
+            "JOIN venues v ON b.venue_id = v.id " +
+            "LEFT JOIN vendors vd ON b.vendor_id = vd.id ";
+
+    public Booking getBooking(int bookingId) {
+        try (Connection connection = pool.getConnection()) {
+            return queryBooking(connection, bookingId);
         } catch (SQLException e) {
-            logger.severe("Error adding booking: " + e.getMessage());
-            throw new RuntimeException("Failed to add booking", e);
+            logger.severe("Error fetching booking: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch booking", e);
+        }
+    }
+
+    private Booking queryBooking(Connection connection, int bookingId) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(BOOKING_SELECT + "WHERE b.id = ?")) {
+            stmt.setInt(1, bookingId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapBooking(rs, new EntityIdentityMap(false)) : null;
+            }
         }
     }
 
     public List<Booking> getAllBookings() {
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT b.*, c.name as client_name, c.email as client_email, " +
-                "c.phone as client_phone, c.company as client_company, " +
-                "v.name as venue_name, v.address as venue_address, v.capacity as venue_capacity, " +
-                "vd.name as vendor_name, vd.category as vendor_category " +
-                "FROM bookings b " +
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        String sql = BOOKING_SELECT + "ORDER BY b.start_datetime DESC";
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                bookings.add(mapBooking(rs, identities));
+            }
+
+        } catch (SQLException e) {
+            logger.severe("Error fetching bookings: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch bookings", e);
+        }
+
+        return bookings;
+    }
+
+    /**
+     * Fetches one page of bookings matching the filter using keyset pagination on
+     * (start_datetime, id). Pass a null cursor for the first page, then the page's next cursor
+     * for each following page.
+     */
+    public BookingPage<Booking> getBookingsPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        return queryPage(BOOKING_SELECT, rs -> mapBooking(rs, identities),
+                booking -> new BookingCursor(booking.getStartDateTime(), booking.getId()), filter, cursor, limit, sort);
+    }
+
+    /**
+     * Same keyset pagination as {@link #getBookingsPage}, selecting only the summary columns.
+     */
+    public BookingPage<BookingSummary> getSummaryPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        return queryPage(SUMMARY_SELECT, DatabaseService::mapSummary,
+                summary -> new BookingCursor(summary.getStartDateTime(), summary.getId()), filter, cursor, limit, sort);
+    }
+
+    private <T> BookingPage<T> queryPage(String select, RowMapper<T> mapper, Function<T, BookingCursor> cursorOf,
+                                         BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+
+        String op = sort == BookingSort.OLDEST_FIRST ? ">" : "<";
+        String direction = sort == BookingSort.OLDEST_FIRST ? "ASC" : "DESC";
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        filter.appendConditions(conditions, params);
+        if (cursor != null) {
+            Timestamp start = Timestamp.valueOf(cursor.getStartDateTime());
+            conditions.add("(b.start_datetime " + op + " ? OR (b.start_datetime = ? AND b.id " + op + " ?))");
+            params.add(start);
+            params.add(start);
+            params.add(cursor.getId());
+        }
+        // Fetch one extra row to learn whether another page exists
+        params.add(limit + 1);
+
+        String sql = select + whereClause(conditions) +
+                "ORDER BY b.start_datetime " + direction + ", b.id " + direction + " LIMIT ?";
+
+        List<T> items = new ArrayList<>();
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            bindParameters(stmt, params);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapper.map(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.severe("Error fetching bookings page: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch bookings page", e);
+        }
+
+        if (items.size() > limit) {
+            items.remove(limit);
+            return new BookingPage<>(items, cursorOf.apply(items.get(limit - 1)));
+        }
+        return new BookingPage<>(items, null);
+    }
+
+    /**
+     * Exact number of bookings matching the filter.
+     */
+    public long countBookings(BookingFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        filter.appendConditions(conditions, params);
+
+        String sql = "SELECT COUNT(*) FROM bookings b " +
                 "JOIN clients c ON b.client_id = c.id " +
                 "JOIN venues v ON b.venue_id = v.id " +
-                "LEFT JOIN vendors vd ON b.vendor_id = vd.id " +
-                "ORDER BY b.start_datetime DESC";
+                whereClause(conditions);
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            bindParameters(stmt, params);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            logger.severe("Error counting bookings: " + e.getMessage());
+            throw new RuntimeException("Failed to count bookings", e);
+        }
+    }
+
+    /**
+     * Streams bookings matching the filter, oldest first, to the handler one row at a time from
+     * a forward-only result set, so memory use does not grow with the number of rows.
+     * The handler returns false to stop early. Returns the number of rows handled.
+     */
+    public long streamBookings(BookingFilter filter, Predicate<Booking> handler) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        filter.appendConditions(conditions, params);
+
+        String sql = BOOKING_SELECT + whereClause(conditions) + "ORDER BY b.start_datetime, b.id";
+        long count = 0;
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(streamFetchSize);
+            bindParameters(stmt, params);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    count++;
+                    if (!handler.test(mapBooking(rs, identities))) {
+                        break;
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.severe("Error streaming bookings: " + e.getMessage());
+            throw new RuntimeException("Failed to stream bookings", e);
+        }
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        return count;
+    }
+
+    private static String whereClause(List<String> conditions) {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+
+    private static void bindParameters(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    /**
+     * Cheap row-count estimate for sizing scrollbars and page counts. Uses the table statistics
+     * instead of COUNT(*), so it may be off by a few percent.
+     */
+    public long estimateBookingCount() {
+        String sql = "SELECT TABLE_ROWS FROM information_schema.TABLES " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'bookings'";
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Booking booking = new Booking();
-                booking.setId(rs.getInt("id"));
+            return rs.next() ? rs.getLong(1) : 0;
 
-                // Client
-                Client client = new Client();
-                client.setId(rs.getInt("client_id"));
-                client.setName(rs.getString("client_name"));
-                client.setEmail(rs.getString("client_email"));
-                client.setPhone(rs.getString("client_phone"));
-                client.setCompany(rs.getString("client_company"));
-                booking.setClient(client);
-
-                // Venue
-                Venue venue = new Venue();
-                venue.setId(rs.getInt("venue_id"));
-                venue.setName(rs.getString("venue_name"));
-                venue.setAddress(rs.getString("venue_address"));
-                venue.setCapacity(rs.getInt("venue_capacity"));
-                booking.setVenue(venue);
-
-                // Vendor (optional)
-                if (rs.getObject("vendor_id") != null) {
-                    Vendor vendor = new Vendor();
-                    vendor.setId(rs.getInt("vendor_id"));
-                    vendor.setName(rs.getString("vendor_name"));
-                    vendor.setCategory(rs.getString("vendor_category"));
-                    booking.setVendor(vendor);
+        } catch (SQLException e) {
+            logger.severe("Error estimating booking count: " + e.getMessage());
+            throw new RuntimeException("Failed to estimate booking count", e);
+        }
+    }
+
+    /**
+     * Bookings at a venue whose time range overlaps [start, end]. Ranges that merely touch
+     * count as overlapping, matching ConflictDetectionService. Served by the
+     * (venue_id, start_datetime, end_datetime) index.
+     */
+    public List<Booking> findOverlapping(int venueId, LocalDateTime start, LocalDateTime end, Integer excludeBookingId) {
+        try (Connection connection = pool.getConnection()) {
+            return queryOverlapping(connection, venueId, start, end, excludeBookingId);
+
+        } catch (SQLException e) {
+            logger.severe("Error fetching overlapping bookings: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch overlapping bookings", e);
+        }
+    }
+
+    private List<Booking> queryOverlapping(Connection connection, int venueId, LocalDateTime start, LocalDateTime end,
+                                           Integer excludeBookingId) throws SQLException {
+        String sql = BOOKING_SELECT +
+                "WHERE b.venue_id = ? AND b.start_datetime <= ? AND b.end_datetime >= ? " +
+                (excludeBookingId != null ? "AND b.id <> ? " : "") +
+                "ORDER BY b.start_datetime";
+
+        List<Booking> bookings = new ArrayList<>();
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, venueId);
+            stmt.setTimestamp(2, Timestamp.valueOf(end));
+            stmt.setTimestamp(3, Timestamp.valueOf(start));
+            if (excludeBookingId != null) {
+                stmt.setInt(4, excludeBookingId);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapBooking(rs, identities));
                 }
+            }
+        }
+
+        return bookings;
+    }
+
+    /**
+     * Bookings at a venue that intersect the window [from, to), optionally restricted to the
+     * given statuses (null or empty means any status).
+     */
+    public List<Booking> findByVenueBetween(int venueId, LocalDateTime from, LocalDateTime to, Collection<String> statuses) {
+        boolean filterStatus = statuses != null && !statuses.isEmpty();
+        String sql = BOOKING_SELECT +
+                "WHERE b.venue_id = ? AND b.start_datetime < ? AND b.end_datetime > ? " +
+                (filterStatus ? "AND b.status IN (" + String.join(", ", Collections.nCopies(statuses.size(), "?")) + ") " : "") +
+                "ORDER BY b.start_datetime";
 
-                booking.setEventType(rs.getString("event_type"));
-                booking.setStartDateTime(rs.getTimestamp("start_datetime").toLocalDateTime());
-                booking.setEndDateTime(rs.getTimestamp("end_datetime").toLocalDateTime());
-                booking.setGuestCount(rs.getInt("guest_count"));
-                booking.setCateringRequired(rs.getBoolean("catering_required"));
-                booking.setBudget(rs.getDouble("budget"));
-                booking.setNotes(rs.getString("notes"));
-                booking.setStatus(rs.getString("status"));
+        List<Booking> bookings = new ArrayList<>();
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            stmt.setInt(index++, venueId);
+            stmt.setTimestamp(index++, Timestamp.valueOf(to));
+            stmt.setTimestamp(index++, Timestamp.valueOf(from));
+            if (filterStatus) {
+                for (String status : statuses) {
+                    stmt.setString(index++, status);
+                }
+            }
 
-                bookings.add(booking);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapBooking(rs, identities));
+                }
             }
 
         } catch (SQLException e) {
-            logger.severe("Error fetching bookings: " + e.getMessage());
-            throw new RuntimeException("Failed to fetch bookings", e);
+            logger.severe("Error fetching venue bookings: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch venue bookings", e);
         }
 
         return bookings;
     }
 
-    public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                logger.info("✅ Database connection closed");
+    private static final String INSERT_TOMBSTONE_SQL = "INSERT INTO booking_tombstones (booking_id) VALUES (?) " +
+            "ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP(6)";
+
+    /**
+     * Watermarks are database times in epoch microseconds. The returned watermark trails the
+     * database clock by db.changeFeed.lookbackMs, because updated_at is stamped when a row is
+     * written, not when its transaction commits; rows changed within that window are sent again
+     * by the next call. Both queries use the updated_at and deleted_at indexes.
+     */
+    public BookingChangeSet<Booking> getChangesSince(long watermark) {
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        return queryChanges(BOOKING_SELECT, rs -> mapBooking(rs, identities), watermark);
+    }
+
+    public BookingChangeSet<BookingSummary> getSummaryChangesSince(long watermark) {
+        return queryChanges(SUMMARY_SELECT, DatabaseService::mapSummary, watermark);
+    }
+
+    private <T> BookingChangeSet<T> queryChanges(String select, RowMapper<T> mapper, long watermark) {
+        purgeTombstonesIfDue();
+
+        List<T> upserted = new ArrayList<>();
+        List<Integer> deletedIds = new ArrayList<>();
+        long next;
+        boolean snapshot;
+
+        try (Connection connection = pool.getConnection()) {
+            // One transaction, so both queries read the same snapshot
+            connection.setAutoCommit(false);
+
+            // Watermarks and tombstones are on the database clock, so the retention horizon is too
+            long horizon;
+            try (PreparedStatement stmt = connection.prepareStatement("SELECT NOW(6), NOW(6) - INTERVAL ? DAY")) {
+                stmt.setInt(1, tombstoneRetentionDays);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    next = Math.max(watermark, toMicros(rs.getTimestamp(1)) - changeFeedLookbackMicros);
+                    horizon = toMicros(rs.getTimestamp(2));
+                }
+            }
+            snapshot = watermark <= BookingChangeSet.BEGINNING || watermark < horizon;
+            Timestamp since = snapshot ? null : fromMicros(watermark);
+
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    select + (snapshot ? "" : "WHERE b.updated_at > ? "))) {
+                if (!snapshot) {
+                    stmt.setTimestamp(1, since);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        upserted.add(mapper.map(rs));
+                    }
+                }
+            }
+
+            if (!snapshot) {
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "SELECT booking_id FROM booking_tombstones WHERE deleted_at > ?")) {
+                    stmt.setTimestamp(1, since);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            deletedIds.add(rs.getInt("booking_id"));
+                        }
+                    }
+                }
+            }
+            connection.commit();
+
+        } catch (SQLException e) {
+            logger.severe("Error fetching booking changes: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch booking changes", e);
+        }
+
+        return new BookingChangeSet<>(upserted, deletedIds, next, snapshot);
+    }
+
+    public long getChangeWatermark() {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("SELECT NOW(6)");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return toMicros(rs.getTimestamp(1)) - changeFeedLookbackMicros;
+
+        } catch (SQLException e) {
+            logger.severe("Error reading change watermark: " + e.getMessage());
+            throw new RuntimeException("Failed to read change watermark", e);
+        }
+    }
+
+    // At most hourly; a watermark older than the retention gets a snapshot instead
+    private void purgeTombstonesIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastTombstonePurgeMillis < 3_600_000L) {
+            return;
+        }
+        lastTombstonePurgeMillis = now;
+
+        String sql = "DELETE FROM booking_tombstones WHERE deleted_at < NOW(6) - INTERVAL ? DAY";
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, tombstoneRetentionDays);
+            int purged = stmt.executeUpdate();
+            if (purged > 0) {
+                logger.info("Purged " + purged + " booking tombstone(s)");
             }
         } catch (SQLException e) {
-            logger.severe("❌ Error closing connection: " + e.getMessage());
+            logger.warning("Could not purge booking tombstones: " + e.getMessage());
+        }
+    }
+
+    private static long toMicros(Timestamp timestamp) {
+        return Math.floorDiv(timestamp.getTime(), 1000) * 1_000_000 + timestamp.getNanos() / 1000;
+    }
+
+    private static Timestamp fromMicros(long micros) {
+        Timestamp timestamp = new Timestamp(Math.floorDiv(micros, 1_000_000) * 1000);
+        timestamp.setNanos(Math.floorMod(micros, 1_000_000) * 1000);
+        return timestamp;
+    }
+
+    // Only the columns BookingSummary needs; notes can be arbitrarily large
+    private static final String SUMMARY_SELECT = "SELECT b.id, b.client_id, b.venue_id, b.event_type, " +
+            "b.start_datetime, b.end_datetime, b.budget, b.status, " +
+            "c.name as client_name, v.name as venue_name " +
+            "FROM bookings b " +
+            "JOIN clients c ON b.client_id = c.id " +
+            "JOIN venues v ON b.venue_id = v.id ";
+
+    private static BookingSummary mapSummary(ResultSet rs) throws SQLException {
+        return new BookingSummary(rs.getInt("id"),
+                rs.getInt("client_id"), rs.getString("client_name"),
+                rs.getInt("venue_id"), rs.getString("venue_name"),
+                rs.getString("event_type"),
+                rs.getTimestamp("start_datetime").toLocalDateTime(),
+                rs.getTimestamp("end_datetime").toLocalDateTime(),
+                rs.getDouble("budget"), rs.getString("status"));
+    }
+
+    /**
+     * Maps one row of {@link #BOOKING_SELECT}. Client, venue and vendor objects are shared
+     * through the query's identity map, so each distinct entity is built once per query.
+     */
+    private Booking mapBooking(ResultSet rs, EntityIdentityMap identities) throws SQLException {
+        Booking booking = new Booking();
+        booking.setId(rs.getInt("id"));
+
+        // Client
+        int clientId = rs.getInt("client_id");
+        Client client = identities.client(clientId);
+        if (client == null) {
+            client = new Client();
+            client.setId(clientId);
+            client.setName(rs.getString("client_name"));
+            client.setEmail(rs.getString("client_email"));
+            client.setPhone(rs.getString("client_phone"));
+            client.setCompany(rs.getString("client_company"));
+            identities.register(client);
+        }
+        booking.setClient(client);
+
+        // Venue
+        int venueId = rs.getInt("venue_id");
+        Venue venue = identities.venue(venueId);
+        if (venue == null) {
+            venue = new Venue();
+            venue.setId(venueId);
+            venue.setName(rs.getString("venue_name"));
+            venue.setAddress(rs.getString("venue_address"));
+            venue.setCapacity(rs.getInt("venue_capacity"));
+            identities.register(venue);
+        }
+        booking.setVenue(venue);
+
+        // Vendor (optional)
+        int vendorId = rs.getInt("vendor_id");
+        if (!rs.wasNull()) {
+            Vendor vendor = identities.vendor(vendorId);
+            if (vendor == null) {
+                vendor = new Vendor();
+                vendor.setId(vendorId);
+                vendor.setName(rs.getString("vendor_name"));
+                vendor.setCategory(rs.getString("vendor_category"));
+                identities.register(vendor);
+            }
+            booking.setVendor(vendor);
+        }
+
+        booking.setEventType(rs.getString("event_type"));
+        booking.setStartDateTime(rs.getTimestamp("start_datetime").toLocalDateTime());
+        booking.setEndDateTime(rs.getTimestamp("end_datetime").toLocalDateTime());
+        booking.setGuestCount(rs.getInt("guest_count"));
+        booking.setCateringRequired(rs.getBoolean("catering_required"));
+        booking.setBudget(rs.getDouble("budget"));
+        booking.setNotes(rs.getString("notes"));
+        booking.setStatus(rs.getString("status"));
+        booking.setVersion(rs.getInt("version"));
+
+        return booking;
+    }
+
+    /**
+     * Prepared statement cache counters across all pooled connections.
+     */
+    public StatementCache.Stats getStatementCacheStats() {
+        return pool.getStatementCacheStats();
+    }
+
+    public void close() {
+        if (pool != null) {
+            logger.info("Statement cache: " + pool.getStatementCacheStats());
+            pool.close();
+            logger.info("✅ Database connection closed");
         }
     }
 
@@ -241,14 +950,9 @@ public class DatabaseService {
 
     // Client CRUD
     public void updateClient(Client client) {
-        String sql = "UPDATE clients SET name = ?, email = ?, phone = ?, company = ? WHERE id = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, client.getName());
-            stmt.setString(2, client.getEmail());
-            stmt.setString(3, client.getPhone());
-            stmt.setString(4, client.getCompany());
-            stmt.setInt(5, client.getId());
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(UPDATE_CLIENT_SQL)) {
+            CLIENT_UPDATE_BINDER.bind(stmt, client);
 
             stmt.executeUpdate();
             logger.info("✅ Client updated: " + client.getName());
@@ -262,7 +966,8 @@ public class DatabaseService {
     public boolean deleteClient(int clientId) {
         String sql = "DELETE FROM clients WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, clientId);
             int affectedRows = stmt.executeUpdate();
 
@@ -280,17 +985,15 @@ public class DatabaseService {
 
     // Venue CRUD
     public void updateVenue(Venue venue) {
-        String sql = "UPDATE venues SET name = ?, address = ?, capacity = ?, price_per_hour = ?, amenities = ? WHERE id = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, venue.getName());
-            stmt.setString(2, venue.getAddress());
-            stmt.setInt(3, venue.getCapacity());
-            stmt.setDouble(4, venue.getPricePerHour());
-            stmt.setString(5, String.join(",", venue.getAmenities()));
-            stmt.setInt(6, venue.getId());
-
-            stmt.executeUpdate();
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement stmt = connection.prepareStatement(UPDATE_VENUE_SQL)) {
+                VENUE_UPDATE_BINDER.bind(stmt, venue);
+                if (stmt.executeUpdate() > 0) {
+                    saveAmenities(connection, List.of(venue));
+                }
+            }
+            connection.commit();
             logger.info("✅ Venue updated: " + venue.getName());
 
         } catch (SQLException e) {
@@ -302,7 +1005,8 @@ public class DatabaseService {
     public boolean deleteVenue(int venueId) {
         String sql = "DELETE FROM venues WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, venueId);
             int affectedRows = stmt.executeUpdate();
 
@@ -320,14 +1024,9 @@ public class DatabaseService {
 
     // Vendor CRUD
     public void updateVendor(Vendor vendor) {
-        String sql = "UPDATE vendors SET name = ?, category = ?, email = ?, phone = ? WHERE id = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, vendor.getName());
-            stmt.setString(2, vendor.getCategory());
-            stmt.setString(3, vendor.getEmail());
-            stmt.setString(4, vendor.getPhone());
-            stmt.setInt(5, vendor.getId());
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(UPDATE_VENDOR_SQL)) {
+            VENDOR_UPDATE_BINDER.bind(stmt, vendor);
 
             stmt.executeUpdate();
             logger.info("✅ Vendor updated: " + vendor.getName());
@@ -341,7 +1040,8 @@ public class DatabaseService {
     public boolean deleteVendor(int vendorId) {
         String sql = "DELETE FROM vendors WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, vendorId);
             int affectedRows = stmt.executeUpdate();
 
@@ -359,25 +1059,15 @@ public class DatabaseService {
 
     // Booking CRUD
     public void updateBooking(Booking booking) {
-        String sql = "UPDATE bookings SET client_id = ?, venue_id = ?, event_type = ?, " +
-                "start_datetime = ?, end_datetime = ?, guest_count = ?, catering_required = ?, " +
-                "vendor_id = ?, budget = ?, notes = ?, status = ? WHERE id = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, booking.getClient().getId());
-            stmt.setInt(2, booking.getVenue().getId());
-            stmt.setString(3, booking.getEventType());
-            stmt.setTimestamp(4, Timestamp.valueOf(booking.getStartDateTime()));
-            stmt.setTimestamp(5, Timestamp.valueOf(booking.getEndDateTime()));
-            stmt.setInt(6, booking.getGuestCount());
-            stmt.setBoolean(7, booking.isCateringRequired());
-            stmt.setObject(8, booking.getVendor() != null ? booking.getVendor().getId() : null);
-            stmt.setDouble(9, booking.getBudget());
-            stmt.setString(10, booking.getNotes());
-            stmt.setString(11, booking.getStatus());
-            stmt.setInt(12, booking.getId());
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(UPDATE_BOOKING_SQL)) {
+            BOOKING_UPDATE_BINDER.bind(stmt, booking);
 
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) {
+                // Read on this connection: borrowing another while holding one can starve the pool
+                throw new StaleBookingException(booking.getId(), booking.getVersion(), queryBooking(connection, booking.getId()));
+            }
+            booking.setVersion(booking.getVersion() + 1);
             logger.info("✅ Booking updated: " + booking.getId());
 
         } catch (SQLException e) {
@@ -389,9 +1079,21 @@ public class DatabaseService {
     public boolean deleteBooking(int bookingId) {
         String sql = "DELETE FROM bookings WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, bookingId);
-            int affectedRows = stmt.executeUpdate();
+        try (Connection connection = pool.getConnection()) {
+            // The tombstone commits with the delete, so the change feed never misses it
+            connection.setAutoCommit(false);
+            int affectedRows;
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setInt(1, bookingId);
+                affectedRows = stmt.executeUpdate();
+            }
+            if (affectedRows > 0) {
+                try (PreparedStatement stmt = connection.prepareStatement(INSERT_TOMBSTONE_SQL)) {
+                    stmt.setInt(1, bookingId);
+                    stmt.executeUpdate();
+                }
+            }
+            connection.commit();
 
             if (affectedRows > 0) {
                 logger.info("✅ Booking deleted: " + bookingId);
@@ -405,15 +1107,51 @@ public class DatabaseService {
         }
     }
 
+    public void replaceConflictFlags(Collection<Integer> bookingIds) {
+        try (Connection connection = pool.getConnection()) {
+            // One transaction, so readers see the old set or the new one
+            connection.setAutoCommit(false);
+            try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM booking_conflict_flags")) {
+                stmt.executeUpdate();
+            }
+            // IGNORE skips bookings deleted since they were found, which fail the foreign key
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT IGNORE INTO booking_conflict_flags (booking_id) VALUES (?)")) {
+                for (Integer bookingId : bookingIds) {
+                    stmt.setInt(1, bookingId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            connection.commit();
+            logger.info("✅ Conflict flags replaced: " + bookingIds.size() + " bookings");
+
+        } catch (SQLException e) {
+            logger.severe("Error replacing conflict flags: " + e.getMessage());
+            throw new RuntimeException("Failed to replace conflict flags", e);
+        }
+    }
+
+    public Set<Integer> getConflictFlags() {
+        Set<Integer> bookingIds = new TreeSet<>();
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("SELECT booking_id FROM booking_conflict_flags");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                bookingIds.add(rs.getInt("booking_id"));
+            }
+        } catch (SQLException e) {
+            logger.severe("Error fetching conflict flags: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch conflict flags", e);
+        }
+        return bookingIds;
+    }
+
     // Add new client, venue, vendor
     public void addClient(Client client) {
-        String sql = "INSERT INTO clients (name, email, phone, company) VALUES (?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, client.getName());
-            stmt.setString(2, client.getEmail());
-            stmt.setString(3, client.getPhone());
-            stmt.setString(4, client.getCompany());
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(INSERT_CLIENT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            CLIENT_INSERT_BINDER.bind(stmt, client);
 
             stmt.executeUpdate();
 
@@ -432,22 +1170,21 @@ public class DatabaseService {
     }
 
     public void addVenue(Venue venue) {
-        String sql = "INSERT INTO venues (name, address, capacity, price_per_hour, amenities) VALUES (?, ?, ?, ?, ?)";
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement stmt = connection.prepareStatement(INSERT_VENUE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                VENUE_INSERT_BINDER.bind(stmt, venue);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, venue.getName());
-            stmt.setString(2, venue.getAddress());
-            stmt.setInt(3, venue.getCapacity());
-            stmt.setDouble(4, venue.getPricePerHour());
-            stmt.setString(5, String.join(",", venue.getAmenities()));
+                stmt.executeUpdate();
 
-            stmt.executeUpdate();
-
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    venue.setId(generatedKeys.getInt(1));
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        venue.setId(generatedKeys.getInt(1));
+                    }
                 }
             }
+            saveAmenities(connection, List.of(venue));
+            connection.commit();
 
             logger.info("✅ Venue added: " + venue.getName());
 
@@ -458,13 +1195,9 @@ public class DatabaseService {
     }
 
     public void addVendor(Vendor vendor) {
-        String sql = "INSERT INTO vendors (name, category, email, phone) VALUES (?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, vendor.getName());
-            stmt.setString(2, vendor.getCategory());
-            stmt.setString(3, vendor.getEmail());
-            stmt.setString(4, vendor.getPhone());
+        try (Connection connection = pool.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(INSERT_VENDOR_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            VENDOR_INSERT_BINDER.bind(stmt, vendor);
 
             stmt.executeUpdate();
 
@@ -481,4 +1214,195 @@ public class DatabaseService {
             throw new RuntimeException("Failed to add vendor", e);
         }
     }
-}
\ No newline at end of file
+
+    // Batch operations
+
+    public BatchResult<Booking> addBookings(List<Booking> bookings) {
+        return executeBatch(INSERT_BOOKING_SQL, bookings, BOOKING_INSERT_BINDER, (booking, id) -> {
+            // Same as insertBooking: a stored row starts at version 0 whatever the copy carried
+            booking.setId(id);
+            booking.setVersion(0);
+        }, "bookings");
+    }
+
+    /**
+     * Rows whose version is stale are reported as failures; the rest get their version bumped.
+     */
+    public BatchResult<Booking> updateBookings(List<Booking> bookings) {
+        BatchResult<Booking> result = executeBatch(UPDATE_BOOKING_SQL, bookings, BOOKING_UPDATE_BINDER, null, "bookings");
+        result.getSucceeded().forEach(booking -> booking.setVersion(booking.getVersion() + 1));
+        return result;
+    }
+
+    public BatchResult<Client> addClients(List<Client> clients) {
+        return executeBatch(INSERT_CLIENT_SQL, clients, CLIENT_INSERT_BINDER, Client::setId, "clients");
+    }
+
+    public BatchResult<Client> updateClients(List<Client> clients) {
+        return executeBatch(UPDATE_CLIENT_SQL, clients, CLIENT_UPDATE_BINDER, null, "clients");
+    }
+
+    /**
+     * Amenities of the inserted venues are written in a second transaction after the batch.
+     */
+    public BatchResult<Venue> addVenues(List<Venue> venues) {
+        return withAmenities(executeBatch(INSERT_VENUE_SQL, venues, VENUE_INSERT_BINDER, Venue::setId, "venues"));
+    }
+
+    public BatchResult<Venue> updateVenues(List<Venue> venues) {
+        return withAmenities(executeBatch(UPDATE_VENUE_SQL, venues, VENUE_UPDATE_BINDER, null, "venues"));
+    }
+
+    private BatchResult<Venue> withAmenities(BatchResult<Venue> result) {
+        if (result.getSucceeded().isEmpty()) {
+            return result;
+        }
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            saveAmenities(connection, result.getSucceeded());
+            connection.commit();
+            return result;
+
+        } catch (SQLException e) {
+            logger.severe("Error saving venue amenities: " + e.getMessage());
+            throw new RuntimeException("Failed to save venue amenities", e);
+        }
+    }
+
+    public BatchResult<Vendor> addVendors(List<Vendor> vendors) {
+        return executeBatch(INSERT_VENDOR_SQL, vendors, VENDOR_INSERT_BINDER, Vendor::setId, "vendors");
+    }
+
+    public BatchResult<Vendor> updateVendors(List<Vendor> vendors) {
+        return executeBatch(UPDATE_VENDOR_SQL, vendors, VENDOR_UPDATE_BINDER, null, "vendors");
+    }
+
+    /**
+     * Runs a write in JDBC batches of {@code db.batch.chunkSize} rows inside one transaction.
+     * If a chunk fails, it is rolled back to its savepoint and replayed row by row, so bad rows
+     * are reported in the result while every other row is still committed. A row whose
+     * parameters cannot be bound is reported the same way and never sent.
+     *
+     * @param idSetter receives generated keys for inserts; null for updates
+     */
+    private <T> BatchResult<T> executeBatch(String sql, List<T> items, ParameterBinder<T> binder,
+                                            ObjIntConsumer<T> idSetter, String label) {
+        BatchResult<T> result = new BatchResult<>();
+        if (items.isEmpty()) {
+            return result;
+        }
+
+        int keyMode = idSetter != null ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql, keyMode)) {
+                for (int from = 0; from < items.size(); from += batchChunkSize) {
+                    int to = Math.min(from + batchChunkSize, items.size());
+                    Savepoint chunkStart = connection.setSavepoint();
+
+                    // A row that cannot be bound (e.g. a missing client) fails alone and stays out of the batch
+                    List<Integer> batched = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        try {
+                            binder.bind(stmt, items.get(i));
+                            stmt.addBatch();
+                            batched.add(i);
+                        } catch (SQLException | RuntimeException e) {
+                            stmt.clearParameters();
+                            result.addFailure(i, items.get(i), e.getMessage() != null ? e.getMessage() : e.toString());
+                        }
+                    }
+                    if (batched.isEmpty()) {
+                        connection.releaseSavepoint(chunkStart);
+                        continue;
+                    }
+
+                    try {
+                        int[] counts = stmt.executeBatch();
+
+                        List<Integer> keys = idSetter != null ? readGeneratedKeys(stmt) : List.of();
+                        if (idSetter != null && keys.size() != batched.size()) {
+                            throw new BatchUpdateException("Expected " + batched.size() + " generated keys but got " + keys.size(), counts);
+                        }
+                        for (int row = 0; row < batched.size(); row++) {
+                            int index = batched.get(row);
+                            recordRow(result, index, items.get(index), counts[row], idSetter != null ? keys.get(row) : null, idSetter);
+                        }
+                        connection.releaseSavepoint(chunkStart);
+
+                    } catch (BatchUpdateException e) {
+                        stmt.clearBatch();
+                        connection.rollback(chunkStart);
+                        for (int index : batched) {
+                            executeSingleRow(connection, stmt, result, index, items.get(index), binder, idSetter);
+                        }
+                    }
+                }
+
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+
+            logger.info("✅ Batch " + label + ": " + result);
+            return result;
+
+        } catch (SQLException e) {
+            logger.severe("Error writing " + label + " batch: " + e.getMessage());
+            throw new RuntimeException("Failed to write " + label + " batch", e);
+        }
+    }
+
+    private <T> void executeSingleRow(Connection connection, PreparedStatement stmt, BatchResult<T> result, int index,
+                                      T item, ParameterBinder<T> binder, ObjIntConsumer<T> idSetter) throws SQLException {
+        Savepoint rowStart = connection.setSavepoint();
+        try {
+            binder.bind(stmt, item);
+            int count = stmt.executeUpdate();
+            Integer key = null;
+            if (idSetter != null) {
+                List<Integer> keys = readGeneratedKeys(stmt);
+                key = keys.isEmpty() ? null : keys.get(0);
+            }
+            recordRow(result, index, item, count, key, idSetter);
+            connection.releaseSavepoint(rowStart);
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback(rowStart);
+            result.addFailure(index, item, e.getMessage());
+        }
+    }
+
+    private <T> void recordRow(BatchResult<T> result, int index, T item, int updateCount, Integer key, ObjIntConsumer<T> idSetter) {
+        if (updateCount == 0) {
+            result.addFailure(index, item, "No matching row");
+        } else if (idSetter != null && key != null) {
+            idSetter.accept(item, key);
+            result.addSuccess(item, key);
+        } else {
+            result.addSuccess(item, null);
+        }
+    }
+
+    private static List<Integer> readGeneratedKeys(PreparedStatement stmt) throws SQLException {
+        List<Integer> keys = new ArrayList<>();
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            while (generatedKeys.next()) {
+                keys.add(generatedKeys.getInt(1));
+            }
+        }
+        return keys;
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+import org.example.eliteevents.models.Client;
+import org.example.eliteevents.models.Vendor;
+import org.example.eliteevents.models.Venue;
+
+import java.util.ArrayList;
+
+/**
+ * Defensive copies of entities for repositories and caches that hand out or hold on to shared data.
+ */
+final class Entities {
+    private Entities() {
+    }
+
+    static Client copy(Client client) {
+        return new Client(client.getId(), client.getName(), client.getEmail(), client.getPhone(), client.getCompany());
+    }
+
+    static Venue copy(Venue venue) {
+        return new Venue(venue.getId(), venue.getName(), venue.getAddress(), venue.getCapacity(), venue.getPricePerHour(),
+                venue.getAmenities() != null ? new ArrayList<>(venue.getAmenities()) : null);
+    }
+
+    static Vendor copy(Vendor vendor) {
+        return new Vendor(vendor.getId(), vendor.getName(), vendor.getCategory(), vendor.getEmail(), vendor.getPhone());
+    }
+
+    /**
+     * Copies the booking's own fields; client, venue and vendor are shared with the original.
+     */
+    static Booking copy(Booking booking) {
+        Booking copy = new Booking(booking.getId(), booking.getClient(), booking.getVenue(), booking.getEventType(),
+                booking.getStartDateTime(), booking.getEndDateTime(), booking.getGuestCount(),
+                booking.isCateringRequired(), booking.getVendor(), booking.getBudget(), booking.getNotes(),
+                booking.getStatus());
+        copy.setVersion(booking.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Client;
+import org.example.eliteevents.models.Vendor;
+import org.example.eliteevents.models.Venue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Query-scoped identity map used while hydrating bookings: the first row that mentions a
+ * client, venue or vendor creates it and every later row shares that instance. Loading the
+ * booking list then allocates one object per distinct entity instead of one per row.
+ *
+ * Bookings from the same query therefore share their client, venue and vendor objects; code
+ * that edits one of those should copy it first. A disabled map never returns an instance, so
+ * every row gets its own objects as before.
+ */
+final class EntityIdentityMap {
+    private final boolean enabled;
+    private final Map<Integer, Client> clients = new HashMap<>();
+    private final Map<Integer, Venue> venues = new HashMap<>();
+    private final Map<Integer, Vendor> vendors = new HashMap<>();
+
+    EntityIdentityMap(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    Client client(int id) {
+        return enabled ? clients.get(id) : null;
+    }
+
+    Venue venue(int id) {
+        return enabled ? venues.get(id) : null;
+    }
+
+    Vendor vendor(int id) {
+        return enabled ? vendors.get(id) : null;
+    }
+
+    Client register(Client client) {
+        if (enabled) {
+            clients.put(client.getId(), client);
+        }
+        return client;
+    }
+
+    Venue register(Venue venue) {
+        if (enabled) {
+            venues.put(venue.getId(), venue);
+        }
+        return venue;
+    }
+
+    Vendor register(Vendor vendor) {
+        if (enabled) {
+            vendors.put(vendor.getId(), vendor);
+        }
+        return vendor;
+    }
+}
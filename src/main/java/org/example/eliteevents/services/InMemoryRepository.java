@@ -0,0 +1,777 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import static org.example.eliteevents.services.Entities.copy;
+
+/**
+ * Thread-safe in-memory implementation of all four repositories, for benchmarks, demos and
+ * running the app without MySQL (set {@code db.repository=memory}).
+ *
+ * Behaves like the JDBC implementation: ids are generated on insert, foreign keys are enforced,
+ * reads return fresh copies with client, venue and vendor details joined in, and paging and
+ * conflict lookups use the same ordering and overlap rules. Bookings are indexed by
+ * (start, id) overall and per venue, so pages and venue lookups never scan the whole table.
+ */
+public class InMemoryRepository implements BookingRepository, ClientRepository, VenueRepository, VendorRepository {
+    private static final Logger logger = Logger.getLogger(InMemoryRepository.class.getName());
+
+    private static final Comparator<Booking> BY_START = Comparator
+            .comparing(Booking::getStartDateTime)
+            .thenComparingInt(Booking::getId);
+
+    private final Map<Integer, Client> clients = new ConcurrentHashMap<>();
+    private final Map<Integer, Venue> venues = new ConcurrentHashMap<>();
+    private final Map<Integer, Vendor> vendors = new ConcurrentHashMap<>();
+    private final AtomicInteger clientIds = new AtomicInteger();
+    private final AtomicInteger venueIds = new AtomicInteger();
+    private final AtomicInteger vendorIds = new AtomicInteger();
+    private final AtomicInteger bookingIds = new AtomicInteger();
+
+    // Rebuilt on the first query after a venue write; the write count tells a stale build apart
+    private final AtomicLong venueWrites = new AtomicLong();
+    private volatile BuiltIndex amenityIndex;
+
+    // Guards the booking indexes, and reference deletes so foreign key checks are atomic
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Booking> bookingsById = new HashMap<>();
+    private final NavigableSet<Booking> bookingsByStart = new TreeSet<>(BY_START);
+    private final Map<Integer, NavigableSet<Booking>> bookingsByVenue = new HashMap<>();
+    // Longest booking ever indexed per venue, in seconds: no booking at the venue starts earlier
+    // than this before a time and still reaches it. Never shrinks, so it stays a safe bound.
+    private final Map<Integer, Long> longestSecondsByVenue = new HashMap<>();
+    private final Set<Integer> conflictFlags = new TreeSet<>();
+
+    // Change feed: a sequence number per write stands in for updated_at, and the oldest
+    // tombstones are dropped once there are too many
+    private static final int MAX_TOMBSTONES = 10_000;
+    private long changeSequence;
+    private long tombstoneHorizon;
+    private final Map<Integer, Long> changeById = new HashMap<>();
+    private final NavigableMap<Long, Integer> changedBySequence = new TreeMap<>();
+    private final NavigableMap<Long, Integer> tombstones = new TreeMap<>();
+
+    private final boolean identityMapEnabled;
+
+    public InMemoryRepository() {
+        this(true);
+    }
+
+    /**
+     * @param identityMapEnabled share one client, venue and vendor instance per id within each
+     *                           read, like {@code db.identityMap} does for the JDBC repository
+     */
+    public InMemoryRepository(boolean identityMapEnabled) {
+        this.identityMapEnabled = identityMapEnabled;
+    }
+
+    /**
+     * Loads the same sample clients, venues and vendors as the SQL schema script.
+     */
+    public void seedSampleData() {
+        addClient(new Client(0, "Tech Innovations Inc", "events@techinnovations.com", "555-0101", "Tech Corporation"));
+        addClient(new Client(0, "Sarah Johnson", "sarah.johnson@email.com", "555-0102", "Individual"));
+        addClient(new Client(0, "Global Marketing Ltd", "bookings@globalmarketing.com", "555-0103", "Marketing Agency"));
+
+        addVenue(new Venue(0, "Grand Ballroom", "1 Luxury Ave", 500, 2000.00,
+                List.of("Stage", "Sound System", "Lighting", "Projector")));
+        addVenue(new Venue(0, "Garden Pavilion", "2 Park Road", 200, 1200.00,
+                List.of("Outdoor Space", "Garden", "Fountain", "Marquee")));
+        addVenue(new Venue(0, "Conference Hall A", "3 Business Park", 100, 800.00,
+                List.of("Projector", "Whiteboard", "WiFi", "Catering Kitchen")));
+
+        addVendor(new Vendor(0, "Elite Catering Co", "Catering", "catering@elite.com", "555-0201"));
+        addVendor(new Vendor(0, "Perfect Photos Studio", "Photography", "photos@perfect.com", "555-0202"));
+        addVendor(new Vendor(0, "Floral Designs", "Decor", "info@floraldesigns.com", "555-0203"));
+    }
+
+    // Client operations
+    public List<Client> getAllClients() {
+        List<Client> result = new ArrayList<>();
+        for (Client client : clients.values()) {
+            result.add(copy(client));
+        }
+        result.sort(Comparator.comparing(Client::getName, Comparator.nullsFirst(String::compareTo)));
+        return result;
+    }
+
+    public void addClient(Client client) {
+        client.setId(clientIds.incrementAndGet());
+        clients.put(client.getId(), copy(client));
+    }
+
+    public void updateClient(Client client) {
+        clients.computeIfPresent(client.getId(), (id, existing) -> copy(client));
+    }
+
+    public boolean deleteClient(int clientId) {
+        lock.writeLock().lock();
+        try {
+            requireUnreferenced(b -> b.getClient().getId() == clientId, "client", clientId);
+            return clients.remove(clientId) != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BatchResult<Client> addClients(List<Client> items) {
+        return applyEach(items, client -> {
+            addClient(client);
+            return client.getId();
+        });
+    }
+
+    public BatchResult<Client> updateClients(List<Client> items) {
+        return applyEach(items, client -> clients.computeIfPresent(client.getId(), (id, existing) -> copy(client)) != null ? 0 : null);
+    }
+
+    // Venue operations
+    public List<Venue> getAllVenues() {
+        List<Venue> result = new ArrayList<>();
+        for (Venue venue : venues.values()) {
+            result.add(copy(venue));
+        }
+        result.sort(Comparator.comparing(Venue::getName, Comparator.nullsFirst(String::compareTo)));
+        return result;
+    }
+
+    public void addVenue(Venue venue) {
+        venue.setId(venueIds.incrementAndGet());
+        venues.put(venue.getId(), copy(venue));
+        venueWrites.incrementAndGet();
+    }
+
+    public void updateVenue(Venue venue) {
+        venues.computeIfPresent(venue.getId(), (id, existing) -> copy(venue));
+        venueWrites.incrementAndGet();
+    }
+
+    public boolean deleteVenue(int venueId) {
+        lock.writeLock().lock();
+        try {
+            NavigableSet<Booking> atVenue = bookingsByVenue.get(venueId);
+            if (atVenue != null && !atVenue.isEmpty()) {
+                throw referenced("venue", venueId);
+            }
+            return venues.remove(venueId) != null;
+        } finally {
+            venueWrites.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BatchResult<Venue> addVenues(List<Venue> items) {
+        return applyEach(items, venue -> {
+            addVenue(venue);
+            return venue.getId();
+        });
+    }
+
+    public BatchResult<Venue> updateVenues(List<Venue> items) {
+        try {
+            return applyEach(items, venue -> venues.computeIfPresent(venue.getId(), (id, existing) -> copy(venue)) != null ? 0 : null);
+        } finally {
+            venueWrites.incrementAndGet();
+        }
+    }
+
+    public List<Venue> findVenues(Collection<String> requiredAmenities, int minCapacity) {
+        BuiltIndex built = amenityIndex;
+        if (built == null || built.venueWrites != venueWrites.get()) {
+            long writes = venueWrites.get();
+            built = new BuiltIndex(AmenityIndex.of(new ArrayList<>(venues.values())), writes);
+            amenityIndex = built;
+        }
+        return built.index.findVenues(requiredAmenities, minCapacity);
+    }
+
+    // Vendor operations
+    public List<Vendor> getAllVendors() {
+        List<Vendor> result = new ArrayList<>();
+        for (Vendor vendor : vendors.values()) {
+            result.add(copy(vendor));
+        }
+        result.sort(Comparator.comparing(Vendor::getName, Comparator.nullsFirst(String::compareTo)));
+        return result;
+    }
+
+    public void addVendor(Vendor vendor) {
+        vendor.setId(vendorIds.incrementAndGet());
+        vendors.put(vendor.getId(), copy(vendor));
+    }
+
+    public void updateVendor(Vendor vendor) {
+        vendors.computeIfPresent(vendor.getId(), (id, existing) -> copy(vendor));
+    }
+
+    public boolean deleteVendor(int vendorId) {
+        lock.writeLock().lock();
+        try {
+            requireUnreferenced(b -> b.getVendor() != null && b.getVendor().getId() == vendorId, "vendor", vendorId);
+            return vendors.remove(vendorId) != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BatchResult<Vendor> addVendors(List<Vendor> items) {
+        return applyEach(items, vendor -> {
+            addVendor(vendor);
+            return vendor.getId();
+        });
+    }
+
+    public BatchResult<Vendor> updateVendors(List<Vendor> items) {
+        return applyEach(items, vendor -> vendors.computeIfPresent(vendor.getId(), (id, existing) -> copy(vendor)) != null ? 0 : null);
+    }
+
+    // Booking operations
+    public List<Booking> getAllBookings() {
+        List<Booking> result = new ArrayList<>();
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        lock.readLock().lock();
+        try {
+            for (Booking stored : bookingsByStart.descendingSet()) {
+                result.add(hydrate(stored, identities));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public Booking getBooking(int bookingId) {
+        lock.readLock().lock();
+        try {
+            Booking stored = bookingsById.get(bookingId);
+            return stored != null ? hydrate(stored, new EntityIdentityMap(false)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addBooking(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            insertBooking(booking);
+        } catch (IllegalArgumentException e) {
+            logger.severe("Error adding booking: " + e.getMessage());
+            throw new RuntimeException("Failed to add booking", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void reserve(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            // The write lock may take the read lock findOverlapping needs
+            List<Booking> conflicts = findOverlapping(booking.getVenue().getId(),
+                    booking.getStartDateTime(), booking.getEndDateTime(), null);
+            if (!conflicts.isEmpty()) {
+                throw new BookingConflictException(conflicts);
+            }
+            insertBooking(booking);
+        } catch (IllegalArgumentException e) {
+            logger.severe("Error reserving booking: " + e.getMessage());
+            throw new RuntimeException("Failed to reserve booking", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateBooking(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            replaceOrThrowStale(booking);
+        } catch (IllegalArgumentException e) {
+            logger.severe("Error updating booking: " + e.getMessage());
+            throw new RuntimeException("Failed to update booking", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void reserveUpdate(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            List<Booking> conflicts = findOverlapping(booking.getVenue().getId(),
+                    booking.getStartDateTime(), booking.getEndDateTime(), booking.getId());
+            if (!conflicts.isEmpty()) {
+                throw new BookingConflictException(conflicts);
+            }
+            replaceOrThrowStale(booking);
+        } catch (IllegalArgumentException e) {
+            logger.severe("Error updating booking: " + e.getMessage());
+            throw new RuntimeException("Failed to update booking", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replaceOrThrowStale(Booking booking) {
+        if (!replaceBooking(booking)) {
+            Booking current = bookingsById.get(booking.getId());
+            throw new StaleBookingException(booking.getId(), booking.getVersion(),
+                    current != null ? hydrate(current, new EntityIdentityMap(false)) : null);
+        }
+    }
+
+    public boolean deleteBooking(int bookingId) {
+        lock.writeLock().lock();
+        try {
+            Booking stored = bookingsById.remove(bookingId);
+            if (stored == null) {
+                return false;
+            }
+            unindex(stored);
+            conflictFlags.remove(bookingId);
+            recordDelete(bookingId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BatchResult<Booking> addBookings(List<Booking> items) {
+        lock.writeLock().lock();
+        try {
+            return applyEach(items, booking -> {
+                insertBooking(booking);
+                return booking.getId();
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BatchResult<Booking> updateBookings(List<Booking> items) {
+        lock.writeLock().lock();
+        try {
+            return applyEach(items, booking -> replaceBooking(booking) ? 0 : null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BookingPage<Booking> getBookingsPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        return page(stored -> hydrate(stored, identities), filter::matches,
+                booking -> new BookingCursor(booking.getStartDateTime(), booking.getId()), cursor, limit, sort);
+    }
+
+    public BookingPage<BookingSummary> getSummaryPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        return page(this::summarize, filter::matches,
+                summary -> new BookingCursor(summary.getStartDateTime(), summary.getId()), cursor, limit, sort);
+    }
+
+    private <T> BookingPage<T> page(Function<Booking, T> view, Predicate<T> matches, Function<T, BookingCursor> cursorOf,
+                                    BookingCursor cursor, int limit, BookingSort sort) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        boolean ascending = sort == BookingSort.OLDEST_FIRST;
+        List<T> page = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            NavigableSet<Booking> ordered;
+            if (cursor == null) {
+                ordered = ascending ? bookingsByStart : bookingsByStart.descendingSet();
+            } else {
+                Booking key = probe(cursor.getStartDateTime(), cursor.getId());
+                ordered = ascending ? bookingsByStart.tailSet(key, false) : bookingsByStart.headSet(key, false).descendingSet();
+            }
+
+            // Collect one extra row to learn whether another page exists
+            for (Booking stored : ordered) {
+                T item = view.apply(stored);
+                if (matches.test(item)) {
+                    page.add(item);
+                    if (page.size() > limit) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (page.size() > limit) {
+            page.remove(limit);
+            return new BookingPage<>(page, cursorOf.apply(page.get(limit - 1)));
+        }
+        return new BookingPage<>(page, null);
+    }
+
+    public long countBookings(BookingFilter filter) {
+        lock.readLock().lock();
+        try {
+            if (filter.isEmpty()) {
+                return bookingsById.size();
+            }
+            long count = 0;
+            EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+            for (Booking stored : bookingsByStart) {
+                if (filter.matches(hydrate(stored, identities))) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimateBookingCount() {
+        lock.readLock().lock();
+        try {
+            return bookingsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Iterates a snapshot of the index taken up front, so a slow handler does not block writers.
+     */
+    public long streamBookings(BookingFilter filter, Predicate<Booking> handler) {
+        List<Booking> snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = new ArrayList<>(bookingsByStart);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long count = 0;
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        for (Booking stored : snapshot) {
+            Booking booking = hydrate(stored, identities);
+            if (filter.matches(booking)) {
+                count++;
+                if (!handler.test(booking)) {
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    public List<Booking> findOverlapping(int venueId, LocalDateTime start, LocalDateTime end, Integer excludeBookingId) {
+        List<Booking> result = new ArrayList<>();
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        lock.readLock().lock();
+        try {
+            NavigableSet<Booking> atVenue = bookingsByVenue.get(venueId);
+            LocalDateTime earliest = earliestReaching(venueId, start);
+            if (atVenue == null || earliest.isAfter(end)) {
+                return result;
+            }
+            // Only bookings starting at or before the end, and no longer ago than the venue's
+            // longest booking before the start, can overlap
+            for (Booking stored : atVenue.subSet(probe(earliest, Integer.MIN_VALUE), true,
+                    probe(end, Integer.MAX_VALUE), true)) {
+                if (!stored.getEndDateTime().isBefore(start)
+                        && (excludeBookingId == null || stored.getId() != excludeBookingId)) {
+                    result.add(hydrate(stored, identities));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public List<Booking> findByVenueBetween(int venueId, LocalDateTime from, LocalDateTime to, Collection<String> statuses) {
+        boolean filterStatus = statuses != null && !statuses.isEmpty();
+        List<Booking> result = new ArrayList<>();
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        lock.readLock().lock();
+        try {
+            NavigableSet<Booking> atVenue = bookingsByVenue.get(venueId);
+            LocalDateTime earliest = earliestReaching(venueId, from);
+            if (atVenue == null || earliest.isAfter(to)) {
+                return result;
+            }
+            for (Booking stored : atVenue.subSet(probe(earliest, Integer.MIN_VALUE), true,
+                    probe(to, Integer.MIN_VALUE), false)) {
+                if (stored.getEndDateTime().isAfter(from)
+                        && (!filterStatus || statuses.contains(stored.getStatus()))) {
+                    result.add(hydrate(stored, identities));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Watermarks are write sequence numbers; a watermark older than the oldest kept tombstone
+     * gets a snapshot.
+     */
+    public BookingChangeSet<Booking> getChangesSince(long watermark) {
+        EntityIdentityMap identities = new EntityIdentityMap(identityMapEnabled);
+        return changesSince(watermark, stored -> hydrate(stored, identities));
+    }
+
+    public BookingChangeSet<BookingSummary> getSummaryChangesSince(long watermark) {
+        return changesSince(watermark, this::summarize);
+    }
+
+    private <T> BookingChangeSet<T> changesSince(long watermark, Function<Booking, T> view) {
+        List<T> upserted = new ArrayList<>();
+        List<Integer> deletedIds = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            boolean snapshot = watermark <= BookingChangeSet.BEGINNING || watermark < tombstoneHorizon;
+            if (snapshot) {
+                for (Booking stored : bookingsByStart) {
+                    upserted.add(view.apply(stored));
+                }
+            } else {
+                for (Integer id : changedBySequence.tailMap(watermark, false).values()) {
+                    upserted.add(view.apply(bookingsById.get(id)));
+                }
+                deletedIds.addAll(tombstones.tailMap(watermark, false).values());
+            }
+            return new BookingChangeSet<>(upserted, deletedIds, changeSequence, snapshot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getChangeWatermark() {
+        lock.readLock().lock();
+        try {
+            return changeSequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void replaceConflictFlags(Collection<Integer> bookingIds) {
+        lock.writeLock().lock();
+        try {
+            conflictFlags.clear();
+            for (Integer bookingId : bookingIds) {
+                if (bookingsById.containsKey(bookingId)) {
+                    conflictFlags.add(bookingId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Set<Integer> getConflictFlags() {
+        lock.readLock().lock();
+        try {
+            return new TreeSet<>(conflictFlags);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void insertBooking(Booking booking) {
+        Booking stored = toStored(booking);
+        booking.setId(bookingIds.incrementAndGet());
+        booking.setVersion(0);
+        stored.setId(booking.getId());
+        stored.setVersion(0);
+        bookingsById.put(stored.getId(), stored);
+        index(stored);
+        recordChange(stored.getId());
+    }
+
+    // False if the booking is gone or its version is stale, like an UPDATE matching no row
+    private boolean replaceBooking(Booking booking) {
+        Booking previous = bookingsById.get(booking.getId());
+        if (previous == null || previous.getVersion() != booking.getVersion()) {
+            return false;
+        }
+        Booking stored = toStored(booking);
+        stored.setVersion(previous.getVersion() + 1);
+        booking.setVersion(stored.getVersion());
+        unindex(previous);
+        bookingsById.put(stored.getId(), stored);
+        index(stored);
+        recordChange(stored.getId());
+        return true;
+    }
+
+    private void recordChange(int bookingId) {
+        Long previous = changeById.put(bookingId, ++changeSequence);
+        if (previous != null) {
+            changedBySequence.remove(previous);
+        }
+        changedBySequence.put(changeSequence, bookingId);
+    }
+
+    private void recordDelete(int bookingId) {
+        Long previous = changeById.remove(bookingId);
+        if (previous != null) {
+            changedBySequence.remove(previous);
+        }
+        tombstones.put(++changeSequence, bookingId);
+        if (tombstones.size() > MAX_TOMBSTONES) {
+            tombstoneHorizon = tombstones.pollFirstEntry().getKey();
+        }
+    }
+
+    private void index(Booking stored) {
+        bookingsByStart.add(stored);
+        bookingsByVenue.computeIfAbsent(stored.getVenue().getId(), id -> new TreeSet<>(BY_START)).add(stored);
+        long seconds = Math.max(0, Duration.between(stored.getStartDateTime(), stored.getEndDateTime()).getSeconds());
+        longestSecondsByVenue.merge(stored.getVenue().getId(), seconds, Math::max);
+    }
+
+    // Earliest start a booking at the venue can have and still end at or after the time
+    private LocalDateTime earliestReaching(int venueId, LocalDateTime time) {
+        return time.minusSeconds(longestSecondsByVenue.getOrDefault(venueId, 0L));
+    }
+
+    private void unindex(Booking stored) {
+        bookingsByStart.remove(stored);
+        NavigableSet<Booking> atVenue = bookingsByVenue.get(stored.getVenue().getId());
+        if (atVenue != null) {
+            atVenue.remove(stored);
+        }
+    }
+
+    /**
+     * Validates foreign keys and copies the booking with only the ids of its references kept;
+     * the details are joined back in from the current reference data on every read.
+     */
+    private Booking toStored(Booking booking) {
+        if (booking.getClient() == null || !clients.containsKey(booking.getClient().getId())) {
+            throw new IllegalArgumentException("Unknown client for booking " + booking.getId());
+        }
+        if (booking.getVenue() == null || !venues.containsKey(booking.getVenue().getId())) {
+            throw new IllegalArgumentException("Unknown venue for booking " + booking.getId());
+        }
+        if (booking.getVendor() != null && !vendors.containsKey(booking.getVendor().getId())) {
+            throw new IllegalArgumentException("Unknown vendor for booking " + booking.getId());
+        }
+        if (booking.getStartDateTime() == null || booking.getEndDateTime() == null) {
+            throw new IllegalArgumentException("Booking " + booking.getId() + " has no start or end time");
+        }
+
+        Client client = new Client();
+        client.setId(booking.getClient().getId());
+        Venue venue = new Venue();
+        venue.setId(booking.getVenue().getId());
+        Vendor vendor = null;
+        if (booking.getVendor() != null) {
+            vendor = new Vendor();
+            vendor.setId(booking.getVendor().getId());
+        }
+        return new Booking(booking.getId(), client, venue, booking.getEventType(),
+                booking.getStartDateTime(), booking.getEndDateTime(), booking.getGuestCount(),
+                booking.isCateringRequired(), vendor, booking.getBudget(), booking.getNotes(), booking.getStatus());
+    }
+
+    private Booking hydrate(Booking stored, EntityIdentityMap identities) {
+        Client client = identities.client(stored.getClient().getId());
+        if (client == null) {
+            Client current = clients.get(stored.getClient().getId());
+            client = identities.register(current != null ? copy(current) : stored.getClient());
+        }
+        Venue venue = identities.venue(stored.getVenue().getId());
+        if (venue == null) {
+            Venue current = venues.get(stored.getVenue().getId());
+            venue = identities.register(current != null ? copy(current) : stored.getVenue());
+        }
+        Vendor vendor = null;
+        if (stored.getVendor() != null) {
+            vendor = identities.vendor(stored.getVendor().getId());
+            if (vendor == null) {
+                Vendor current = vendors.get(stored.getVendor().getId());
+                vendor = identities.register(current != null ? copy(current) : stored.getVendor());
+            }
+        }
+        Booking booking = new Booking(stored.getId(), client, venue,
+                stored.getEventType(), stored.getStartDateTime(), stored.getEndDateTime(),
+                stored.getGuestCount(), stored.isCateringRequired(), vendor,
+                stored.getBudget(), stored.getNotes(), stored.getStatus());
+        booking.setVersion(stored.getVersion());
+        return booking;
+    }
+
+    // Names come from the current client and venue, as in hydrate, without copying them
+    private BookingSummary summarize(Booking stored) {
+        Client client = clients.getOrDefault(stored.getClient().getId(), stored.getClient());
+        Venue venue = venues.getOrDefault(stored.getVenue().getId(), stored.getVenue());
+        return new BookingSummary(stored.getId(), client.getId(), client.getName(), venue.getId(), venue.getName(),
+                stored.getEventType(), stored.getStartDateTime(), stored.getEndDateTime(),
+                stored.getBudget(), stored.getStatus());
+    }
+
+    private static Booking probe(LocalDateTime start, int id) {
+        Booking probe = new Booking();
+        probe.setStartDateTime(start);
+        probe.setId(id);
+        return probe;
+    }
+
+    // Caller holds the write lock
+    private void requireUnreferenced(Predicate<Booking> references, String table, int id) {
+        for (Booking stored : bookingsById.values()) {
+            if (references.test(stored)) {
+                throw referenced(table, id);
+            }
+        }
+    }
+
+    private static RuntimeException referenced(String table, int id) {
+        logger.severe("Error deleting " + table + ": still referenced by bookings");
+        return new RuntimeException("Failed to delete " + table,
+                new IllegalStateException("Cannot delete " + table + " " + id + ": it is referenced by bookings"));
+    }
+
+    /**
+     * Applies a write to each item, recording per-row failures like the JDBC batch does.
+     * The writer returns the generated id, 0 for a successful update, or null if no row matched.
+     */
+    private static <T> BatchResult<T> applyEach(List<T> items, Function<T, Integer> writer) {
+        BatchResult<T> result = new BatchResult<>();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            try {
+                Integer key = writer.apply(item);
+                if (key == null) {
+                    result.addFailure(i, item, "No matching row");
+                } else {
+                    result.addSuccess(item, key > 0 ? key : null);
+                }
+            } catch (RuntimeException e) {
+                result.addFailure(i, item, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private static final class BuiltIndex {
+        private final AmenityIndex index;
+        private final long venueWrites;
+
+        private BuiltIndex(AmenityIndex index, long venueWrites) {
+            this.index = index;
+            this.venueWrites = venueWrites;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.*;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Times every call to the repositories it wraps and records it in {@link QueryMetrics} under
+ * the method name. {@link Repositories} puts it directly around the configured backend when
+ * {@code db.metrics.enabled} is true, so caches and write-behind in front of it are not counted.
+ */
+public class MeteredRepository implements BookingRepository, ClientRepository, VenueRepository, VendorRepository {
+    private final BookingRepository bookings;
+    private final ClientRepository clients;
+    private final VenueRepository venues;
+    private final VendorRepository vendors;
+    private final QueryMetrics metrics;
+
+    public MeteredRepository(BookingRepository bookings, ClientRepository clients, VenueRepository venues,
+                             VendorRepository vendors, QueryMetrics metrics) {
+        this.bookings = bookings;
+        this.clients = clients;
+        this.venues = venues;
+        this.vendors = vendors;
+        this.metrics = metrics;
+    }
+
+    public QueryMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Booking operations
+    public List<Booking> getAllBookings() {
+        return metrics.time("getAllBookings", bookings::getAllBookings, List::size);
+    }
+
+    public Booking getBooking(int bookingId) {
+        return metrics.time("getBooking", () -> bookings.getBooking(bookingId), booking -> booking != null ? 1 : 0);
+    }
+
+    public void addBooking(Booking booking) {
+        metrics.run("addBooking", () -> bookings.addBooking(booking), 1);
+    }
+
+    public void reserve(Booking booking) {
+        metrics.run("reserve", () -> bookings.reserve(booking), 1);
+    }
+
+    public void updateBooking(Booking booking) {
+        metrics.run("updateBooking", () -> bookings.updateBooking(booking), 1);
+    }
+
+    public void reserveUpdate(Booking booking) {
+        metrics.run("reserveUpdate", () -> bookings.reserveUpdate(booking), 1);
+    }
+
+    public boolean deleteBooking(int bookingId) {
+        return metrics.time("deleteBooking", () -> bookings.deleteBooking(bookingId), deleted -> deleted ? 1 : 0);
+    }
+
+    public BatchResult<Booking> addBookings(List<Booking> items) {
+        return metrics.time("addBookings", () -> bookings.addBookings(items), MeteredRepository::succeeded);
+    }
+
+    public BatchResult<Booking> updateBookings(List<Booking> items) {
+        return metrics.time("updateBookings", () -> bookings.updateBookings(items), MeteredRepository::succeeded);
+    }
+
+    public BookingPage<Booking> getBookingsPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        return metrics.time("getBookingsPage", () -> bookings.getBookingsPage(filter, cursor, limit, sort),
+                page -> page.getItems().size());
+    }
+
+    public BookingPage<BookingSummary> getSummaryPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        return metrics.time("getSummaryPage", () -> bookings.getSummaryPage(filter, cursor, limit, sort),
+                page -> page.getItems().size());
+    }
+
+    public long countBookings(BookingFilter filter) {
+        return metrics.time("countBookings", () -> bookings.countBookings(filter), count -> 1);
+    }
+
+    public long estimateBookingCount() {
+        return metrics.time("estimateBookingCount", bookings::estimateBookingCount, count -> 1);
+    }
+
+    public long streamBookings(BookingFilter filter, Predicate<Booking> handler) {
+        return metrics.time("streamBookings", () -> bookings.streamBookings(filter, handler), count -> count);
+    }
+
+    public List<Booking> findOverlapping(int venueId, LocalDateTime start, LocalDateTime end, Integer excludeBookingId) {
+        return metrics.time("findOverlapping", () -> bookings.findOverlapping(venueId, start, end, excludeBookingId),
+                List::size);
+    }
+
+    public List<Booking> findByVenueBetween(int venueId, LocalDateTime from, LocalDateTime to, Collection<String> statuses) {
+        return metrics.time("findByVenueBetween", () -> bookings.findByVenueBetween(venueId, from, to, statuses),
+                List::size);
+    }
+
+    public BookingChangeSet<Booking> getChangesSince(long watermark) {
+        return metrics.time("getChangesSince", () -> bookings.getChangesSince(watermark), MeteredRepository::changed);
+    }
+
+    public BookingChangeSet<BookingSummary> getSummaryChangesSince(long watermark) {
+        return metrics.time("getSummaryChangesSince", () -> bookings.getSummaryChangesSince(watermark),
+                MeteredRepository::changed);
+    }
+
+    public long getChangeWatermark() {
+        return metrics.time("getChangeWatermark", bookings::getChangeWatermark, watermark -> 1);
+    }
+
+    public void replaceConflictFlags(Collection<Integer> bookingIds) {
+        metrics.run("replaceConflictFlags", () -> bookings.replaceConflictFlags(bookingIds), bookingIds.size());
+    }
+
+    public Set<Integer> getConflictFlags() {
+        return metrics.time("getConflictFlags", bookings::getConflictFlags, Set::size);
+    }
+
+    // Client operations
+    public List<Client> getAllClients() {
+        return metrics.time("getAllClients", clients::getAllClients, List::size);
+    }
+
+    public void addClient(Client client) {
+        metrics.run("addClient", () -> clients.addClient(client), 1);
+    }
+
+    public void updateClient(Client client) {
+        metrics.run("updateClient", () -> clients.updateClient(client), 1);
+    }
+
+    public boolean deleteClient(int clientId) {
+        return metrics.time("deleteClient", () -> clients.deleteClient(clientId), deleted -> deleted ? 1 : 0);
+    }
+
+    public BatchResult<Client> addClients(List<Client> items) {
+        return metrics.time("addClients", () -> clients.addClients(items), MeteredRepository::succeeded);
+    }
+
+    public BatchResult<Client> updateClients(List<Client> items) {
+        return metrics.time("updateClients", () -> clients.updateClients(items), MeteredRepository::succeeded);
+    }
+
+    // Venue operations
+    public List<Venue> getAllVenues() {
+        return metrics.time("getAllVenues", venues::getAllVenues, List::size);
+    }
+
+    public void addVenue(Venue venue) {
+        metrics.run("addVenue", () -> venues.addVenue(venue), 1);
+    }
+
+    public void updateVenue(Venue venue) {
+        metrics.run("updateVenue", () -> venues.updateVenue(venue), 1);
+    }
+
+    public boolean deleteVenue(int venueId) {
+        return metrics.time("deleteVenue", () -> venues.deleteVenue(venueId), deleted -> deleted ? 1 : 0);
+    }
+
+    public BatchResult<Venue> addVenues(List<Venue> items) {
+        return metrics.time("addVenues", () -> venues.addVenues(items), MeteredRepository::succeeded);
+    }
+
+    public BatchResult<Venue> updateVenues(List<Venue> items) {
+        return metrics.time("updateVenues", () -> venues.updateVenues(items), MeteredRepository::succeeded);
+    }
+
+    public List<Venue> findVenues(Collection<String> requiredAmenities, int minCapacity) {
+        return metrics.time("findVenues", () -> venues.findVenues(requiredAmenities, minCapacity), List::size);
+    }
+
+    // Vendor operations
+    public List<Vendor> getAllVendors() {
+        return metrics.time("getAllVendors", vendors::getAllVendors, List::size);
+    }
+
+    public void addVendor(Vendor vendor) {
+        metrics.run("addVendor", () -> vendors.addVendor(vendor), 1);
+    }
+
+    public void updateVendor(Vendor vendor) {
+        metrics.run("updateVendor", () -> vendors.updateVendor(vendor), 1);
+    }
+
+    public boolean deleteVendor(int vendorId) {
+        return metrics.time("deleteVendor", () -> vendors.deleteVendor(vendorId), deleted -> deleted ? 1 : 0);
+    }
+
+    public BatchResult<Vendor> addVendors(List<Vendor> items) {
+        return metrics.time("addVendors", () -> vendors.addVendors(items), MeteredRepository::succeeded);
+    }
+
+    public BatchResult<Vendor> updateVendors(List<Vendor> items) {
+        return metrics.time("updateVendors", () -> vendors.updateVendors(items), MeteredRepository::succeeded);
+    }
+
+    private static long succeeded(BatchResult<?> result) {
+        return result.getSucceeded().size();
+    }
+
+    private static long changed(BookingChangeSet<?> changes) {
+        return changes.getUpserted().size() + changes.getDeletedIds().size();
+    }
+}
@@ -0,0 +1,332 @@
+package org.example.eliteevents.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned SQL scripts under {@code /sql/migrations} in order and records each
+ * one in the {@code schema_migrations} table together with a SHA-256 checksum.
+ *
+ * Runs at startup when {@code db.migrate.onStartup=true}, or from the command line:
+ * {@code MigrationRunner migrate|validate|info}.
+ */
+public class MigrationRunner {
+    private static final Logger logger = Logger.getLogger(MigrationRunner.class.getName());
+
+    private static final String MIGRATIONS_PATH = "/sql/migrations/";
+    private static final String INDEX_FILE = "migrations.index";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String LOCK_NAME = "elite_events_schema_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private final ConnectionPool pool;
+
+    public MigrationRunner(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Applies every pending migration. Returns the number of migrations applied.
+     */
+    public int migrate() {
+        List<Migration> migrations = loadMigrations();
+
+        try (Connection connection = pool.getConnection()) {
+            ensureHistoryTable(connection);
+            acquireLock(connection);
+            try {
+                Map<Integer, String> applied = appliedChecksums(connection);
+                validate(migrations, applied);
+
+                int count = 0;
+                for (Migration migration : migrations) {
+                    if (!applied.containsKey(migration.getVersion())) {
+                        apply(connection, migration);
+                        count++;
+                    }
+                }
+
+                if (count == 0) {
+                    logger.info("✅ Schema is up to date (version " + currentVersion(migrations) + ")");
+                } else {
+                    logger.info("✅ Applied " + count + " migration(s), schema now at version " + currentVersion(migrations));
+                }
+                return count;
+            } finally {
+                releaseLock(connection);
+            }
+        } catch (SQLException e) {
+            logger.severe("Error running migrations: " + e.getMessage());
+            throw new RuntimeException("Failed to run schema migrations", e);
+        }
+    }
+
+    /**
+     * Checks applied migrations against the scripts on the classpath without changing anything.
+     */
+    public void validate() {
+        try (Connection connection = pool.getConnection()) {
+            ensureHistoryTable(connection);
+            validate(loadMigrations(), appliedChecksums(connection));
+            logger.info("✅ Applied migrations match their scripts");
+        } catch (SQLException e) {
+            logger.severe("Error validating migrations: " + e.getMessage());
+            throw new RuntimeException("Failed to validate schema migrations", e);
+        }
+    }
+
+    /**
+     * One line per known migration with its applied/pending state.
+     */
+    public List<String> info() {
+        try (Connection connection = pool.getConnection()) {
+            ensureHistoryTable(connection);
+            Map<Integer, String> applied = appliedChecksums(connection);
+
+            List<String> lines = new ArrayList<>();
+            for (Migration migration : loadMigrations()) {
+                String state = applied.containsKey(migration.getVersion()) ? "applied" : "pending";
+                lines.add(String.format("V%-4d %-8s %s", migration.getVersion(), state, migration.getDescription()));
+            }
+            return lines;
+        } catch (SQLException e) {
+            logger.severe("Error reading migration history: " + e.getMessage());
+            throw new RuntimeException("Failed to read schema migration history", e);
+        }
+    }
+
+    public List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+        for (String scriptName : readLines(MIGRATIONS_PATH + INDEX_FILE)) {
+            Matcher matcher = SCRIPT_NAME.matcher(scriptName);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Migration script name must look like V<n>__<description>.sql: " + scriptName);
+            }
+            String script = String.join("\n", readLines(MIGRATIONS_PATH + scriptName));
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '), scriptName, script));
+        }
+
+        migrations.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() == migrations.get(i - 1).getVersion()) {
+                throw new IllegalStateException("Duplicate migration version V" + migrations.get(i).getVersion());
+            }
+        }
+        return migrations;
+    }
+
+    private void validate(List<Migration> migrations, Map<Integer, String> applied) {
+        Map<Integer, Migration> byVersion = new HashMap<>();
+        for (Migration migration : migrations) {
+            byVersion.put(migration.getVersion(), migration);
+        }
+
+        for (Map.Entry<Integer, String> entry : applied.entrySet()) {
+            Migration migration = byVersion.get(entry.getKey());
+            if (migration == null) {
+                logger.warning("⚠️ Migration V" + entry.getKey() + " is recorded in schema_migrations but has no script");
+            } else if (!migration.getChecksum().equals(entry.getValue())) {
+                throw new IllegalStateException("Checksum mismatch for migration " + migration.getScriptName() +
+                        ": the script was changed after it was applied");
+            }
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        logger.info("Applying migration " + migration.getScriptName());
+        long started = System.currentTimeMillis();
+
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : migration.getStatements()) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            // MySQL auto-commits DDL, so earlier statements of this script may already be in place
+            throw new SQLException("Migration " + migration.getScriptName() + " failed: " + e.getMessage() +
+                    " (statements before the failing one are not rolled back)", e.getSQLState(), e);
+        }
+
+        String sql = "INSERT INTO schema_migrations (version, description, script, checksum, execution_ms) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, migration.getVersion());
+            stmt.setString(2, migration.getDescription());
+            stmt.setString(3, migration.getScriptName());
+            stmt.setString(4, migration.getChecksum());
+            stmt.setLong(5, System.currentTimeMillis() - started);
+            stmt.executeUpdate();
+        }
+
+        logger.info("✅ Migration applied: " + migration.getScriptName());
+    }
+
+    private void ensureHistoryTable(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                    "version INT PRIMARY KEY, " +
+                    "description VARCHAR(255) NOT NULL, " +
+                    "script VARCHAR(255) NOT NULL, " +
+                    "checksum CHAR(64) NOT NULL, " +
+                    "execution_ms BIGINT NOT NULL, " +
+                    "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private Map<Integer, String> appliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, String> applied = new TreeMap<>();
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT version, checksum FROM schema_migrations");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    // Serializes migrations across application instances starting at the same time
+    private void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for the schema migration lock");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            logger.warning("Could not release schema migration lock: " + e.getMessage());
+        }
+    }
+
+    private static int currentVersion(List<Migration> migrations) {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+    }
+
+    private List<String> readLines(String resource) {
+        InputStream in = getClass().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalStateException("Migration resource not found: " + resource);
+        }
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (resource.endsWith(INDEX_FILE)) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                }
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read migration resource " + resource, e);
+        }
+        return lines;
+    }
+
+    /**
+     * Command-line entry point: {@code migrate} (default), {@code validate} or {@code info}.
+     */
+    public static void main(String[] args) {
+        String command = args.length > 0 ? args[0] : "migrate";
+
+        try (ConnectionPool pool = new ConnectionPool(new ConnectionPool.Config(DatabaseService.loadProperties()))) {
+            MigrationRunner runner = new MigrationRunner(pool);
+            switch (command) {
+                case "migrate" -> System.out.println("✅ Applied " + runner.migrate() + " migration(s)");
+                case "validate" -> {
+                    runner.validate();
+                    System.out.println("✅ Migrations valid");
+                }
+                case "info" -> runner.info().forEach(System.out::println);
+                default -> {
+                    System.err.println("Usage: MigrationRunner [migrate|validate|info]");
+                    System.exit(2);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Migration command failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * A single versioned script.
+     */
+    public static class Migration {
+        private final int version;
+        private final String description;
+        private final String scriptName;
+        private final String script;
+        private final String checksum;
+
+        public Migration(int version, String description, String scriptName, String script) {
+            this.version = version;
+            this.description = description;
+            this.scriptName = scriptName;
+            this.script = script;
+            this.checksum = sha256(script);
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+        public String getScriptName() { return scriptName; }
+        public String getChecksum() { return checksum; }
+
+        /**
+         * Splits the script into statements on semicolons at the end of a line,
+         * skipping blank lines and {@code --} comments.
+         */
+        public List<String> getStatements() {
+            List<String> statements = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+
+            for (String line : script.split("\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                current.append(line).append('\n');
+                if (trimmed.endsWith(";")) {
+                    String sql = current.toString().trim();
+                    statements.add(sql.substring(0, sql.length() - 1));
+                    current.setLength(0);
+                }
+            }
+            if (!current.toString().isBlank()) {
+                statements.add(current.toString().trim());
+            }
+            return statements;
+        }
+
+        private static String sha256(String text) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.eliteevents.services;
+
+/**
+ * Live timings for one repository operation, registered by {@link QueryMetrics} as
+ * {@code org.example.eliteevents:type=QueryMetrics,operation=<name>}. Latencies cover every call,
+ * failed ones included, since the metrics were created or last reset.
+ */
+public interface OperationMetricsMXBean {
+    String getOperation();
+
+    long getCalls();
+
+    long getErrors();
+
+    /**
+     * Rows returned by reads, or written by writes.
+     */
+    long getRows();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    void reset();
+}
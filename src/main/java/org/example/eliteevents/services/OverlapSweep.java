@@ -0,0 +1,121 @@
+package org.example.eliteevents.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sweep-line overlap detection: sorts ranges by start, then walks them keeping the ranges that
+ * are still open in a heap ordered by end. Every pair of overlapping ranges is reported once, in
+ * O(n log n + k) for n ranges and k pairs. Ranges are closed, so ranges that touch overlap,
+ * matching {@link ConflictDetectionService}.
+ */
+final class OverlapSweep {
+    private OverlapSweep() {
+    }
+
+    @FunctionalInterface
+    interface PairHandler<T> {
+        /**
+         * Called for each overlapping pair; {@code earlier} does not start after {@code later}.
+         */
+        void overlap(T earlier, T later);
+    }
+
+    @FunctionalInterface
+    interface IndexPairHandler {
+        /**
+         * Called for each overlapping pair of array positions; {@code earlier} does not start
+         * after {@code later}.
+         */
+        void overlap(int earlier, int later);
+    }
+
+    static <T> void run(List<T> items, ToLongFunction<? super T> start, ToLongFunction<? super T> end,
+                        PairHandler<? super T> handler) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(start));
+        PriorityQueue<T> open = new PriorityQueue<>(Comparator.comparingLong(end));
+
+        for (T item : sorted) {
+            long itemStart = start.applyAsLong(item);
+            while (!open.isEmpty() && end.applyAsLong(open.peek()) < itemStart) {
+                open.poll();
+            }
+            for (T other : open) {
+                handler.overlap(other, item);
+            }
+            open.add(item);
+        }
+    }
+
+    /**
+     * The same sweep over positions [from, to) of parallel start and end arrays, without
+     * allocating per range: positions are sorted as packed longs and the open set is a binary
+     * heap of ints.
+     */
+    static void run(int[] starts, int[] ends, int from, int to, IndexPairHandler handler) {
+        int count = to - from;
+        // Start in the high half, offset in the low half: sorting the longs sorts by start
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = ((long) starts[from + i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int[] open = new int[count];
+        int openCount = 0;
+        for (long packed : order) {
+            int item = from + (int) packed;
+            int itemStart = starts[item];
+            while (openCount > 0 && ends[open[0]] < itemStart) {
+                open[0] = open[--openCount];
+                siftDown(open, openCount, ends);
+            }
+            for (int i = 0; i < openCount; i++) {
+                handler.overlap(open[i], item);
+            }
+            open[openCount] = item;
+            siftUp(open, openCount++, ends);
+        }
+    }
+
+    private static void siftUp(int[] heap, int at, int[] ends) {
+        int item = heap[at];
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (ends[heap[parent]] <= ends[item]) {
+                break;
+            }
+            heap[at] = heap[parent];
+            at = parent;
+        }
+        heap[at] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, int[] ends) {
+        if (size == 0) {
+            return;
+        }
+        int at = 0;
+        int item = heap[0];
+        while (true) {
+            int child = 2 * at + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ends[heap[child + 1]] < ends[heap[child]]) {
+                child++;
+            }
+            if (ends[item] <= ends[heap[child]]) {
+                break;
+            }
+            heap[at] = heap[child];
+            at = child;
+        }
+        heap[at] = item;
+    }
+}
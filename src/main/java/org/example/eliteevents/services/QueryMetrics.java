@@ -0,0 +1,249 @@
+package org.example.eliteevents.services;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
+
+/**
+ * Call counts, row counts, error counts and latency histograms per repository operation,
+ * published as one platform MXBean per operation so they can be watched in JConsole or
+ * Mission Control. Operations are registered on their first call.
+ *
+ * Recording is lock-free: a call costs two {@link System#nanoTime()} reads and a few atomic adds.
+ * Latencies are kept in log-linear buckets (eight per power of two of microseconds), so the
+ * reported percentiles are within 12.5% of the true value.
+ */
+public class QueryMetrics implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(QueryMetrics.class.getName());
+    public static final String DOMAIN = "org.example.eliteevents";
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final boolean registerMBeans;
+
+    public QueryMetrics() {
+        this(true);
+    }
+
+    public QueryMetrics(boolean registerMBeans) {
+        this.registerMBeans = registerMBeans;
+    }
+
+    /**
+     * Runs the call and records its latency, its row count and whether it threw.
+     */
+    public <T> T time(String operation, Supplier<T> call, ToLongFunction<? super T> rows) {
+        Operation metrics = operations.computeIfAbsent(operation, this::register);
+        long started = System.nanoTime();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            metrics.record(System.nanoTime() - started, 0, true);
+            throw e;
+        }
+        metrics.record(System.nanoTime() - started, rows.applyAsLong(result), false);
+        return result;
+    }
+
+    public void run(String operation, Runnable call, long rows) {
+        time(operation, () -> {
+            call.run();
+            return null;
+        }, ignored -> rows);
+    }
+
+    public OperationMetricsMXBean operation(String name) {
+        return operations.computeIfAbsent(name, this::register);
+    }
+
+    /**
+     * Every operation called so far.
+     */
+    public Collection<OperationMetricsMXBean> getOperations() {
+        return new ArrayList<>(operations.values());
+    }
+
+    public void reset() {
+        operations.values().forEach(Operation::reset);
+    }
+
+    /**
+     * Unregisters the MXBeans.
+     */
+    @Override
+    public void close() {
+        if (!registerMBeans) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (String name : operations.keySet()) {
+            try {
+                ObjectName objectName = objectName(name);
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+            } catch (JMException e) {
+                logger.warning("Could not unregister query metrics for " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Operation register(String name) {
+        Operation operation = new Operation(name);
+        if (!registerMBeans) {
+            return operation;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = objectName(name);
+            // A repository created earlier in this JVM may still hold the name
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(operation, objectName);
+        } catch (JMException e) {
+            logger.warning("Could not register query metrics for " + name + ": " + e.getMessage());
+        }
+        return operation;
+    }
+
+    private static ObjectName objectName(String operation) throws JMException {
+        return new ObjectName(DOMAIN + ":type=QueryMetrics,operation=" + ObjectName.quote(operation));
+    }
+
+    private static final class Operation implements OperationMetricsMXBean {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos, long rowCount, boolean failed) {
+            long micros = Math.max(0, nanos / 1000);
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            rows.add(rowCount);
+            totalMicros.add(micros);
+            maxMicros.accumulate(micros);
+            histogram.record(micros);
+        }
+
+        public String getOperation() { return name; }
+        public long getCalls() { return calls.sum(); }
+        public long getErrors() { return errors.sum(); }
+        public long getRows() { return rows.sum(); }
+
+        public double getMeanMillis() {
+            long count = calls.sum();
+            return count == 0 ? 0.0 : totalMicros.sum() / 1000.0 / count;
+        }
+
+        public double getP50Millis() { return percentileMillis(0.50); }
+        public double getP95Millis() { return percentileMillis(0.95); }
+        public double getP99Millis() { return percentileMillis(0.99); }
+        public double getMaxMillis() { return maxMicros.get() / 1000.0; }
+
+        public void reset() {
+            calls.reset();
+            errors.reset();
+            rows.reset();
+            totalMicros.reset();
+            maxMicros.reset();
+            histogram.reset();
+        }
+
+        // A bucket's upper bound can exceed the largest value seen, so cap it at the max
+        private double percentileMillis(double percentile) {
+            return Math.min(histogram.percentile(percentile), maxMicros.get()) / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: calls=%d, errors=%d, rows=%d, p50=%.2fms, p95=%.2fms, p99=%.2fms, max=%.2fms",
+                    name, getCalls(), getErrors(), getRows(), getP50Millis(), getP95Millis(), getP99Millis(), getMaxMillis());
+        }
+    }
+
+    /**
+     * Counts of microsecond values in buckets 0-7 exactly, then eight equal buckets for each
+     * power of two above that.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void record(long micros) {
+            counts.incrementAndGet(bucket(micros));
+        }
+
+        /**
+         * Upper bound of the bucket holding the value at the percentile, or 0 if empty.
+         */
+        long percentile(double percentile) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+        }
+
+        static int bucket(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+            return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+    }
+}
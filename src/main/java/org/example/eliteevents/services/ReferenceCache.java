@@ -0,0 +1,140 @@
+package org.example.eliteevents.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache for one full reference-data list (all clients, all venues, ...).
+ *
+ * The list is reloaded after the TTL expires or after {@link #invalidate()}; lists longer than
+ * the max size are returned but not kept. Callers get copies of the cached entities, so editing
+ * one in a form cannot change what other screens see. Each snapshot records the invalidation
+ * generation its load started in and is ignored once that has moved on, so a write is never
+ * hidden by a read that started before it.
+ */
+public class ReferenceCache<T> {
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final UnaryOperator<T> copier;
+    private final Stats stats = new Stats();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object loadLock = new Object();
+    private volatile Snapshot<T> snapshot;
+
+    public ReferenceCache(long ttlMillis, int maxEntries, UnaryOperator<T> copier) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxEntries = maxEntries;
+        this.copier = copier;
+    }
+
+    public List<T> get(Supplier<List<T>> loader) {
+        Snapshot<T> current = load(loader);
+        return current.cached ? copyOf(current.items) : current.items;
+    }
+
+    /**
+     * A value built from the cached list, such as an index, kept until the list is reloaded.
+     * The builder gets the cached entities themselves and must not change them or hand them out.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R derive(Supplier<List<T>> loader, Function<List<T>, R> builder) {
+        Snapshot<T> current = load(loader);
+        if (!current.cached) {
+            return builder.apply(current.items);
+        }
+        return (R) current.derived.computeIfAbsent(builder, b -> builder.apply(Collections.unmodifiableList(current.items)));
+    }
+
+    private Snapshot<T> load(Supplier<List<T>> loader) {
+        Snapshot<T> current = snapshot;
+        if (isFresh(current)) {
+            stats.hits.incrementAndGet();
+            return current;
+        }
+
+        // One loader at a time, so a burst of screens opening costs a single query
+        synchronized (loadLock) {
+            current = snapshot;
+            if (isFresh(current)) {
+                stats.hits.incrementAndGet();
+                return current;
+            }
+
+            stats.misses.incrementAndGet();
+            long loadGeneration = generation.get();
+            List<T> loaded = loader.get();
+            if (ttlNanos > 0 && loaded.size() <= maxEntries) {
+                // Stored even if an invalidation has just run: isFresh rejects it by generation
+                snapshot = new Snapshot<>(copyOf(loaded), System.nanoTime(), loadGeneration, true);
+                return snapshot;
+            }
+            return new Snapshot<>(loaded, System.nanoTime(), loadGeneration, false);
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        stats.invalidations.incrementAndGet();
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    private boolean isFresh(Snapshot<T> current) {
+        return current != null && current.generation == generation.get()
+                && System.nanoTime() - current.loadedAt < ttlNanos;
+    }
+
+    private List<T> copyOf(List<T> items) {
+        List<T> copies = new ArrayList<>(items.size());
+        for (T item : items) {
+            copies.add(copier.apply(item));
+        }
+        return copies;
+    }
+
+    private static final class Snapshot<T> {
+        private final List<T> items;
+        private final long loadedAt;
+        private final long generation;
+        private final boolean cached;
+        private final Map<Function<List<T>, ?>, Object> derived = new ConcurrentHashMap<>();
+
+        private Snapshot(List<T> items, long loadedAt, long generation, boolean cached) {
+            this.items = items;
+            this.loadedAt = loadedAt;
+            this.generation = generation;
+            this.cached = cached;
+        }
+    }
+
+    public static class Stats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong invalidations = new AtomicLong();
+
+        public long getHits() { return hits.get(); }
+        public long getMisses() { return misses.get(); }
+        public long getInvalidations() { return invalidations.get(); }
+
+        public double getHitRate() {
+            long total = getHits() + getMisses();
+            return total == 0 ? 0.0 : (double) getHits() / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, invalidations=%d, hitRate=%.1f%%",
+                    getHits(), getMisses(), getInvalidations(), getHitRate() * 100);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.eliteevents.services;
+
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Entry point for data access. Returns the repositories selected by {@code db.repository} in
+ * database.properties: {@code jdbc} (default) for MySQL through {@link DatabaseService}, or
+ * {@code memory} for {@link InMemoryRepository}. A {@code -Ddb.repository=...} system property
+ * overrides the file, which is handy for benchmarks.
+ *
+ * Clients, venues and vendors are served through a {@link CachingReferenceRepository} unless
+ * {@code db.cache.ttlSeconds} is 0. Booking saves go through a {@link WriteBehindBookingRepository}
+ * when {@code db.writeBehind.enabled} is true. With {@code db.metrics.enabled}, a
+ * {@link MeteredRepository} times every call to the backend and publishes the figures over JMX.
+ */
+public final class Repositories {
+    private static final Logger logger = Logger.getLogger(Repositories.class.getName());
+
+    private static final long DEFAULT_CONFLICT_INDEX_REFRESH_MS = 1000;
+    private static final int DEFAULT_AVAILABILITY_HORIZON_DAYS = 90;
+
+    private static volatile Selection selection;
+
+    private Repositories() {
+    }
+
+    public static BookingRepository bookings() {
+        return selection().bookings;
+    }
+
+    public static ClientRepository clients() {
+        return selection().clients;
+    }
+
+    public static VenueRepository venues() {
+        return selection().venues;
+    }
+
+    public static VendorRepository vendors() {
+        return selection().vendors;
+    }
+
+    /**
+     * The reference-data cache in front of the configured repositories, or null if caching is off.
+     */
+    public static CachingReferenceRepository referenceCache() {
+        return selection().referenceCache;
+    }
+
+    /**
+     * The write-behind queue in front of the booking repository, or null if saves are synchronous.
+     */
+    public static WriteBehindBookingRepository writeBehind() {
+        return selection().writeBehind;
+    }
+
+    /**
+     * Shared in-memory overlap index over {@link #bookings()}, refreshed from its change feed at
+     * most every {@code db.conflictIndex.refreshMs}.
+     */
+    public static ConflictIndex conflictIndex() {
+        return selection().conflictIndex;
+    }
+
+    /**
+     * Shared 15-minute occupancy bitmaps of confirmed bookings over {@link #conflictIndex()},
+     * kept for the next {@code db.availability.horizonDays}.
+     */
+    public static AvailabilityGrid availabilityGrid() {
+        return selection().availabilityGrid;
+    }
+
+    /**
+     * Shared columnar snapshot of {@link #bookings()} for the dashboard and the schedule audit,
+     * so each refresh only applies the changes since the last one, whoever made it.
+     */
+    public static BookingColumns bookingColumns() {
+        return selection().bookingColumns;
+    }
+
+    /**
+     * Per-operation timings of backend calls, or null if {@code db.metrics.enabled} is false.
+     */
+    public static QueryMetrics metrics() {
+        return selection().metrics;
+    }
+
+    /**
+     * Replaces the configured repositories, e.g. with a pre-populated {@link InMemoryRepository}.
+     * Call before any screen or service fetches its repositories.
+     */
+    public static synchronized void use(BookingRepository bookings, ClientRepository clients,
+                                        VenueRepository venues, VendorRepository vendors) {
+        selection = new Selection(bookings, clients, venues, vendors, null, null, null, DEFAULT_CONFLICT_INDEX_REFRESH_MS,
+                DEFAULT_AVAILABILITY_HORIZON_DAYS);
+    }
+
+    private static Selection selection() {
+        Selection result = selection;
+        if (result == null) {
+            synchronized (Repositories.class) {
+                result = selection;
+                if (result == null) {
+                    selection = result = load();
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Selection load() {
+        Properties props = DatabaseService.loadProperties();
+        String backend = System.getProperty("db.repository", props.getProperty("db.repository", "jdbc")).trim();
+
+        switch (backend) {
+            case "memory":
+                InMemoryRepository memory = new InMemoryRepository(
+                        Boolean.parseBoolean(props.getProperty("db.identityMap", "true").trim()));
+                if (Boolean.parseBoolean(props.getProperty("db.memory.seedSampleData", "true"))) {
+                    memory.seedSampleData();
+                }
+                logger.info("✅ Using in-memory repositories");
+                return decorate(memory, memory, memory, memory, props);
+            case "jdbc":
+                DatabaseService database = DatabaseService.getInstance();
+                return decorate(database, database, database, database, props);
+            default:
+                throw new IllegalStateException("Unknown db.repository: " + backend);
+        }
+    }
+
+    private static Selection decorate(BookingRepository bookings, ClientRepository clients,
+                                       VenueRepository venues, VendorRepository vendors, Properties props) {
+        QueryMetrics metrics = null;
+        if (Boolean.parseBoolean(props.getProperty("db.metrics.enabled", "true").trim())) {
+            metrics = new QueryMetrics();
+            MeteredRepository metered = new MeteredRepository(bookings, clients, venues, vendors, metrics);
+            bookings = metered;
+            clients = metered;
+            venues = metered;
+            vendors = metered;
+            logger.info("✅ Query metrics published over JMX (" + QueryMetrics.DOMAIN + ":type=QueryMetrics)");
+        }
+
+        WriteBehindBookingRepository writeBehind = null;
+        if (Boolean.parseBoolean(props.getProperty("db.writeBehind.enabled", "false").trim())) {
+            writeBehind = new WriteBehindBookingRepository(bookings, props);
+            bookings = writeBehind;
+            logger.info("✅ Booking saves use write-behind");
+        }
+
+        long conflictIndexRefreshMs = ConnectionPool.Config.longProperty(props, "db.conflictIndex.refreshMs",
+                DEFAULT_CONFLICT_INDEX_REFRESH_MS);
+        int availabilityHorizonDays = (int) ConnectionPool.Config.longProperty(props, "db.availability.horizonDays",
+                DEFAULT_AVAILABILITY_HORIZON_DAYS);
+        if (ConnectionPool.Config.longProperty(props, "db.cache.ttlSeconds", 300) <= 0) {
+            return new Selection(bookings, clients, venues, vendors, null, writeBehind, metrics, conflictIndexRefreshMs,
+                    availabilityHorizonDays);
+        }
+        CachingReferenceRepository cache = new CachingReferenceRepository(clients, venues, vendors, props);
+        return new Selection(bookings, cache, cache, cache, cache, writeBehind, metrics, conflictIndexRefreshMs,
+                availabilityHorizonDays);
+    }
+
+    private static final class Selection {
+        private final BookingRepository bookings;
+        private final ClientRepository clients;
+        private final VenueRepository venues;
+        private final VendorRepository vendors;
+        private final CachingReferenceRepository referenceCache;
+        private final WriteBehindBookingRepository writeBehind;
+        private final QueryMetrics metrics;
+        private final ConflictIndex conflictIndex;
+        private final AvailabilityGrid availabilityGrid;
+        private final BookingColumns bookingColumns = new BookingColumns();
+
+        private Selection(BookingRepository bookings, ClientRepository clients, VenueRepository venues,
+                          VendorRepository vendors, CachingReferenceRepository referenceCache,
+                          WriteBehindBookingRepository writeBehind, QueryMetrics metrics,
+                          long conflictIndexRefreshMs, int availabilityHorizonDays) {
+            this.bookings = bookings;
+            this.clients = clients;
+            this.venues = venues;
+            this.vendors = vendors;
+            this.referenceCache = referenceCache;
+            this.writeBehind = writeBehind;
+            this.metrics = metrics;
+            this.conflictIndex = new ConflictIndex(bookings, conflictIndexRefreshMs);
+            this.availabilityGrid = new AvailabilityGrid(conflictIndex, ConflictDetectionService.AVAILABLE_SLOT_STATUSES,
+                    availabilityHorizonDays);
+        }
+    }
+}
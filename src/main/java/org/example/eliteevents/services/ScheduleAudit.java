@@ -0,0 +1,269 @@
+package org.example.eliteevents.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * Finds every pair of overlapping bookings at the same venue across the whole history, for
+ * example bookings saved past a conflict warning or written straight to the database.
+ *
+ * Bookings are read from a {@link BookingColumns} snapshot and grouped by venue, then each
+ * venue is swept on its own ({@link OverlapSweep}) in a {@link ForkJoinPool}, so no venue is
+ * ever compared with another. Cancelled bookings are ignored, and so are bookings that only
+ * touch, one ending the minute the other starts: only pairs sharing at least a minute count.
+ *
+ * The audit only reads. Flagging the bookings it finds is a separate step,
+ * {@link #flagConflicts}, and uses flags kept apart from the status.
+ */
+public class ScheduleAudit {
+    private static final Logger logger = Logger.getLogger(ScheduleAudit.class.getName());
+
+    private static final String[] HEADER = {
+            "Venue ID", "Booking ID", "Start", "End", "Overlapping Booking ID", "Start", "End", "Overlap Minutes"
+    };
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    // Venues are split between tasks until a task holds fewer bookings than this
+    private static final int TASK_BOOKINGS = 20_000;
+
+    private final BookingRepository bookingRepository;
+    private final BookingColumns columns;
+
+    public ScheduleAudit(BookingRepository bookingRepository) {
+        this(bookingRepository, new BookingColumns());
+    }
+
+    /**
+     * Shares a snapshot that is already loaded, such as {@link Repositories#bookingColumns()};
+     * it is refreshed first.
+     */
+    public ScheduleAudit(BookingRepository bookingRepository, BookingColumns columns) {
+        this.bookingRepository = bookingRepository;
+        this.columns = columns;
+    }
+
+    /**
+     * Runs the audit on the common pool.
+     */
+    public Result run(OverlapListener listener) {
+        return run(listener, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the audit, passing each venue's overlaps to the listener as soon as that venue is
+     * done. Calls to the listener come from pool threads but never at the same time.
+     */
+    public Result run(OverlapListener listener, ForkJoinPool pool) {
+        long started = System.nanoTime();
+        columns.refresh(bookingRepository);
+        BookingColumns.VenueRanges ranges = columns.rangesByVenue(BookingColumns.CANCELLED);
+
+        Delivery delivery = new Delivery(listener);
+        pool.invoke(new VenueSweep(ranges, 0, ranges.getVenueCount(), delivery));
+
+        Result result = new Result(ranges.size(), ranges.getVenueCount(), delivery.overlaps,
+                delivery.bookingIds, (System.nanoTime() - started) / 1_000_000);
+        logger.info("🔍 Schedule audit: " + result);
+        return result;
+    }
+
+    /**
+     * Runs the audit and writes every overlap to a CSV file, one row per pair.
+     */
+    public Result writeReport(Path target) throws IOException {
+        Result result;
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write(String.join(",", HEADER));
+            writer.newLine();
+            result = run(overlap -> {
+                try {
+                    writer.write(overlap.getVenueId() + "," + overlap.getFirstBookingId() + ","
+                            + BookingColumns.fromMinute(overlap.firstStartMinute).format(DATE_TIME) + ","
+                            + BookingColumns.fromMinute(overlap.firstEndMinute).format(DATE_TIME) + ","
+                            + overlap.getSecondBookingId() + ","
+                            + BookingColumns.fromMinute(overlap.secondStartMinute).format(DATE_TIME) + ","
+                            + BookingColumns.fromMinute(overlap.secondEndMinute).format(DATE_TIME) + ","
+                            + overlap.getOverlapMinutes());
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the repository's conflict flags with the bookings involved in the result's
+     * overlaps. Only the flags are written; statuses and versions are left alone.
+     */
+    public void flagConflicts(Result result) {
+        bookingRepository.replaceConflictFlags(result.getBookingIds());
+        logger.info("🚩 Flagged " + result.getBookingIds().size() + " bookings as conflicting");
+    }
+
+    /**
+     * Receives overlaps as the audit finds them.
+     */
+    @FunctionalInterface
+    public interface OverlapListener {
+        void onOverlap(Overlap overlap);
+    }
+
+    // Serializes listener calls and keeps the totals
+    private static final class Delivery {
+        private final OverlapListener listener;
+        private final Set<Integer> bookingIds = new TreeSet<>();
+        private long overlaps;
+
+        private Delivery(OverlapListener listener) {
+            this.listener = listener;
+        }
+
+        private synchronized void deliver(List<Overlap> found) {
+            for (Overlap overlap : found) {
+                overlaps++;
+                bookingIds.add(overlap.firstBookingId);
+                bookingIds.add(overlap.secondBookingId);
+                listener.onOverlap(overlap);
+            }
+        }
+    }
+
+    // Splits the venues in half until a task is small enough, then sweeps its venues in turn
+    private static final class VenueSweep extends RecursiveAction {
+        private final BookingColumns.VenueRanges ranges;
+        private final int fromVenue;
+        private final int toVenue;
+        private final Delivery delivery;
+
+        private VenueSweep(BookingColumns.VenueRanges ranges, int fromVenue, int toVenue, Delivery delivery) {
+            this.ranges = ranges;
+            this.fromVenue = fromVenue;
+            this.toVenue = toVenue;
+            this.delivery = delivery;
+        }
+
+        @Override
+        protected void compute() {
+            int bookings = ranges.getFrom(toVenue) - ranges.getFrom(fromVenue);
+            if (toVenue - fromVenue > 1 && bookings > TASK_BOOKINGS) {
+                int middle = (fromVenue + toVenue) >>> 1;
+                invokeAll(new VenueSweep(ranges, fromVenue, middle, delivery),
+                        new VenueSweep(ranges, middle, toVenue, delivery));
+                return;
+            }
+            for (int venue = fromVenue; venue < toVenue; venue++) {
+                sweep(venue);
+            }
+        }
+
+        private void sweep(int venue) {
+            int venueId = ranges.getVenueId(venue);
+            int[] ids = ranges.bookingIds();
+            int[] starts = ranges.startMinutes();
+            int[] ends = ranges.endMinutes();
+
+            List<Overlap> found = new ArrayList<>();
+            OverlapSweep.run(starts, ends, ranges.getFrom(venue), ranges.getTo(venue), (earlier, later) -> {
+                // The sweep uses closed ranges; skip pairs that only touch
+                if (Math.min(ends[earlier], ends[later]) > starts[later]) {
+                    found.add(new Overlap(venueId, ids[earlier], starts[earlier], ends[earlier],
+                            ids[later], starts[later], ends[later]));
+                }
+            });
+            if (!found.isEmpty()) {
+                delivery.deliver(found);
+            }
+        }
+    }
+
+    /**
+     * Two bookings at one venue sharing at least a minute; the first starts no later than the second.
+     */
+    public static class Overlap {
+        private final int venueId;
+        private final int firstBookingId;
+        private final int firstStartMinute;
+        private final int firstEndMinute;
+        private final int secondBookingId;
+        private final int secondStartMinute;
+        private final int secondEndMinute;
+
+        public Overlap(int venueId, int firstBookingId, int firstStartMinute, int firstEndMinute,
+                       int secondBookingId, int secondStartMinute, int secondEndMinute) {
+            this.venueId = venueId;
+            this.firstBookingId = firstBookingId;
+            this.firstStartMinute = firstStartMinute;
+            this.firstEndMinute = firstEndMinute;
+            this.secondBookingId = secondBookingId;
+            this.secondStartMinute = secondStartMinute;
+            this.secondEndMinute = secondEndMinute;
+        }
+
+        public int getVenueId() { return venueId; }
+        public int getFirstBookingId() { return firstBookingId; }
+        public int getSecondBookingId() { return secondBookingId; }
+
+        /**
+         * Minutes both bookings share, at least 1.
+         */
+        public int getOverlapMinutes() {
+            return Math.min(firstEndMinute, secondEndMinute) - secondStartMinute;
+        }
+
+        @Override
+        public String toString() {
+            return "Venue " + venueId + ": booking " + firstBookingId + " overlaps booking " + secondBookingId
+                    + " by " + getOverlapMinutes() + " min";
+        }
+    }
+
+    /**
+     * Totals for one audit run.
+     */
+    public static class Result {
+        private final int bookingsChecked;
+        private final int venuesChecked;
+        private final long overlaps;
+        private final Set<Integer> bookingIds;
+        private final long elapsedMillis;
+
+        public Result(int bookingsChecked, int venuesChecked, long overlaps, Set<Integer> bookingIds, long elapsedMillis) {
+            this.bookingsChecked = bookingsChecked;
+            this.venuesChecked = venuesChecked;
+            this.overlaps = overlaps;
+            this.bookingIds = bookingIds;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getBookingsChecked() { return bookingsChecked; }
+        public int getVenuesChecked() { return venuesChecked; }
+        public long getOverlaps() { return overlaps; }
+
+        /**
+         * Every booking involved in at least one overlap, in id order.
+         */
+        public Set<Integer> getBookingIds() { return bookingIds; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return overlaps + " overlaps involving " + bookingIds.size() + " bookings, " + bookingsChecked
+                    + " bookings at " + venuesChecked + " venues checked in " + elapsedMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Venue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Finds free slots across every venue that fits a {@link SlotQuery}, earliest first.
+ *
+ * Each venue has a cursor that walks its days and yields the free intervals long enough for
+ * the query, one day at a time, from {@link ConflictDetectionService#getFreeIntervals}. Slots
+ * follow the same rules as {@code reserve}: every booking holds its venue whatever its status,
+ * and touching a booking is a conflict, so each slot can be reserved as it stands. A
+ * priority queue holds each venue's next slot, so the first N slots cost about N index lookups
+ * plus one per venue, however far ahead the search horizon reaches. Results are produced on
+ * demand; stop consuming them and no further days are looked at.
+ */
+public class SlotFinder {
+    // Earliest first; at the same time the smallest venue that fits, so large rooms stay free
+    private static final Comparator<Slot> SLOT_ORDER = Comparator.comparing(Slot::getStart)
+            .thenComparingInt((Slot slot) -> slot.getVenue().getCapacity())
+            .thenComparingInt(slot -> slot.getVenue().getId());
+
+    private final VenueRepository venueRepository;
+    private final ConflictDetectionService conflictDetectionService;
+
+    public SlotFinder() {
+        this(Repositories.venues(), new ConflictDetectionService());
+    }
+
+    public SlotFinder(VenueRepository venueRepository, ConflictDetectionService conflictDetectionService) {
+        this.venueRepository = venueRepository;
+        this.conflictDetectionService = conflictDetectionService;
+    }
+
+    /**
+     * The first slots matching the query, earliest first.
+     */
+    public List<Slot> findFirst(SlotQuery query, int limit) {
+        List<Slot> slots = new ArrayList<>();
+        Iterator<Slot> iterator = iterator(query);
+        while (slots.size() < limit && iterator.hasNext()) {
+            slots.add(iterator.next());
+        }
+        return slots;
+    }
+
+    public Stream<Slot> stream(SlotQuery query) {
+        Spliterator<Slot> spliterator = Spliterators.spliteratorUnknownSize(iterator(query),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Every slot matching the query, earliest first. The matching venues are looked up now;
+     * their bookings only as the iterator advances.
+     */
+    public Iterator<Slot> iterator(SlotQuery query) {
+        List<VenueCursor> cursors = new ArrayList<>();
+        for (Venue venue : venueRepository.findVenues(query.getRequiredAmenities(), query.getGuests())) {
+            cursors.add(new VenueCursor(venue, query));
+        }
+        return new MergedSlots(cursors);
+    }
+
+    // Always holds the next slot of every venue that has one left
+    private static final class MergedSlots implements Iterator<Slot> {
+        private final PriorityQueue<VenueCursor> queue =
+                new PriorityQueue<>(Comparator.comparing((VenueCursor cursor) -> cursor.next, SLOT_ORDER));
+
+        private MergedSlots(List<VenueCursor> cursors) {
+            for (VenueCursor cursor : cursors) {
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public Slot next() {
+            VenueCursor cursor = queue.poll();
+            if (cursor == null) {
+                throw new NoSuchElementException();
+            }
+            Slot slot = cursor.next;
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+            return slot;
+        }
+    }
+
+    // Walks one venue's opening hours day by day
+    private final class VenueCursor {
+        private final Venue venue;
+        private final SlotQuery query;
+        private LocalDate day;
+        private Iterator<ConflictDetectionService.TimeSlot> dayGaps = new ArrayList<ConflictDetectionService.TimeSlot>().iterator();
+        private Slot next;
+
+        private VenueCursor(Venue venue, SlotQuery query) {
+            this.venue = venue;
+            this.query = query;
+            this.day = query.getFrom().toLocalDate().minusDays(1);
+        }
+
+        // Moves to the venue's next long enough slot; false when there is none before the horizon
+        private boolean advance() {
+            while (true) {
+                while (dayGaps.hasNext()) {
+                    ConflictDetectionService.TimeSlot gap = dayGaps.next();
+                    if (Duration.between(gap.getStart(), gap.getEnd()).compareTo(query.getMinDuration()) >= 0) {
+                        next = new Slot(venue, gap.getStart(), gap.getEnd());
+                        return true;
+                    }
+                }
+
+                day = day.plusDays(1);
+                LocalDateTime opens = max(day.atTime(query.getOpens()), query.getFrom());
+                LocalDateTime closes = min(day.atTime(query.getCloses()), query.getTo());
+                if (!day.atTime(query.getOpens()).isBefore(query.getTo())) {
+                    next = null;
+                    return false;
+                }
+                if (opens.isBefore(closes)) {
+                    dayGaps = conflictDetectionService.getFreeIntervals(venue.getId(), opens, closes, null).iterator();
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * A free interval at a venue, at least as long as the query asked for; it may be longer.
+     */
+    public static class Slot {
+        private final Venue venue;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        public Slot(Venue venue, LocalDateTime start, LocalDateTime end) {
+            this.venue = venue;
+            this.start = start;
+            this.end = end;
+        }
+
+        public Venue getVenue() { return venue; }
+        public LocalDateTime getStart() { return start; }
+        public LocalDateTime getEnd() { return end; }
+        public Duration getDuration() { return Duration.between(start, end); }
+
+        @Override
+        public String toString() {
+            return venue.getName() + ": " + start.format(java.time.format.DateTimeFormatter.ofPattern("MMM d, h:mm a"))
+                    + " - " + end.format(java.time.format.DateTimeFormatter.ofPattern("h:mm a"));
+        }
+    }
+}
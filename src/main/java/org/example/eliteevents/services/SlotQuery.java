@@ -0,0 +1,58 @@
+package org.example.eliteevents.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * What {@link SlotFinder} searches for: free time of at least a minimum length, between the
+ * opening hours of each day in [from, to), at venues seating the guests and offering every
+ * required amenity.
+ */
+public final class SlotQuery {
+    public static final int DEFAULT_HORIZON_DAYS = 60;
+    public static final LocalTime DEFAULT_OPENS = LocalTime.of(9, 0);
+    public static final LocalTime DEFAULT_CLOSES = LocalTime.of(21, 0);
+
+    private final int guests;
+    private final List<String> requiredAmenities;
+    private final Duration minDuration;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final LocalTime opens;
+    private final LocalTime closes;
+
+    /**
+     * Searches the {@value #DEFAULT_HORIZON_DAYS} days after {@code from}, 9 AM to 9 PM.
+     */
+    public SlotQuery(int guests, Collection<String> requiredAmenities, Duration minDuration, LocalDateTime from) {
+        this(guests, requiredAmenities, minDuration, from, from.plusDays(DEFAULT_HORIZON_DAYS), DEFAULT_OPENS, DEFAULT_CLOSES);
+    }
+
+    public SlotQuery(int guests, Collection<String> requiredAmenities, Duration minDuration,
+                     LocalDateTime from, LocalDateTime to, LocalTime opens, LocalTime closes) {
+        if (minDuration.isNegative() || minDuration.isZero()) {
+            throw new IllegalArgumentException("Minimum duration must be positive: " + minDuration);
+        }
+        if (!opens.isBefore(closes)) {
+            throw new IllegalArgumentException("Opening time " + opens + " must be before closing time " + closes);
+        }
+        this.guests = guests;
+        this.requiredAmenities = requiredAmenities != null ? List.copyOf(requiredAmenities) : List.of();
+        this.minDuration = minDuration;
+        this.from = from;
+        this.to = to;
+        this.opens = opens;
+        this.closes = closes;
+    }
+
+    public int getGuests() { return guests; }
+    public List<String> getRequiredAmenities() { return requiredAmenities; }
+    public Duration getMinDuration() { return minDuration; }
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+    public LocalTime getOpens() { return opens; }
+    public LocalTime getCloses() { return closes; }
+}
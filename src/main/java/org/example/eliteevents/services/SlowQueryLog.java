@@ -0,0 +1,458 @@
+package org.example.eliteevents.services;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Logs statements that take longer than {@code db.slowQuery.thresholdMs}, one JSON object per
+ * line, to a size-rotated file. Each entry has the SQL, the bound parameters (redacted per
+ * {@code db.slowQuery.parameters}), the duration, the row count and, for SELECT, UPDATE and
+ * DELETE, the output of {@code EXPLAIN FORMAT=JSON} run on a separate pooled connection.
+ *
+ * The duration covers execution plus the time spent inside {@link ResultSet#next()}, so
+ * callers that process rows while streaming are not counted against the query. The same SQL
+ * is logged at most once per {@code db.slowQuery.rateLimitSeconds}; the entry that follows a
+ * quiet period reports how many were skipped. EXPLAIN and file writes happen on a background
+ * thread, and entries are dropped rather than queued without bound if it falls behind.
+ */
+public class SlowQueryLog implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(SlowQueryLog.class.getName());
+    private static final int MAX_TRACKED_STATEMENTS = 1000;
+    private static final int MAX_QUEUED_ENTRIES = 100;
+
+    /**
+     * How bound parameters are written to the log.
+     */
+    public enum ParameterMode {
+        /** Values as bound. */
+        SHOW,
+        /** Strings replaced by their length; numbers, dates and nulls shown. The default. */
+        REDACT_STRINGS,
+        /** Every value replaced by its type. */
+        REDACT_ALL
+    }
+
+    /**
+     * Source of the connections EXPLAIN runs on; {@link ConnectionPool#getConnection()}.
+     */
+    @FunctionalInterface
+    public interface ConnectionSource {
+        Connection getConnection() throws SQLException;
+    }
+
+    private final Settings settings;
+    private final ConnectionSource connections;
+    private final Logger output;
+    private final FileHandler fileHandler;
+    private final ThreadPoolExecutor worker;
+    private final Map<String, RateLimit> rateLimits = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RateLimit> eldest) {
+            return size() > MAX_TRACKED_STATEMENTS;
+        }
+    };
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Thread workerThread;
+
+    public SlowQueryLog(Settings settings, ConnectionSource connections) throws IOException {
+        this.settings = settings;
+        this.connections = connections;
+
+        Path parent = Paths.get(settings.file).toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        fileHandler = new FileHandler(settings.file, settings.maxFileBytes, settings.maxFiles, true);
+        fileHandler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return record.getMessage() + System.lineSeparator();
+            }
+        });
+        output = Logger.getLogger(SlowQueryLog.class.getName() + ".entries");
+        output.setUseParentHandlers(false);
+        output.addHandler(fileHandler);
+
+        worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_ENTRIES),
+                r -> {
+                    Thread t = new Thread(r, "slow-query-log");
+                    t.setDaemon(true);
+                    workerThread = t;
+                    return t;
+                },
+                (task, executor) -> dropped.incrementAndGet());
+        logger.info("✅ Slow query log enabled (threshold=" + settings.thresholdMs + "ms, file=" + settings.file + ")");
+    }
+
+    /**
+     * Wraps a statement so its executions are timed.
+     */
+    public PreparedStatement watch(PreparedStatement statement, String sql) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new WatchedStatement(statement, sql));
+    }
+
+    /**
+     * True on the thread that runs EXPLAIN. Its statements are one-off text, so the pool
+     * prepares them directly: not cached, and not timed.
+     */
+    boolean isLogThread() {
+        return Thread.currentThread() == workerThread;
+    }
+
+    /**
+     * Number of entries skipped because the background thread was behind.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        output.removeHandler(fileHandler);
+        fileHandler.close();
+    }
+
+    private void finished(String sql, Object[] params, int batchSize, long nanos, long rows) {
+        if (nanos < settings.thresholdMs * 1_000_000L) {
+            return;
+        }
+
+        long suppressed;
+        synchronized (rateLimits) {
+            long now = System.nanoTime();
+            RateLimit limit = rateLimits.get(sql);
+            if (limit != null && now - limit.loggedAt < settings.rateLimitSeconds * 1_000_000_000L) {
+                limit.suppressed++;
+                return;
+            }
+            suppressed = limit != null ? limit.suppressed : 0;
+            RateLimit next = new RateLimit();
+            next.loggedAt = now;
+            rateLimits.put(sql, next);
+        }
+
+        Instant at = Instant.now();
+        logger.warning("⚠️ Slow query (" + nanos / 1_000_000 + "ms, " + rows + " rows): " + abbreviate(sql));
+        worker.execute(() -> write(at, sql, params, batchSize, nanos, rows, suppressed));
+    }
+
+    private void write(Instant at, String sql, Object[] params, int batchSize, long nanos, long rows, long suppressed) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"time\":").append(quote(at.toString()));
+        json.append(",\"durationMs\":").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+        json.append(",\"rows\":").append(rows);
+        json.append(",\"sql\":").append(quote(sql));
+        if (batchSize > 0) {
+            json.append(",\"batchSize\":").append(batchSize);
+        }
+        json.append(",\"params\":[");
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(parameter(params[i]));
+        }
+        json.append(']');
+        if (suppressed > 0) {
+            json.append(",\"suppressedSinceLast\":").append(suppressed);
+        }
+        String plan = batchSize == 0 && settings.explain ? explain(sql, params) : null;
+        json.append(",\"explain\":").append(plan != null ? plan : "null");
+        json.append('}');
+        output.info(json.toString());
+    }
+
+    // The plan as JSON text, or null for statements EXPLAIN does not apply to
+    private String explain(String sql, Object[] params) {
+        String verb = sql.stripLeading().split("\\s", 2)[0].toUpperCase(Locale.ROOT);
+        if (!verb.equals("SELECT") && !verb.equals("UPDATE") && !verb.equals("DELETE")) {
+            return null;
+        }
+        try (Connection connection = connections.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("EXPLAIN FORMAT=JSON " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            return quote("EXPLAIN failed: " + e.getMessage());
+        }
+    }
+
+    private String parameter(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (settings.parameters == ParameterMode.REDACT_ALL) {
+            return quote("<" + value.getClass().getSimpleName() + ">");
+        }
+        if (settings.parameters == ParameterMode.REDACT_STRINGS && value instanceof CharSequence) {
+            return quote("<String(" + ((CharSequence) value).length() + ")>");
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return quote(value.toString());
+    }
+
+    private static String abbreviate(String sql) {
+        String oneLine = sql.replaceAll("\\s+", " ").trim();
+        return oneLine.length() <= 200 ? oneLine : oneLine.substring(0, 200) + "...";
+    }
+
+    static String quote(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static final class RateLimit {
+        private long loggedAt;
+        private long suppressed;
+    }
+
+    /**
+     * Records bound parameters and times each execution. A query finishes when its result set
+     * or the statement is closed; updates and batches finish when they return.
+     */
+    private final class WatchedStatement implements InvocationHandler {
+        private final PreparedStatement raw;
+        private final String sql;
+        private Object[] params = new Object[0];
+        private int batchSize;
+        private WatchedResultSet open;
+
+        private WatchedStatement(PreparedStatement raw, String sql) {
+            this.raw = raw;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    finishOpenQuery();
+                    return call(method, args);
+                case "clearParameters":
+                    params = new Object[0];
+                    return call(method, args);
+                case "addBatch":
+                    if (args == null || args.length == 0) {
+                        batchSize++;
+                    }
+                    return call(method, args);
+                case "executeQuery": {
+                    finishOpenQuery();
+                    long started = System.nanoTime();
+                    ResultSet rs = (ResultSet) call(method, args);
+                    open = new WatchedResultSet(this, rs, System.nanoTime() - started);
+                    return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, open);
+                }
+                case "executeUpdate":
+                case "executeLargeUpdate": {
+                    long started = System.nanoTime();
+                    Object count = call(method, args);
+                    finished(sql, params.clone(), 0, System.nanoTime() - started, ((Number) count).longValue());
+                    return count;
+                }
+                case "execute": {
+                    long started = System.nanoTime();
+                    Object result = call(method, args);
+                    long elapsed = System.nanoTime() - started;
+                    finished(sql, params.clone(), 0, elapsed, Math.max(0, raw.getUpdateCount()));
+                    return result;
+                }
+                case "executeBatch":
+                case "executeLargeBatch": {
+                    long started = System.nanoTime();
+                    Object counts = call(method, args);
+                    long elapsed = System.nanoTime() - started;
+                    finished(sql, params.clone(), Math.max(1, batchSize), elapsed, updated(counts));
+                    batchSize = 0;
+                    return counts;
+                }
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                            && method.getDeclaringClass() == PreparedStatement.class) {
+                        bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                    }
+                    return call(method, args);
+            }
+        }
+
+        private void bind(int index, Object value) {
+            if (index > params.length) {
+                params = Arrays.copyOf(params, index);
+            }
+            params[index - 1] = value;
+        }
+
+        private void finishOpenQuery() {
+            if (open != null) {
+                open.finish();
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private long updated(Object counts) {
+            long total = 0;
+            if (counts instanceof int[]) {
+                for (int count : (int[]) counts) {
+                    total += Math.max(0, count);
+                }
+            } else if (counts instanceof long[]) {
+                for (long count : (long[]) counts) {
+                    total += Math.max(0, count);
+                }
+            }
+            return total;
+        }
+    }
+
+    private final class WatchedResultSet implements InvocationHandler {
+        private final WatchedStatement statement;
+        private final ResultSet raw;
+        private final Object[] params;
+        private long nanos;
+        private long rows;
+        private boolean finished;
+
+        private WatchedResultSet(WatchedStatement statement, ResultSet raw, long executeNanos) {
+            this.statement = statement;
+            this.raw = raw;
+            this.params = statement.params.clone();
+            this.nanos = executeNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "next": {
+                    long started = System.nanoTime();
+                    Object more = call(method, args);
+                    nanos += System.nanoTime() - started;
+                    if ((Boolean) more) {
+                        rows++;
+                    }
+                    return more;
+                }
+                case "close":
+                    finish();
+                    return call(method, args);
+                default:
+                    return call(method, args);
+            }
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                if (statement.open == this) {
+                    statement.open = null;
+                }
+                finished(statement.sql, params, 0, nanos, rows);
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Slow query settings, read from the {@code db.slowQuery.*} keys. A negative threshold
+     * turns the log off.
+     */
+    public static class Settings {
+        private final long thresholdMs;
+        private final ParameterMode parameters;
+        private final boolean explain;
+        private final String file;
+        private final int maxFileBytes;
+        private final int maxFiles;
+        private final long rateLimitSeconds;
+
+        public Settings(Properties props) {
+            this.thresholdMs = ConnectionPool.Config.longProperty(props, "db.slowQuery.thresholdMs", 500);
+            this.parameters = ParameterMode.valueOf(props.getProperty("db.slowQuery.parameters", "redact-strings")
+                    .trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            this.explain = Boolean.parseBoolean(props.getProperty("db.slowQuery.explain", "true").trim());
+            this.file = props.getProperty("db.slowQuery.file", "logs/slow-queries.%g.jsonl").trim();
+            this.maxFileBytes = ConnectionPool.Config.intProperty(props, "db.slowQuery.maxFileBytes", 10_485_760);
+            this.maxFiles = Math.max(1, ConnectionPool.Config.intProperty(props, "db.slowQuery.maxFiles", 5));
+            this.rateLimitSeconds = ConnectionPool.Config.longProperty(props, "db.slowQuery.rateLimitSeconds", 60);
+        }
+
+        public boolean isEnabled() { return thresholdMs >= 0; }
+        public long getThresholdMs() { return thresholdMs; }
+        public ParameterMode getParameters() { return parameters; }
+    }
+}
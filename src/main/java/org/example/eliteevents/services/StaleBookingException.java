@@ -0,0 +1,30 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+
+/**
+ * Thrown when a booking update carries a version that is no longer current, i.e. someone else
+ * saved or deleted the booking since it was loaded. Nothing was written.
+ */
+public class StaleBookingException extends RuntimeException {
+    private final int bookingId;
+    private final int expectedVersion;
+    private final Booking current;
+
+    public StaleBookingException(int bookingId, int expectedVersion, Booking current) {
+        super(current != null
+                ? "Booking #" + bookingId + " was changed by someone else (version " + expectedVersion + " is now " + current.getVersion() + ")"
+                : "Booking #" + bookingId + " was deleted by someone else");
+        this.bookingId = bookingId;
+        this.expectedVersion = expectedVersion;
+        this.current = current;
+    }
+
+    public int getBookingId() { return bookingId; }
+    public int getExpectedVersion() { return expectedVersion; }
+
+    /**
+     * The booking as it is now stored, or null if it has been deleted.
+     */
+    public Booking getCurrent() { return current; }
+}
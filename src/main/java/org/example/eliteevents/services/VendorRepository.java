@@ -0,0 +1,23 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Vendor;
+
+import java.util.List;
+
+/**
+ * Storage for vendors. Implemented by {@link DatabaseService} (MySQL) and
+ * {@link InMemoryRepository}; obtain the configured one from {@link Repositories#vendors()}.
+ */
+public interface VendorRepository {
+    List<Vendor> getAllVendors();
+
+    void addVendor(Vendor vendor);
+
+    void updateVendor(Vendor vendor);
+
+    boolean deleteVendor(int vendorId);
+
+    BatchResult<Vendor> addVendors(List<Vendor> vendors);
+
+    BatchResult<Vendor> updateVendors(List<Vendor> vendors);
+}
@@ -0,0 +1,30 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Venue;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage for venues. Implemented by {@link DatabaseService} (MySQL) and
+ * {@link InMemoryRepository}; obtain the configured one from {@link Repositories#venues()}.
+ */
+public interface VenueRepository {
+    List<Venue> getAllVenues();
+
+    void addVenue(Venue venue);
+
+    void updateVenue(Venue venue);
+
+    boolean deleteVenue(int venueId);
+
+    BatchResult<Venue> addVenues(List<Venue> venues);
+
+    BatchResult<Venue> updateVenues(List<Venue> venues);
+
+    /**
+     * Venues offering every one of the amenities (matched ignoring case) with at least the
+     * given capacity, largest first.
+     */
+    List<Venue> findVenues(Collection<String> requiredAmenities, int minCapacity);
+}
@@ -0,0 +1,742 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind decorator for bookings. {@link #addBooking} and {@link #updateBooking} append the
+ * change to a local journal file and return immediately; a background thread flushes pending
+ * changes to the underlying repository in batches every {@code db.writeBehind.flushIntervalMs},
+ * or sooner once {@code db.writeBehind.maxBatch} changes are waiting.
+ *
+ * Repeated updates to the same booking are coalesced so only the latest version is written, and
+ * editing a booking that is still waiting to be inserted just replaces the pending insert.
+ * Changes left in the journal by a crash or a lost connection are replayed on the next start;
+ * a replayed insert whose row is already stored is not inserted again. A flush that fails
+ * because the database is unreachable is retried with backoff; rows the database rejects are
+ * dropped and reported to {@link FlushListener}s. An update rejected because someone else saved
+ * the booking first is also remembered, and the next update of that booking throws
+ * {@link StaleBookingException} carrying the version that won.
+ *
+ * Conflict lookups and {@link #getAllBookings()} include pending changes. Pages, counts, streams
+ * and change sets cannot place a booking that has no id yet, so they flush pending changes first.
+ */
+public class WriteBehindBookingRepository implements BookingRepository, AutoCloseable {
+    private static final Logger logger = Logger.getLogger(WriteBehindBookingRepository.class.getName());
+    private static final long MAX_BACKOFF_MS = 60_000;
+    private static final Comparator<Booking> START_ORDER = Comparator.comparing(Booking::getStartDateTime);
+
+    private final BookingRepository delegate;
+    private final Path journalPath;
+    private final long flushIntervalMs;
+    private final int maxBatch;
+    private final ScheduledExecutorService writer;
+    private final List<FlushListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Guards the pending changes and the journal file
+    private final Object lock = new Object();
+    private final List<PendingAdd> pendingAdds = new ArrayList<>();
+    private final Map<Integer, Booking> pendingUpdates = new LinkedHashMap<>();
+    private final Map<Integer, StaleBookingException> staleRejections = new HashMap<>();
+    private FileChannel journal;
+
+    // Held for the whole of a flush so flushes never interleave
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private int consecutiveFailures;
+    private long nextAttemptAt;
+
+    public WriteBehindBookingRepository(BookingRepository delegate, Path journalPath, long flushIntervalMs, int maxBatch) {
+        this.delegate = delegate;
+        this.journalPath = journalPath;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxBatch = maxBatch;
+
+        try {
+            Files.createDirectories(journalPath.toAbsolutePath().getParent());
+            replayJournal();
+            journal = openJournal();
+        } catch (IOException e) {
+            logger.severe("❌ Cannot open write-behind journal " + journalPath + ": " + e.getMessage());
+            throw new RuntimeException("Cannot open write-behind journal", e);
+        }
+
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushOnSchedule, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public WriteBehindBookingRepository(BookingRepository delegate, Properties props) {
+        this(delegate,
+                Path.of(props.getProperty("db.writeBehind.journal",
+                        System.getProperty("user.home") + "/.elite-events/booking-writes.journal").trim()),
+                ConnectionPool.Config.longProperty(props, "db.writeBehind.flushIntervalMs", 2000),
+                ConnectionPool.Config.intProperty(props, "db.writeBehind.maxBatch", 200));
+    }
+
+    public void addFlushListener(FlushListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeFlushListener(FlushListener listener) {
+        listeners.remove(listener);
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pendingAdds.size() + pendingUpdates.size();
+        }
+    }
+
+    // Queued writes
+
+    /**
+     * Queues the insert. The booking's id is filled in once the insert has been flushed.
+     */
+    public void addBooking(Booking booking) {
+        synchronized (lock) {
+            Booking snapshot = Entities.copy(booking);
+            append(JournalEntry.ADD, snapshot);
+            pendingAdds.add(new PendingAdd(booking, snapshot));
+        }
+        logger.info("Booking queued for insert");
+        triggerIfFull();
+    }
+
+    public void updateBooking(Booking booking) {
+        synchronized (lock) {
+            Booking snapshot = Entities.copy(booking);
+            if (booking.getId() == 0) {
+                PendingAdd add = findPendingAdd(booking);
+                if (add == null) {
+                    throw new IllegalArgumentException("Booking has not been saved yet");
+                }
+                // Pending inserts have no id to coalesce on at replay, so rewrite instead of appending
+                add.snapshot = snapshot;
+                compactJournal();
+            } else {
+                // The caller's copy builds on an edit that was rejected; report it once, with the
+                // version that won, so the edit can be merged onto it and saved again
+                StaleBookingException stale = staleRejections.remove(booking.getId());
+                if (stale != null) {
+                    throw new StaleBookingException(booking.getId(), stale.getExpectedVersion(), stale.getCurrent());
+                }
+                // Coalesce onto a queued update: the database still expects that update's version
+                Booking queued = pendingUpdates.get(booking.getId());
+                if (queued != null) {
+                    if (booking.getVersion() != queued.getVersion() + 1) {
+                        throw new StaleBookingException(booking.getId(), booking.getVersion(), asSeen(queued));
+                    }
+                    snapshot.setVersion(queued.getVersion());
+                }
+                append(JournalEntry.UPDATE, snapshot);
+                pendingUpdates.put(booking.getId(), snapshot);
+                booking.setVersion(snapshot.getVersion() + 1);
+            }
+        }
+        logger.info("Booking queued for update: " + booking.getId());
+        triggerIfFull();
+    }
+
+    // Writes that go straight through, after the queue so they apply in order
+
+    /**
+     * Not queued, like {@link #reserveUpdate}: the conflict check needs every earlier save to be
+     * visible to the database.
+     */
+    public void reserve(Booking booking) {
+        flush();
+        delegate.reserve(booking);
+    }
+
+    public void reserveUpdate(Booking booking) {
+        flush();
+        synchronized (lock) {
+            StaleBookingException stale = staleRejections.remove(booking.getId());
+            if (stale != null) {
+                throw new StaleBookingException(booking.getId(), stale.getExpectedVersion(), stale.getCurrent());
+            }
+        }
+        delegate.reserveUpdate(booking);
+    }
+
+    public boolean deleteBooking(int bookingId) {
+        flush();
+        synchronized (lock) {
+            staleRejections.remove(bookingId);
+        }
+        return delegate.deleteBooking(bookingId);
+    }
+
+    public BatchResult<Booking> addBookings(List<Booking> bookings) {
+        flush();
+        return delegate.addBookings(bookings);
+    }
+
+    public BatchResult<Booking> updateBookings(List<Booking> bookings) {
+        flush();
+        return delegate.updateBookings(bookings);
+    }
+
+    // Reads
+
+    public List<Booking> getAllBookings() {
+        return withPending(delegate.getAllBookings(), booking -> true, START_ORDER.reversed());
+    }
+
+    public Booking getBooking(int bookingId) {
+        synchronized (lock) {
+            Booking update = pendingUpdates.get(bookingId);
+            if (update != null) {
+                return asSeen(update);
+            }
+        }
+        return delegate.getBooking(bookingId);
+    }
+
+    public BookingPage<Booking> getBookingsPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        flushBeforeRead();
+        return delegate.getBookingsPage(filter, cursor, limit, sort);
+    }
+
+    public BookingPage<BookingSummary> getSummaryPage(BookingFilter filter, BookingCursor cursor, int limit, BookingSort sort) {
+        flushBeforeRead();
+        return delegate.getSummaryPage(filter, cursor, limit, sort);
+    }
+
+    public long countBookings(BookingFilter filter) {
+        flushBeforeRead();
+        return delegate.countBookings(filter);
+    }
+
+    public long estimateBookingCount() {
+        synchronized (lock) {
+            return delegate.estimateBookingCount() + pendingAdds.size();
+        }
+    }
+
+    public long streamBookings(BookingFilter filter, Predicate<Booking> handler) {
+        flushBeforeRead();
+        return delegate.streamBookings(filter, handler);
+    }
+
+    public List<Booking> findOverlapping(int venueId, LocalDateTime start, LocalDateTime end, Integer excludeBookingId) {
+        Predicate<Booking> matches = booking -> booking.getVenue().getId() == venueId
+                && !booking.getStartDateTime().isAfter(end) && !booking.getEndDateTime().isBefore(start)
+                && (excludeBookingId == null || booking.getId() != excludeBookingId);
+        return withPending(delegate.findOverlapping(venueId, start, end, excludeBookingId), matches, START_ORDER);
+    }
+
+    public List<Booking> findByVenueBetween(int venueId, LocalDateTime from, LocalDateTime to, Collection<String> statuses) {
+        boolean filterStatus = statuses != null && !statuses.isEmpty();
+        Predicate<Booking> matches = booking -> booking.getVenue().getId() == venueId
+                && booking.getStartDateTime().isBefore(to) && booking.getEndDateTime().isAfter(from)
+                && (!filterStatus || statuses.contains(booking.getStatus()));
+        return withPending(delegate.findByVenueBetween(venueId, from, to, statuses), matches, START_ORDER);
+    }
+
+    public BookingChangeSet<Booking> getChangesSince(long watermark) {
+        flushBeforeRead();
+        return delegate.getChangesSince(watermark);
+    }
+
+    public BookingChangeSet<BookingSummary> getSummaryChangesSince(long watermark) {
+        flushBeforeRead();
+        return delegate.getSummaryChangesSince(watermark);
+    }
+
+    public long getChangeWatermark() {
+        return delegate.getChangeWatermark();
+    }
+
+    /**
+     * Flushes first, so bookings whose inserts are still queued can be flagged.
+     */
+    public void replaceConflictFlags(Collection<Integer> bookingIds) {
+        flush();
+        delegate.replaceConflictFlags(bookingIds);
+    }
+
+    public Set<Integer> getConflictFlags() {
+        return delegate.getConflictFlags();
+    }
+
+    /**
+     * Writes pending changes before a read that has no way to merge them. Throws, like the read
+     * itself would, if the database cannot be reached.
+     */
+    private void flushBeforeRead() {
+        if (getPendingCount() > 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Replaces stored bookings with their pending updates, dropping any the update moved out of
+     * the query, and adds pending bookings that now match.
+     */
+    private List<Booking> withPending(List<Booking> stored, Predicate<Booking> matches, Comparator<Booking> order) {
+        List<Booking> result = overlayUpdates(stored, matches);
+        synchronized (lock) {
+            Set<Integer> present = new HashSet<>();
+            for (Booking booking : result) {
+                present.add(booking.getId());
+            }
+            for (Booking update : pendingUpdates.values()) {
+                if (!present.contains(update.getId()) && matches.test(update)) {
+                    result.add(asSeen(update));
+                }
+            }
+            for (PendingAdd add : pendingAdds) {
+                if (matches.test(add.snapshot)) {
+                    result.add(Entities.copy(add.snapshot));
+                }
+            }
+        }
+        result.sort(order);
+        return result;
+    }
+
+    private List<Booking> overlayUpdates(List<Booking> stored, Predicate<Booking> matches) {
+        List<Booking> result = new ArrayList<>(stored.size());
+        synchronized (lock) {
+            for (Booking booking : stored) {
+                Booking update = pendingUpdates.get(booking.getId());
+                if (update == null) {
+                    result.add(booking);
+                } else if (matches.test(update)) {
+                    result.add(asSeen(update));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Flushing
+
+    /**
+     * Writes every pending change now, on the calling thread. Throws if the database cannot be
+     * reached; the changes then stay queued.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            FlushStatus status = flushPending();
+            if (status.getError() != null) {
+                throw new RuntimeException("Failed to flush queued booking writes", status.getError());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushOnSchedule() {
+        if (System.currentTimeMillis() < nextAttemptAt || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flushPending();
+        } catch (RuntimeException e) {
+            logger.severe("Unexpected error in booking write-behind: " + e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void triggerIfFull() {
+        if (getPendingCount() >= maxBatch) {
+            writer.execute(this::flushOnSchedule);
+        }
+    }
+
+    // Caller holds flushLock
+    private FlushStatus flushPending() {
+        List<PendingAdd> adds;
+        List<Booking> updates;
+        synchronized (lock) {
+            if (pendingAdds.isEmpty() && pendingUpdates.isEmpty()) {
+                return new FlushStatus(0, List.of(), List.of(), 0, null);
+            }
+            adds = new ArrayList<>(pendingAdds);
+            updates = new ArrayList<>(pendingUpdates.values());
+        }
+
+        int flushed = 0;
+        List<String> rejected = new ArrayList<>();
+        List<StaleBookingException> stale = new ArrayList<>();
+        try {
+            if (!adds.isEmpty()) {
+                List<PendingAdd> inserts = new ArrayList<>();
+                List<Booking> snapshots = new ArrayList<>();
+                Set<Integer> claimed = new HashSet<>();
+                for (PendingAdd add : adds) {
+                    int storedId = add.replayed ? findStored(add.snapshot, claimed) : 0;
+                    add.replayed = false;
+                    if (storedId != 0) {
+                        logger.info("Replayed booking insert was already written as booking #" + storedId);
+                        add.original.setId(storedId);
+                        continue;
+                    }
+                    inserts.add(add);
+                    snapshots.add(add.snapshot);
+                }
+                BatchResult<Booking> result = snapshots.isEmpty()
+                        ? new BatchResult<>() : delegate.addBookings(snapshots);
+                flushed += result.getSucceeded().size();
+                result.getFailures().forEach(failure -> rejected.add("New booking: " + failure.getMessage()));
+                synchronized (lock) {
+                    for (int i = 0; i < inserts.size(); i++) {
+                        PendingAdd add = inserts.get(i);
+                        int id = snapshots.get(i).getId();
+                        if (id == 0) {
+                            continue;
+                        }
+                        add.original.setId(id);
+                        // Edited while the insert was in flight: write the newer version as an update
+                        if (add.snapshot != snapshots.get(i)) {
+                            add.snapshot.setId(id);
+                            add.snapshot.setVersion(0);
+                            pendingUpdates.putIfAbsent(id, add.snapshot);
+                            add.original.setVersion(1);
+                        }
+                    }
+                    pendingAdds.removeAll(adds);
+                    compactJournal();
+                }
+            }
+
+            if (!updates.isEmpty()) {
+                BatchResult<Booking> result = delegate.updateBookings(updates);
+                flushed += result.getSucceeded().size();
+                Map<Integer, StaleBookingException> staleById = new HashMap<>();
+                for (BatchResult.RowFailure<Booking> failure : result.getFailures()) {
+                    Booking update = failure.getItem();
+                    Booking current = delegate.getBooking(update.getId());
+                    if (current == null || current.getVersion() != update.getVersion()) {
+                        StaleBookingException e = new StaleBookingException(update.getId(), update.getVersion(), current);
+                        staleById.put(update.getId(), e);
+                        stale.add(e);
+                        rejected.add(e.getMessage());
+                    } else {
+                        rejected.add("Booking #" + update.getId() + ": " + failure.getMessage());
+                    }
+                }
+                Set<Booking> written = Collections.newSetFromMap(new IdentityHashMap<>());
+                written.addAll(result.getSucceeded());
+                synchronized (lock) {
+                    staleRejections.putAll(staleById);
+                    for (Booking update : updates) {
+                        Booking newer = pendingUpdates.get(update.getId());
+                        if (newer == update || staleById.containsKey(update.getId())) {
+                            // A newer edit queued on top of a stale one is just as stale
+                            pendingUpdates.remove(update.getId());
+                        } else if (newer != null && written.contains(update)) {
+                            // Superseded while this flush ran; it now builds on the version just written
+                            newer.setVersion(update.getVersion());
+                        }
+                    }
+                    compactJournal();
+                }
+            }
+
+            consecutiveFailures = 0;
+            nextAttemptAt = 0;
+            if (!rejected.isEmpty()) {
+                logger.warning("Booking write-behind dropped " + rejected.size() + " rejected rows: " + rejected);
+            }
+            return notifyListeners(new FlushStatus(flushed, rejected, stale, getPendingCount(), null));
+
+        } catch (RuntimeException e) {
+            consecutiveFailures++;
+            long backoff = Math.min(MAX_BACKOFF_MS, flushIntervalMs << Math.min(consecutiveFailures, 16));
+            nextAttemptAt = System.currentTimeMillis() + backoff;
+            logger.severe("❌ Booking write-behind flush failed, retrying in " + backoff + " ms: " + e.getMessage());
+            return notifyListeners(new FlushStatus(flushed, rejected, stale, getPendingCount(), e));
+        }
+    }
+
+    private FlushStatus notifyListeners(FlushStatus status) {
+        for (FlushListener listener : listeners) {
+            try {
+                listener.onFlush(status);
+            } catch (RuntimeException e) {
+                logger.warning("Flush listener failed: " + e.getMessage());
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Stops the writer thread after a final flush. Anything that still cannot be written stays
+     * in the journal for the next start.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warning("Booking writes left in journal: " + getPendingCount());
+        }
+        synchronized (lock) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.fine("Error closing journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A queued update as callers should see it: carrying the version it will have once written,
+     * so edits made on top of it coalesce instead of looking stale.
+     */
+    private static Booking asSeen(Booking queued) {
+        Booking copy = Entities.copy(queued);
+        copy.setVersion(queued.getVersion() + 1);
+        return copy;
+    }
+
+    /**
+     * Id of a stored booking identical to a replayed insert, or 0. The journal is only compacted
+     * after a flush commits, so a crash in between leaves inserts in it that were written.
+     */
+    private int findStored(Booking booking, Set<Integer> claimed) {
+        for (Booking stored : delegate.findOverlapping(booking.getVenue().getId(),
+                booking.getStartDateTime(), booking.getEndDateTime(), null)) {
+            if (stored.getClient().getId() == booking.getClient().getId()
+                    && stored.getStartDateTime().equals(booking.getStartDateTime())
+                    && stored.getEndDateTime().equals(booking.getEndDateTime())
+                    && Objects.equals(stored.getEventType(), booking.getEventType())
+                    && claimed.add(stored.getId())) {
+                return stored.getId();
+            }
+        }
+        return 0;
+    }
+
+    private PendingAdd findPendingAdd(Booking booking) {
+        for (PendingAdd add : pendingAdds) {
+            if (add.original == booking) {
+                return add;
+            }
+        }
+        return null;
+    }
+
+    // Journal: one line per queued change, fields URL-encoded and tab separated
+
+    private FileChannel openJournal() throws IOException {
+        return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // Caller holds lock
+    private void append(JournalEntry type, Booking booking) {
+        try {
+            journal.write(StandardCharsets.UTF_8.encode(encode(type, booking) + "\n"));
+            journal.force(false);
+        } catch (IOException e) {
+            logger.severe("❌ Cannot write booking journal: " + e.getMessage());
+            throw new UncheckedIOException("Failed to queue booking write", e);
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the changes still pending, so it never holds more than
+     * one line per pending booking. Caller holds lock.
+     */
+    private void compactJournal() {
+        Path temp = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (PendingAdd add : pendingAdds) {
+                    out.write(encode(JournalEntry.ADD, add.snapshot));
+                    out.newLine();
+                }
+                for (Booking update : pendingUpdates.values()) {
+                    out.write(encode(JournalEntry.UPDATE, update));
+                    out.newLine();
+                }
+            }
+            try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                tempChannel.force(true);
+            }
+            journal.close();
+            Files.move(temp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journal = openJournal();
+        } catch (IOException e) {
+            // The old journal still holds every pending change; replay just repeats some writes
+            logger.warning("Could not compact booking journal: " + e.getMessage());
+            try {
+                if (!journal.isOpen()) {
+                    journal = openJournal();
+                }
+            } catch (IOException reopen) {
+                throw new UncheckedIOException("Failed to reopen booking journal", reopen);
+            }
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                String[] fields = line.split("\t", -1);
+                Booking booking = decode(fields);
+                if (JournalEntry.valueOf(fields[0]) == JournalEntry.ADD) {
+                    PendingAdd add = new PendingAdd(booking, booking);
+                    add.replayed = true;
+                    pendingAdds.add(add);
+                } else {
+                    pendingUpdates.put(booking.getId(), booking);
+                }
+            } catch (RuntimeException e) {
+                // A torn last line from a crash mid-append
+                logger.warning("Skipping unreadable journal line: " + e.getMessage());
+            }
+        }
+        if (!pendingAdds.isEmpty() || !pendingUpdates.isEmpty()) {
+            logger.info("Replaying " + (pendingAdds.size() + pendingUpdates.size()) + " queued booking writes from " + journalPath);
+        }
+    }
+
+    private static String encode(JournalEntry type, Booking booking) {
+        return String.join("\t",
+                type.name(),
+                String.valueOf(booking.getId()),
+                String.valueOf(booking.getClient().getId()),
+                String.valueOf(booking.getVenue().getId()),
+                booking.getVendor() != null ? String.valueOf(booking.getVendor().getId()) : "",
+                escape(booking.getEventType()),
+                booking.getStartDateTime().toString(),
+                booking.getEndDateTime().toString(),
+                String.valueOf(booking.getGuestCount()),
+                String.valueOf(booking.isCateringRequired()),
+                String.valueOf(booking.getBudget()),
+                escape(booking.getNotes()),
+                escape(booking.getStatus()),
+                String.valueOf(booking.getVersion()));
+    }
+
+    private static Booking decode(String[] fields) {
+        Client client = new Client();
+        client.setId(Integer.parseInt(fields[2]));
+        Venue venue = new Venue();
+        venue.setId(Integer.parseInt(fields[3]));
+        Vendor vendor = null;
+        if (!fields[4].isEmpty()) {
+            vendor = new Vendor();
+            vendor.setId(Integer.parseInt(fields[4]));
+        }
+        Booking booking = new Booking(Integer.parseInt(fields[1]), client, venue, unescape(fields[5]),
+                LocalDateTime.parse(fields[6]), LocalDateTime.parse(fields[7]), Integer.parseInt(fields[8]),
+                Boolean.parseBoolean(fields[9]), vendor, Double.parseDouble(fields[10]),
+                unescape(fields[11]), unescape(fields[12]));
+        booking.setVersion(Integer.parseInt(fields[13]));
+        return booking;
+    }
+
+    // Null is written as a lone "-", which URL encoding never produces on its own
+    private static String escape(String value) {
+        return value == null ? "-" : "=" + URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String unescape(String value) {
+        return value.equals("-") ? null : URLDecoder.decode(value.substring(1), StandardCharsets.UTF_8);
+    }
+
+    private enum JournalEntry { ADD, UPDATE }
+
+    private static final class PendingAdd {
+        private final Booking original;
+        private Booking snapshot;
+        // Read back from the journal, so it may already have been written
+        private boolean replayed;
+
+        private PendingAdd(Booking original, Booking snapshot) {
+            this.original = original;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * Outcome of one flush, delivered on the writer thread (or the thread calling {@link #flush()}).
+     */
+    public static class FlushStatus {
+        private final int flushed;
+        private final List<String> rejected;
+        private final List<StaleBookingException> stale;
+        private final int pending;
+        private final Throwable error;
+        private final Instant completedAt = Instant.now();
+
+        public FlushStatus(int flushed, List<String> rejected, List<StaleBookingException> stale, int pending, Throwable error) {
+            this.flushed = flushed;
+            this.rejected = List.copyOf(rejected);
+            this.stale = List.copyOf(stale);
+            this.pending = pending;
+            this.error = error;
+        }
+
+        public int getFlushed() { return flushed; }
+
+        /**
+         * Rows the database refused (e.g. a deleted client); these are not retried.
+         */
+        public List<String> getRejected() { return rejected; }
+
+        /**
+         * Rejected updates of bookings someone else saved or deleted first, each with the booking
+         * as now stored. They are also among {@link #getRejected()}.
+         */
+        public List<StaleBookingException> getStale() { return stale; }
+
+        public int getPending() { return pending; }
+
+        /**
+         * Why the flush could not reach the database, or null if it did. Pending changes are retried.
+         */
+        public Throwable getError() { return error; }
+
+        public Instant getCompletedAt() { return completedAt; }
+
+        @Override
+        public String toString() {
+            return flushed + " written, " + rejected.size() + " rejected, " + pending + " pending" +
+                    (error != null ? " (" + error.getMessage() + ")" : "");
+        }
+    }
+
+    @FunctionalInterface
+    public interface FlushListener {
+        void onFlush(FlushStatus status);
+    }
+}
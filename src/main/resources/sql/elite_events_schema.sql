@@ -1,3 +1,7 @@
+-- One-shot bootstrap script for a fresh database with sample data.
+-- Schema changes (indexes, new columns, tables) live in sql/migrations and are applied
+-- by MigrationRunner at application startup.
+
 -- Create database
 CREATE DATABASE IF NOT EXISTS elite_events;
 USE elite_events;
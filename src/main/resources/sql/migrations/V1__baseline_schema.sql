@@ -0,0 +1,50 @@
+-- Baseline: the tables from elite_events_schema.sql, without sample data.
+-- Uses IF NOT EXISTS so databases created by the original script are adopted as-is.
+
+CREATE TABLE IF NOT EXISTS clients (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    phone VARCHAR(50),
+    company VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS venues (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    address TEXT,
+    capacity INT,
+    price_per_hour DECIMAL(10,2),
+    amenities TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS vendors (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    category VARCHAR(100),
+    email VARCHAR(255),
+    phone VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    client_id INT,
+    venue_id INT,
+    event_type VARCHAR(100),
+    start_datetime DATETIME,
+    end_datetime DATETIME,
+    guest_count INT,
+    catering_required BOOLEAN DEFAULT FALSE,
+    vendor_id INT,
+    budget DECIMAL(10,2),
+    notes TEXT,
+    status ENUM('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED') DEFAULT 'PENDING',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (client_id) REFERENCES clients(id),
+    FOREIGN KEY (venue_id) REFERENCES venues(id),
+    FOREIGN KEY (vendor_id) REFERENCES vendors(id)
+);
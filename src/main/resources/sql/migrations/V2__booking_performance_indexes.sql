@@ -0,0 +1,16 @@
+-- Composite indexes for the booking hot paths.
+
+-- Conflict checks: venue_id = ? AND start_datetime <= ? AND end_datetime >= ?
+-- Seeks on the venue and ranges on start, so every earlier entry for the venue is still
+-- scanned; end is filtered inside the index (condition pushdown) before any row is read.
+-- The queries select whole rows, so matches are then read from the table.
+CREATE INDEX idx_bookings_venue_time ON bookings (venue_id, start_datetime, end_datetime);
+
+-- Bookings by status within a start range: seeks on status, ranges on start.
+CREATE INDEX idx_bookings_status_start ON bookings (status, start_datetime, budget);
+
+-- Per-client booking history, newest first.
+CREATE INDEX idx_bookings_client_start ON bookings (client_id, start_datetime);
+
+-- Keyset pagination on (start_datetime, id).
+CREATE INDEX idx_bookings_start_id ON bookings (start_datetime, id);
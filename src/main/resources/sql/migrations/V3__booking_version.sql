@@ -0,0 +1,4 @@
+-- Optimistic concurrency for bookings.
+-- Every update must match the version it read and increments it; a mismatch means someone
+-- else saved first, so the update affects no rows instead of silently overwriting theirs.
+ALTER TABLE bookings ADD COLUMN version INT NOT NULL DEFAULT 0;
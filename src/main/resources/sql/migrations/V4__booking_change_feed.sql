@@ -0,0 +1,15 @@
+-- Incremental change feed for bookings (BookingRepository.getChangesSince).
+
+-- Microsecond change times, so one watermark rarely falls between two changes in the same second.
+ALTER TABLE bookings MODIFY COLUMN updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+-- Changed rows since a watermark: updated_at > ?
+CREATE INDEX idx_bookings_updated_at ON bookings (updated_at);
+
+-- Deleted bookings leave a tombstone, written in the same transaction as the delete.
+-- Tombstones older than db.changeFeed.tombstoneRetentionDays are purged.
+CREATE TABLE IF NOT EXISTS booking_tombstones (
+    booking_id INT PRIMARY KEY,
+    deleted_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    INDEX idx_booking_tombstones_deleted_at (deleted_at)
+);
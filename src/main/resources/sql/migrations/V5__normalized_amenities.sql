@@ -0,0 +1,36 @@
+-- Venue amenities move from a free-text column to a dictionary of names and a join table.
+
+CREATE TABLE IF NOT EXISTS amenities (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    UNIQUE KEY uk_amenities_name (name)
+);
+
+-- Venues offering an amenity: amenity_id = ?
+CREATE TABLE IF NOT EXISTS venue_amenities (
+    venue_id INT NOT NULL,
+    amenity_id INT NOT NULL,
+    PRIMARY KEY (venue_id, amenity_id),
+    INDEX idx_venue_amenities_amenity (amenity_id, venue_id),
+    FOREIGN KEY (venue_id) REFERENCES venues(id) ON DELETE CASCADE,
+    FOREIGN KEY (amenity_id) REFERENCES amenities(id)
+);
+
+-- The old column holds JSON arrays (sample data) or comma-separated lists (written by the app).
+-- Rewrite the comma lists as JSON arrays so both can be read with JSON_TABLE.
+UPDATE venues SET amenities = NULL WHERE TRIM(amenities) = '';
+UPDATE venues SET amenities = CONCAT('["', REPLACE(REPLACE(REPLACE(amenities, '\\', ''), '"', ''), ',', '","'), '"]')
+WHERE amenities IS NOT NULL AND NOT JSON_VALID(amenities);
+
+INSERT IGNORE INTO amenities (name)
+SELECT DISTINCT TRIM(j.name)
+FROM venues v CROSS JOIN JSON_TABLE(v.amenities, '$[*]' COLUMNS (name VARCHAR(100) PATH '$')) AS j
+WHERE v.amenities IS NOT NULL AND TRIM(j.name) <> '';
+
+INSERT IGNORE INTO venue_amenities (venue_id, amenity_id)
+SELECT v.id, a.id
+FROM venues v CROSS JOIN JSON_TABLE(v.amenities, '$[*]' COLUMNS (name VARCHAR(100) PATH '$')) AS j
+JOIN amenities a ON a.name = TRIM(j.name)
+WHERE v.amenities IS NOT NULL;
+
+ALTER TABLE venues DROP COLUMN amenities;
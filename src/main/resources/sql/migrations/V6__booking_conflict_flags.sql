@@ -0,0 +1,8 @@
+-- Bookings the schedule audit found overlapping another booking at the same venue. Kept apart
+-- from status, so flagging never changes what was confirmed or completed. Each flagging run
+-- replaces the whole set.
+CREATE TABLE IF NOT EXISTS booking_conflict_flags (
+    booking_id INT PRIMARY KEY,
+    flagged_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE CASCADE
+);
@@ -0,0 +1,105 @@
+package org.example.eliteevents.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+    private static final Comparator<ConflictIndex.Interval> TREE_ORDER =
+            Comparator.comparingInt(ConflictIndex.Interval::getStartMinute)
+                    .thenComparingInt(ConflictIndex.Interval::getBookingId);
+
+    @Test
+    void visitMatchesBruteForceScanThroughInsertsAndDeletes() {
+        Random random = new Random(42);
+        ConflictIndex.IntervalTree tree = new ConflictIndex.IntervalTree();
+        List<ConflictIndex.Interval> live = new ArrayList<>();
+        int nextId = 1;
+
+        for (int step = 0; step < 5000; step++) {
+            if (live.isEmpty() || random.nextInt(3) > 0) {
+                // Coarse starts so many intervals share a start and ties fall back to the id
+                int start = 15 * random.nextInt(200);
+                ConflictIndex.Interval interval = interval(nextId++, start, start + 15 * random.nextInt(12));
+                tree.insert(interval);
+                live.add(interval);
+            } else {
+                tree.delete(live.remove(random.nextInt(live.size())));
+            }
+
+            int from = random.nextInt(3200);
+            int to = from + random.nextInt(300);
+            assertEquals(bruteForce(live, from, to), visitAll(tree, from, to), "step " + step);
+        }
+        assertEquals(live.isEmpty(), tree.isEmpty());
+    }
+
+    @Test
+    void rangesThatOnlyTouchAreVisited() {
+        ConflictIndex.IntervalTree tree = new ConflictIndex.IntervalTree();
+        ConflictIndex.Interval morning = interval(1, 540, 600);
+        ConflictIndex.Interval afternoon = interval(2, 720, 780);
+        tree.insert(morning);
+        tree.insert(afternoon);
+
+        assertEquals(List.of(morning), visitAll(tree, 600, 660));
+        assertEquals(List.of(afternoon), visitAll(tree, 660, 720));
+        assertEquals(List.of(morning, afternoon), visitAll(tree, 600, 720));
+        assertEquals(List.of(), visitAll(tree, 601, 719));
+    }
+
+    @Test
+    void visitStopsWhenTheVisitorReturnsFalse() {
+        ConflictIndex.IntervalTree tree = new ConflictIndex.IntervalTree();
+        for (int id = 1; id <= 10; id++) {
+            tree.insert(interval(id, id * 60, id * 60 + 90));
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        boolean completed = tree.visit(0, 10_000, interval -> {
+            seen.add(interval.getBookingId());
+            return seen.size() < 3;
+        });
+
+        assertFalse(completed);
+        assertEquals(List.of(1, 2, 3), seen);
+    }
+
+    @Test
+    void deletingTheLastIntervalEmptiesTheTree() {
+        ConflictIndex.IntervalTree tree = new ConflictIndex.IntervalTree();
+        ConflictIndex.Interval only = interval(7, 100, 200);
+        tree.insert(only);
+        tree.delete(only);
+
+        assertTrue(tree.isEmpty());
+        assertEquals(List.of(), visitAll(tree, 0, 1000));
+    }
+
+    private static ConflictIndex.Interval interval(int bookingId, int startMinute, int endMinute) {
+        return new ConflictIndex.Interval(bookingId, 1, startMinute, endMinute, "CONFIRMED");
+    }
+
+    private static List<ConflictIndex.Interval> visitAll(ConflictIndex.IntervalTree tree, int from, int to) {
+        List<ConflictIndex.Interval> visited = new ArrayList<>();
+        tree.visit(from, to, visited::add);
+        return visited;
+    }
+
+    // Closed ranges, as the tree answers them, in the tree's order
+    private static List<ConflictIndex.Interval> bruteForce(List<ConflictIndex.Interval> live, int from, int to) {
+        List<ConflictIndex.Interval> expected = new ArrayList<>();
+        for (ConflictIndex.Interval interval : live) {
+            if (interval.getStartMinute() <= to && interval.getEndMinute() >= from) {
+                expected.add(interval);
+            }
+        }
+        expected.sort(TREE_ORDER);
+        return expected;
+    }
+}
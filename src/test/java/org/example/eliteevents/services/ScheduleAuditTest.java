@@ -0,0 +1,99 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+import org.example.eliteevents.models.Client;
+import org.example.eliteevents.models.Venue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleAuditTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 6, 1, 0, 0);
+
+    private InMemoryRepository repository;
+    private Client client;
+    private Venue hall;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRepository();
+        client = new Client(0, "Client", "client@example.com", "555-0100", null);
+        repository.addClient(client);
+        hall = venue("Hall");
+    }
+
+    @Test
+    void bookingsThatOnlyTouchAreNotReported() {
+        book(hall, 10, 12, "CONFIRMED");
+        book(hall, 12, 14, "CONFIRMED");
+        book(hall, 14, 16, "COMPLETED");
+
+        ScheduleAudit.Result result = new ScheduleAudit(repository).run(overlap -> fail("reported " + overlap));
+
+        assertEquals(0, result.getOverlaps());
+        assertTrue(result.getBookingIds().isEmpty());
+    }
+
+    @Test
+    void nestedRangesAreReportedWithTheirSharedMinutes() {
+        int outer = book(hall, 9, 17, "CONFIRMED");
+        int morning = book(hall, 10, 12, "CONFIRMED");
+        int afternoon = book(hall, 12, 14, "COMPLETED"); // touches morning, inside outer
+        int inner = book(hall, 10.5, 11, "PENDING");      // inside both outer and morning
+        book(hall, 11, 13, "CANCELLED");                   // cancelled, never counted
+        Venue annex = venue("Annex");
+        int elsewhere = book(annex, 9, 17, "CONFIRMED");  // same hours, other venue
+
+        List<String> pairs = new ArrayList<>();
+        ScheduleAudit.Result result = new ScheduleAudit(repository).run(overlap -> pairs.add(
+                overlap.getFirstBookingId() + "-" + overlap.getSecondBookingId() + ":" + overlap.getOverlapMinutes()));
+
+        assertEquals(new TreeSet<>(List.of(
+                outer + "-" + morning + ":120",
+                outer + "-" + afternoon + ":120",
+                outer + "-" + inner + ":30",
+                morning + "-" + inner + ":30")), new TreeSet<>(pairs));
+        assertEquals(4, result.getOverlaps());
+        assertEquals(Set.of(outer, morning, afternoon, inner), result.getBookingIds());
+        assertFalse(result.getBookingIds().contains(elsewhere));
+    }
+
+    @Test
+    void flaggingLeavesStatusesAndVersionsAlone() {
+        int confirmed = book(hall, 10, 12, "CONFIRMED");
+        int completed = book(hall, 11, 13, "COMPLETED");
+        ScheduleAudit audit = new ScheduleAudit(repository);
+
+        ScheduleAudit.Result result = audit.run(overlap -> { });
+        assertTrue(repository.getConflictFlags().isEmpty(), "running the audit must not write");
+
+        audit.flagConflicts(result);
+
+        assertEquals(Set.of(confirmed, completed), repository.getConflictFlags());
+        assertEquals("CONFIRMED", repository.getBooking(confirmed).getStatus());
+        assertEquals("COMPLETED", repository.getBooking(completed).getStatus());
+        assertEquals(0, repository.getBooking(confirmed).getVersion());
+        assertEquals(0, repository.getBooking(completed).getVersion());
+    }
+
+    private Venue venue(String name) {
+        Venue venue = new Venue(0, name, "1 Main St", 100, 50.0, List.of());
+        repository.addVenue(venue);
+        return venue;
+    }
+
+    private int book(Venue venue, double startHour, double endHour, String status) {
+        Booking booking = new Booking(0, client, venue, "Event",
+                DAY.plusMinutes(Math.round(startHour * 60)), DAY.plusMinutes(Math.round(endHour * 60)),
+                10, false, null, 1000.0, null, status);
+        repository.addBooking(booking);
+        return booking.getId();
+    }
+}
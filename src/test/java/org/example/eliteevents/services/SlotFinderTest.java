@@ -0,0 +1,92 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+import org.example.eliteevents.models.Client;
+import org.example.eliteevents.models.Venue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotFinderTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 6, 3, 0, 0);
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "CANCELLED", "COMPLETED"};
+
+    private InMemoryRepository repository;
+    private SlotFinder finder;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRepository();
+        finder = new SlotFinder(repository,
+                new ConflictDetectionService(repository, new ConflictIndex(repository, 0)));
+        client = new Client(0, "Client", "client@example.com", "555-0100", null);
+        repository.addClient(client);
+    }
+
+    @Test
+    void slotsKeepClearOfEveryBookingIncludingTouchingAndCancelled() {
+        Venue hall = venue("Hall", 100);
+        book(hall, DAY.plusHours(10), DAY.plusHours(12), "CANCELLED");
+        book(hall, DAY.plusHours(12), DAY.plusHours(14), "CONFIRMED");
+
+        List<SlotFinder.Slot> slots = finder.findFirst(new SlotQuery(50, List.of(), Duration.ofMinutes(30),
+                DAY, DAY.plusDays(1), LocalTime.of(9, 0), LocalTime.of(17, 0)), 10);
+
+        assertEquals(2, slots.size());
+        assertEquals(DAY.plusHours(9), slots.get(0).getStart());
+        assertEquals(DAY.plusHours(10).minusMinutes(1), slots.get(0).getEnd());
+        assertEquals(DAY.plusHours(14).plusMinutes(1), slots.get(1).getStart());
+        assertEquals(DAY.plusHours(17), slots.get(1).getEnd());
+    }
+
+    @Test
+    void everyReturnedSlotCanBeReserved() {
+        Random random = new Random(11);
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            venues.add(venue("Venue " + i, 50 + 50 * i));
+        }
+        for (int i = 0; i < 300; i++) {
+            // Quarter-hour starts and lengths, so many bookings touch end to start
+            LocalDateTime start = DAY.plusMinutes(15L * random.nextInt(14 * 96));
+            book(venues.get(random.nextInt(venues.size())), start,
+                    start.plusMinutes(15L * (1 + random.nextInt(16))), STATUSES[random.nextInt(STATUSES.length)]);
+        }
+
+        SlotQuery query = new SlotQuery(40, List.of(), Duration.ofMinutes(45),
+                DAY, DAY.plusDays(14), LocalTime.of(8, 0), LocalTime.of(22, 0));
+        List<SlotFinder.Slot> slots = finder.findFirst(query, 500);
+        assertFalse(slots.isEmpty());
+
+        LocalDateTime previous = LocalDateTime.MIN;
+        for (SlotFinder.Slot slot : slots) {
+            assertFalse(slot.getStart().isBefore(previous), "slots are earliest first");
+            previous = slot.getStart();
+            assertTrue(slot.getDuration().compareTo(query.getMinDuration()) >= 0, slot::toString);
+
+            Booking booking = new Booking(0, client, slot.getVenue(), "Probe", slot.getStart(), slot.getEnd(),
+                    query.getGuests(), false, null, 0.0, null, "PENDING");
+            assertDoesNotThrow(() -> repository.reserve(booking), slot::toString);
+            repository.deleteBooking(booking.getId());
+        }
+    }
+
+    private Venue venue(String name, int capacity) {
+        Venue venue = new Venue(0, name, "1 Main St", capacity, 50.0, List.of());
+        repository.addVenue(venue);
+        return venue;
+    }
+
+    private void book(Venue venue, LocalDateTime start, LocalDateTime end, String status) {
+        repository.addBooking(new Booking(0, client, venue, "Event", start, end, 10, false, null, 1000.0, null, status));
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.eliteevents.services;
+
+import org.example.eliteevents.models.Booking;
+import org.example.eliteevents.models.Client;
+import org.example.eliteevents.models.Venue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindBookingRepositoryTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 6, 3, 0, 0);
+    // Long enough that only explicit flushes write anything during a test
+    private static final long NEVER_MS = 3_600_000;
+
+    @TempDir
+    Path tempDir;
+
+    private InMemoryRepository delegate;
+    private Path journal;
+    private Client client;
+    private Venue hall;
+    private final List<WriteBehindBookingRepository> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        delegate = new InMemoryRepository();
+        journal = tempDir.resolve("booking-writes.journal");
+        client = new Client(0, "Client", "client@example.com", "555-0100", null);
+        delegate.addClient(client);
+        hall = new Venue(0, "Hall", "1 Main St", 100, 50.0, List.of());
+        delegate.addVenue(hall);
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(WriteBehindBookingRepository::close);
+    }
+
+    @Test
+    void twoEditsOfOneBookingAreWrittenAsOneUpdate() {
+        int id = stored("Gala", 10);
+        WriteBehindBookingRepository repository = open();
+
+        Booking booking = repository.getBooking(id);
+        booking.setNotes("first");
+        repository.updateBooking(booking);
+        booking.setNotes("second");
+        repository.updateBooking(booking);
+        assertEquals(1, repository.getPendingCount());
+
+        List<WriteBehindBookingRepository.FlushStatus> statuses = listen(repository);
+        repository.flush();
+
+        assertEquals(1, statuses.get(0).getFlushed());
+        Booking written = delegate.getBooking(id);
+        assertEquals("second", written.getNotes());
+        assertEquals(1, written.getVersion());
+        assertEquals(written.getVersion(), booking.getVersion());
+    }
+
+    @Test
+    void editingABookingWhoseInsertIsQueuedReplacesTheInsert() {
+        WriteBehindBookingRepository repository = open();
+        Booking booking = booking("Gala", 10);
+        repository.addBooking(booking);
+        booking.setNotes("edited before the flush");
+        repository.updateBooking(booking);
+        assertEquals(1, repository.getPendingCount());
+        assertEquals(1, repository.getAllBookings().size(), "queued inserts are listed");
+
+        repository.flush();
+
+        assertNotEquals(0, booking.getId());
+        assertEquals(1, delegate.getAllBookings().size());
+        assertEquals("edited before the flush", delegate.getBooking(booking.getId()).getNotes());
+    }
+
+    @Test
+    void replayedInsertThatWasAlreadyCommittedIsNotInsertedAgain() {
+        // The first instance queues two inserts; the database commits one, then the process dies
+        // before the journal is compacted
+        WriteBehindBookingRepository crashed = new WriteBehindBookingRepository(delegate, journal, NEVER_MS, 1000);
+        Booking committed = booking("Gala", 10);
+        Booking lost = booking("Launch", 14);
+        crashed.addBooking(committed);
+        crashed.addBooking(lost);
+        delegate.addBookings(List.of(booking("Gala", 10)));
+
+        WriteBehindBookingRepository restarted = open();
+        assertEquals(2, restarted.getPendingCount());
+        restarted.flush();
+
+        assertEquals(0, restarted.getPendingCount());
+        List<Booking> stored = delegate.getAllBookings();
+        assertEquals(2, stored.size());
+        assertEquals(List.of("Gala", "Launch"), stored.stream().map(Booking::getEventType).sorted().toList());
+    }
+
+    @Test
+    void updateRejectedAsStaleIsReportedAndThrownOnTheNextEdit() {
+        int id = stored("Gala", 10);
+        WriteBehindBookingRepository repository = open();
+        Booking mine = repository.getBooking(id);
+
+        Booking theirs = delegate.getBooking(id);
+        theirs.setNotes("theirs");
+        delegate.updateBooking(theirs);
+
+        List<WriteBehindBookingRepository.FlushStatus> statuses = listen(repository);
+        mine.setNotes("mine");
+        repository.updateBooking(mine);
+        repository.flush();
+
+        List<StaleBookingException> stale = statuses.get(0).getStale();
+        assertEquals(1, stale.size());
+        assertEquals(id, stale.get(0).getBookingId());
+        assertEquals("theirs", stale.get(0).getCurrent().getNotes());
+        assertEquals("theirs", delegate.getBooking(id).getNotes());
+
+        mine.setNotes("mine again");
+        StaleBookingException thrown = assertThrows(StaleBookingException.class, () -> repository.updateBooking(mine));
+        assertEquals("theirs", thrown.getCurrent().getNotes());
+
+        // Once reported, an edit based on the version that won goes through
+        Booking merged = thrown.getCurrent();
+        merged.setNotes("merged");
+        repository.updateBooking(merged);
+        repository.flush();
+        assertEquals("merged", delegate.getBooking(id).getNotes());
+    }
+
+    private WriteBehindBookingRepository open() {
+        WriteBehindBookingRepository repository = new WriteBehindBookingRepository(delegate, journal, NEVER_MS, 1000);
+        opened.add(repository);
+        return repository;
+    }
+
+    private static List<WriteBehindBookingRepository.FlushStatus> listen(WriteBehindBookingRepository repository) {
+        List<WriteBehindBookingRepository.FlushStatus> statuses = new ArrayList<>();
+        repository.addFlushListener(statuses::add);
+        return statuses;
+    }
+
+    private int stored(String eventType, int startHour) {
+        Booking booking = booking(eventType, startHour);
+        delegate.addBooking(booking);
+        return booking.getId();
+    }
+
+    private Booking booking(String eventType, int startHour) {
+        return new Booking(0, client, hall, eventType, DAY.plusHours(startHour), DAY.plusHours(startHour + 2),
+                10, false, null, 1000.0, null, "PENDING");
+    }
+}